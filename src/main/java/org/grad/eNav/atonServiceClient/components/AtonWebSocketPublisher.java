@@ -0,0 +1,573 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.components;
+
+import _int.iho.s_125.gml.cs0._1.AidsToNavigationType;
+import _int.iho.s_125.gml.cs0._1.FeatureNameType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.atonServiceClient.models.dtos.AtonFeatureDto;
+import org.grad.eNav.atonServiceClient.utils.GeometryS125Converter;
+import org.grad.eNav.atonServiceClient.utils.KeyOrderedPublishSubscribeChannel;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFilter;
+import org.locationtech.jts.geom.Geometry;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.integration.channel.PublishSubscribeChannel;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The AtoN Web-Socket Publisher Component.
+ * <p/>
+ * Publishing every single AtoN of a large dataset as a separate STOMP frame
+ * means one JSON serialisation and one frame per AtoN for every connected
+ * browser. When batching is enabled, this component groups the AtoN updates
+ * into frames that are bounded both in size and in the time the first
+ * entry is allowed to linger before being sent. All entries of a batch share
+ * a single header block, while the AtoN type of each entry is included in
+ * the frame payload.
+ * <p/>
+ * The AtoN updates can also be delivered as compact GeoJSON features, where
+ * the geometry of each AtoN is extracted server-side and only the
+ * properties required to display it on the map (i.e. its symbology and
+ * information table attributes) are included. This greatly reduces the size
+ * of the published frames and the work required by the browser.
+ * <p/>
+ * This component also subscribes to the publish-subscribe channel, so that
+ * the other components can hand their web-socket updates over to it without
+ * waiting for them to be delivered. The AtoN updates received through the
+ * channel are grouped into batches per destination and header block. When
+ * the slow consumer conflation policy is selected and the web-socket backlog
+ * interceptor reports a session over its backlog threshold, a newer update
+ * of an AtoN still pending in a batch replaces the older one, since the
+ * per-frame conflation of the interceptor only applies to the updates
+ * delivered in their own frames. Batches are shared by all the subscribed
+ * sessions, so a single slow consumer switches the conflation on for all.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Slf4j
+public class AtonWebSocketPublisher implements MessageHandler {
+
+    /**
+     * The header carrying the web-socket destination of the channel messages.
+     */
+    public static final String DESTINATION_HEADER = "web-socket-destination";
+
+    /**
+     * How long an idle channel batch is kept open.
+     */
+    private static final Duration CHANNEL_BATCH_IDLE_TIME = Duration.ofMinutes(1);
+
+    /**
+     * The maximum number of channel batches kept open.
+     */
+    private static final long CHANNEL_BATCH_MAX_NO = 100;
+
+    /**
+     * The S-125 AtoN attributes carried as feature properties, i.e. the
+     * symbology used to select the map icons and the information table
+     * entries.
+     */
+    private static final List<String> FEATURE_PROPERTIES = List.of(
+            "categoryOfLandmark",
+            "categoryOfInstallationBuoy",
+            "categoryOfSpecialPurposeMark",
+            "categoryOfLateralMark",
+            "categoryOfCardinalMark",
+            "virtualAISAidToNavigationType",
+            "shape",
+            "buoyShape",
+            "beaconShape",
+            "colours",
+            "colourPatterns",
+            "informations",
+            "scaleMinimum",
+            "dateStart",
+            "dateEnd",
+            "periodStart",
+            "periodEnd",
+            "radarConspicuous",
+            "statuses",
+            "marksNavigationalSystemOf",
+            "seasonalActionRequireds");
+
+    /**
+     * The feature property getters, resolved once per S-125 AtoN class.
+     */
+    private static final ClassValue<Map<String, Method>> FEATURE_PROPERTY_GETTERS = new ClassValue<>() {
+        @Override
+        protected Map<String, Method> computeValue(Class<?> type) {
+            final Map<String, Method> getters = new LinkedHashMap<>();
+            FEATURE_PROPERTIES.forEach(property -> Optional.ofNullable(BeanUtils.getPropertyDescriptor(type, property))
+                    .map(PropertyDescriptor::getReadMethod)
+                    .ifPresent(getter -> getters.put(property, getter)));
+            return getters;
+        }
+    };
+
+    /**
+     * Whether the AtoN updates should be published in batches.
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.batch.enabled:true}")
+    boolean batchEnabled;
+
+    /**
+     * The maximum number of AtoN updates in a single batch.
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.batch.max-size:100}")
+    int batchMaxSize;
+
+    /**
+     * The maximum time an AtoN update can linger before its batch is sent.
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.batch.max-linger:PT0.25S}")
+    Duration batchMaxLinger;
+
+    /**
+     * The format in which the AtoN updates should be delivered.
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.delivery-mode:FULL}")
+    DeliveryMode deliveryMode;
+
+    /**
+     * How the geometry parts of the AtoN features should be assembled.
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.feature.geometry-assembly:UNION}")
+    GeometryS125Converter.AssemblyMode geometryAssemblyMode;
+
+    /**
+     * Attach the web-socket as a simple messaging template
+     */
+    @Autowired
+    SimpMessagingTemplate webSocket;
+
+    /**
+     * The Publish-Subscribe Channel.
+     */
+    @Autowired(required = false)
+    PublishSubscribeChannel publishSubscribeChannel;
+
+    /**
+     * The Web-Socket Backlog Interceptor.
+     */
+    @Autowired(required = false)
+    WebSocketBacklogInterceptor webSocketBacklogInterceptor;
+
+    // Class Variables
+    ScheduledExecutorService lingerScheduler;
+    Cache<BatchKey, Batch> channelBatches;
+    GeometryS125Converter geometryS125Converter;
+
+    /**
+     * The component post-construct operations where the batch linger
+     * scheduler, the channel batches and the feature geometry converter are
+     * initialised, and the component is subscribed to the publish-subscribe
+     * channel.
+     */
+    @PostConstruct
+    public void init() {
+        this.geometryS125Converter = new GeometryS125Converter(Optional.ofNullable(this.geometryAssemblyMode)
+                .orElse(GeometryS125Converter.AssemblyMode.UNION));
+        this.lingerScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("aton-batch-linger").factory());
+        this.channelBatches = Caffeine.newBuilder()
+                .expireAfterAccess(CHANNEL_BATCH_IDLE_TIME)
+                .maximumSize(CHANNEL_BATCH_MAX_NO)
+                .executor(Runnable::run)
+                .removalListener((BatchKey key, Batch batch, RemovalCause cause) -> Optional.ofNullable(batch).ifPresent(Batch::close))
+                .build();
+        Optional.ofNullable(this.publishSubscribeChannel).ifPresent(channel -> channel.subscribe(this));
+    }
+
+    /**
+     * When shutting down the application we need to make sure that all
+     * pending channel batches have been sent and all threads have been
+     * gracefully shutdown as well.
+     */
+    @PreDestroy
+    public void destroy() {
+        Optional.ofNullable(this.publishSubscribeChannel).ifPresent(channel -> channel.unsubscribe(this));
+        this.channelBatches.invalidateAll();
+        this.lingerScheduler.shutdownNow();
+    }
+
+    /**
+     * Handles the messages received through the publish-subscribe channel.
+     * The AtoN updates are added to the channel batch of their destination
+     * and header block, while any other payloads are sent straight away.
+     * Messages without a web-socket destination are ignored.
+     *
+     * @param message the channel message
+     */
+    @Override
+    public void handleMessage(Message<?> message) {
+        final String destination = message.getHeaders().get(DESTINATION_HEADER, String.class);
+        if(destination == null) {
+            return;
+        }
+
+        // Only keep the web-socket headers
+        final Map<String, Object> headers = new HashMap<>(message.getHeaders());
+        headers.keySet().removeAll(List.of(MessageHeaders.ID,
+                MessageHeaders.TIMESTAMP,
+                DESTINATION_HEADER,
+                KeyOrderedPublishSubscribeChannel.ORDERING_KEY_HEADER));
+
+        // Batch the AtoN updates, and send anything else straight away
+        if(message.getPayload() instanceof AtonUpdate atonUpdate) {
+            this.channelBatches.get(new BatchKey(destination, headers), key -> this.openBatch(key.destination(), key.headers()))
+                    .add(atonUpdate.atonType(), atonUpdate.aton());
+        } else {
+            this.webSocket.convertAndSend(destination, message.getPayload(), headers);
+        }
+    }
+
+    /**
+     * Opens a new batch of AtoN updates to be published on the provided
+     * destination, using the provided common web-socket headers. The batch
+     * should be closed once all updates have been added to it, so that any
+     * pending entries are sent.
+     *
+     * @param destination the web-socket destination
+     * @param headers the common web-socket headers of the batch
+     * @return the opened batch
+     */
+    public Batch openBatch(String destination, Map<String, Object> headers) {
+        return new Batch(destination, headers);
+    }
+
+    /**
+     * Converts the provided AtoN into a compact GeoJSON feature, including
+     * its geometry, seamark type, identifiers, symbology, information and
+     * signature information. Following RFC 7946, the feature positions are
+     * ordered as longitude and latitude, unlike the S-125 positions. AtoN
+     * entries without any geometry (e.g. equipment attached to a structure)
+     * cannot be displayed on their own and are therefore skipped.
+     *
+     * @param atonType the seamark type of the AtoN
+     * @param aton the AtoN object
+     * @param headers the web-socket headers containing the signature information
+     * @return the GeoJSON feature of the AtoN, if it has a geometry
+     */
+    protected Optional<AtonFeatureDto> toFeature(String atonType, Object aton, Map<String, Object> headers) {
+        // Only S-125 AtoN entries with a geometry can be converted
+        final Optional<AidsToNavigationType> s125Aton = Optional.ofNullable(aton)
+                .filter(AidsToNavigationType.class::isInstance)
+                .map(AidsToNavigationType.class::cast);
+        final Geometry geometry = s125Aton
+                .map(this.geometryS125Converter::convertToGeometry)
+                .filter(g -> !g.isEmpty())
+                .orElse(null);
+        if(geometry == null) {
+            return Optional.empty();
+        }
+
+        // Create the feature
+        final AtonFeatureDto feature = new AtonFeatureDto();
+        feature.setId(s125Aton.get().getId());
+        feature.setGeometry(this.toLonLat(geometry));
+        feature.getProperties().put("seamarkType", atonType);
+        feature.getProperties().put("idCode", s125Aton.get().getIdCode());
+        feature.getProperties().put("name", Optional.ofNullable(s125Aton.get().getFeatureNames())
+                .flatMap(names -> names.stream().findFirst())
+                .map(FeatureNameType::getName)
+                .orElse(null));
+        feature.getProperties().put("signedBy", headers.get("signed-by"));
+        feature.getProperties().put("issuedBy", headers.get("issued-by"));
+
+        // Add the symbology and information attributes defined for the AtoN
+        FEATURE_PROPERTY_GETTERS.get(aton.getClass()).forEach((property, getter) ->
+                Optional.ofNullable(ReflectionUtils.invokeMethod(getter, aton))
+                        .filter(value -> !(value instanceof Collection<?> collection && collection.isEmpty()))
+                        .ifPresent(value -> feature.getProperties().put(property, value)));
+
+        // And return it
+        return Optional.of(feature);
+    }
+
+    /**
+     * Returns a copy of the provided S-125 geometry, with its positions
+     * reordered from latitude/longitude to the longitude/latitude order
+     * required by GeoJSON.
+     *
+     * @param geometry the S-125 geometry
+     * @return the geometry in the GeoJSON axis order
+     */
+    protected Geometry toLonLat(Geometry geometry) {
+        final Geometry lonLat = geometry.copy();
+        lonLat.apply(new CoordinateSequenceFilter() {
+            @Override
+            public void filter(CoordinateSequence seq, int i) {
+                final double lat = seq.getX(i);
+                seq.setOrdinate(i, CoordinateSequence.X, seq.getY(i));
+                seq.setOrdinate(i, CoordinateSequence.Y, lat);
+            }
+
+            @Override
+            public boolean isDone() {
+                return false;
+            }
+
+            @Override
+            public boolean isGeometryChanged() {
+                return true;
+            }
+        });
+        return lonLat;
+    }
+
+    /**
+     * The formats in which the AtoN updates can be delivered.
+     */
+    public enum DeliveryMode {
+        /**
+         * The complete S-125 AtoN object.
+         */
+        FULL,
+        /**
+         * A compact GeoJSON feature of the AtoN, carrying only the attributes
+         * required to display it on the map.
+         */
+        FEATURE
+    }
+
+    /**
+     * The key of the channel batches.
+     *
+     * @param destination the web-socket destination
+     * @param headers the common web-socket headers of the batch
+     */
+    public record BatchKey(String destination, Map<String, Object> headers) {
+    }
+
+    /**
+     * An AtoN update entry of a published batch.
+     *
+     * @param atonType the seamark type of the AtoN
+     * @param aton the AtoN object
+     */
+    public record AtonUpdate(String atonType, Object aton) {
+    }
+
+    /**
+     * A batch of AtoN updates sharing the same destination and headers.
+     */
+    public class Batch implements AutoCloseable {
+
+        // Class Variables
+        private final String destination;
+        private final Map<String, Object> headers;
+        private final List<AtonUpdate> pending;
+        private final Map<String, Integer> pendingIndex;
+        private final ReentrantLock sendLock;
+        private ScheduledFuture<?> lingerTask;
+
+        /**
+         * The batch constructor.
+         *
+         * @param destination the web-socket destination
+         * @param headers the common web-socket headers of the batch
+         */
+        Batch(String destination, Map<String, Object> headers) {
+            this.destination = destination;
+            this.headers = new HashMap<>(headers);
+            this.headers.put("aton-format", deliveryMode.name().toLowerCase());
+            this.pending = new ArrayList<>();
+            this.pendingIndex = new HashMap<>();
+            this.sendLock = new ReentrantLock(true);
+        }
+
+        /**
+         * Adds a new AtoN update to the batch. If batching is disabled the
+         * update will be sent straight away in its own frame, otherwise the
+         * batch will be sent once it reaches its maximum size, or its
+         * maximum linger time expires.
+         * <p/>
+         * Any conversions take place before the batch is locked, and the
+         * batch frames are serialised and sent after it is released, so
+         * that the updates dispatched concurrently by the publish-subscribe
+         * channel only contend on the batch while being appended.
+         *
+         * @param atonType the seamark type of the AtoN
+         * @param aton the AtoN object
+         */
+        public void add(String atonType, Object aton) {
+            final String atonId = Optional.ofNullable(aton)
+                    .filter(AidsToNavigationType.class::isInstance)
+                    .map(AidsToNavigationType.class::cast)
+                    .map(AidsToNavigationType::getIdCode)
+                    .orElse(null);
+
+            // In feature mode, deliver the compact GeoJSON feature instead
+            if(deliveryMode == DeliveryMode.FEATURE) {
+                final Optional<AtonFeatureDto> feature = toFeature(atonType, aton, this.headers);
+                if(feature.isEmpty()) {
+                    return;
+                }
+                aton = feature.get();
+            }
+
+            // Without batching, just send the update in its own frame
+            if(!batchEnabled) {
+                final Map<String, Object> frameHeaders = new HashMap<>(this.headers);
+                frameHeaders.put("aton-type", atonType);
+                Optional.ofNullable(atonId).ifPresent(id -> frameHeaders.put(WebSocketBacklogInterceptor.ATON_ID_HEADER, id));
+                webSocket.convertAndSend(this.destination, aton, frameHeaders);
+                return;
+            }
+
+            // Otherwise add it to the pending updates
+            this.append(atonId, new AtonUpdate(atonType, aton));
+        }
+
+        /**
+         * Appends the provided AtoN update to the pending ones, and sends
+         * the batch if it has reached its maximum size, or schedules it to
+         * be sent once its maximum linger time expires. While the web-socket
+         * backlog interceptor reports that consumers are falling behind, an
+         * update of an AtoN that is already pending replaces its latest
+         * pending update in its position instead.
+         *
+         * @param atonId the AtoN identifier, if any
+         * @param atonUpdate the AtoN update
+         */
+        protected void append(String atonId, AtonUpdate atonUpdate) {
+            final List<AtonUpdate> updates;
+            synchronized (this) {
+                // Conflate the pending updates of the same AtoN while consumers fall behind
+                final Integer index = atonId != null ? this.pendingIndex.get(atonId) : null;
+                if(index != null && webSocketBacklogInterceptor != null && webSocketBacklogInterceptor.isConflating()) {
+                    this.pending.set(index, atonUpdate);
+                    return;
+                }
+
+                // Otherwise append the update, and wait for the batch to fill up
+                Optional.ofNullable(atonId).ifPresent(id -> this.pendingIndex.put(id, this.pending.size()));
+                this.pending.add(atonUpdate);
+                if(this.pending.size() < batchMaxSize) {
+                    if(this.lingerTask == null) {
+                        this.lingerTask = lingerScheduler.schedule(this::flush, batchMaxLinger.toMillis(), TimeUnit.MILLISECONDS);
+                    }
+                    return;
+                }
+                updates = this.drain();
+            }
+            this.send(updates);
+        }
+
+        /**
+         * Sends all the pending AtoN updates as a single frame.
+         */
+        public void flush() {
+            final List<AtonUpdate> updates;
+            synchronized (this) {
+                updates = this.drain();
+            }
+            this.send(updates);
+        }
+
+        /**
+         * Takes all the pending AtoN updates out of the batch, cancelling any
+         * scheduled linger flush. This should only be called while holding
+         * the batch lock. If any updates are taken, the send lock is acquired
+         * before the batch lock is released, so that the batch frames are
+         * sent in the same order as they were taken.
+         *
+         * @return the pending AtoN updates
+         */
+        private List<AtonUpdate> drain() {
+            // Cancel any scheduled linger flush
+            if(this.lingerTask != null) {
+                this.lingerTask.cancel(false);
+                this.lingerTask = null;
+            }
+
+            // Nothing to send
+            if(this.pending.isEmpty()) {
+                return List.of();
+            }
+
+            // Take the pending updates in order
+            this.sendLock.lock();
+            final List<AtonUpdate> updates = List.copyOf(this.pending);
+            this.pending.clear();
+            this.pendingIndex.clear();
+            return updates;
+        }
+
+        /**
+         * Sends the provided AtoN updates taken out of the batch as a single
+         * frame, outside the batch lock, and releases the send lock.
+         *
+         * @param updates the AtoN updates to be sent
+         */
+        private void send(List<AtonUpdate> updates) {
+            // Nothing to send
+            if(updates.isEmpty()) {
+                return;
+            }
+
+            // Send the updates with a single header block
+            try {
+                final Map<String, Object> frameHeaders = new HashMap<>(this.headers);
+                frameHeaders.put("batch", true);
+                frameHeaders.put("batch-size", updates.size());
+                webSocket.convertAndSend(this.destination, updates, frameHeaders);
+            } finally {
+                this.sendLock.unlock();
+            }
+        }
+
+        /**
+         * Closing the batch will send any pending AtoN updates.
+         */
+        @Override
+        public void close() {
+            this.flush();
+        }
+
+    }
+
+}
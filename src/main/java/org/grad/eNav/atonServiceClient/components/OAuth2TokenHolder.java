@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.components;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The OAuth2 Token Holder Component.
+ * <p/>
+ * Holds the client-credentials access token used to authorise the Feign
+ * requests towards cKeeper, so that the OAuth2 authorised client manager
+ * does not need to be consulted for every single request. The token is
+ * refreshed in the background shortly before it expires, and all concurrent
+ * callers that need a new token are coalesced onto the same in-flight
+ * refresh.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@ConditionalOnProperty(value = "keycloak.enabled", matchIfMissing = true)
+@Slf4j
+public class OAuth2TokenHolder {
+
+    /**
+     * The client registration ID used for the Feign requests.
+     */
+    public static final String CLIENT_REGISTRATION_ID = "feign";
+
+    /**
+     * How long before its expiry the access token should be refreshed.
+     */
+    @Value("${gla.rad.aton-service-client.feign.token.refresh-before-expiry:PT60S}")
+    Duration refreshBeforeExpiry;
+
+    /**
+     * The OAuth2 Authorized Client Manager.
+     */
+    @Autowired
+    OAuth2AuthorizedClientManager authorizedClientManager;
+
+    /**
+     * The Meter Registry.
+     */
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    // Class Variables
+    volatile OAuth2AccessToken accessToken;
+    final AtomicReference<CompletableFuture<OAuth2AccessToken>> inFlightRefresh = new AtomicReference<>();
+    OAuth2AuthorizeRequest authorizeRequest;
+    ScheduledExecutorService refreshExecutor;
+    Timer refreshTimer;
+    Counter refreshFailures;
+
+    /**
+     * The component post-construct operations where the authorisation
+     * request, the refresh executor and the refresh metrics are initialised.
+     * <p/>
+     * To generate our token, we need a principal but our setup with service
+     * accounts in keycloak doesn't care about that. So in here we use an
+     * anonymous authentication token.
+     */
+    @PostConstruct
+    public void init() {
+        this.authorizeRequest = OAuth2AuthorizeRequest
+                .withClientRegistrationId(CLIENT_REGISTRATION_ID)
+                .principal(new AnonymousAuthenticationToken("name", "aton-service-client", AuthorityUtils.createAuthorityList("ROLE_ACTUATOR")))
+                .build();
+        this.refreshExecutor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("oauth2-token-refresh").factory());
+        this.refreshTimer = Timer.builder("oauth2.token.refresh")
+                .description("The latency of the OAuth2 access token refreshes")
+                .tag("client", CLIENT_REGISTRATION_ID)
+                .register(this.meterRegistry);
+        this.refreshFailures = Counter.builder("oauth2.token.refresh.failures")
+                .description("The number of failed OAuth2 access token refreshes")
+                .tag("client", CLIENT_REGISTRATION_ID)
+                .register(this.meterRegistry);
+    }
+
+    /**
+     * When shutting down the application we need to make sure that all
+     * threads have been gracefully shutdown as well.
+     */
+    @PreDestroy
+    public void destroy() {
+        this.refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns a valid access token value. If the current token is due for a
+     * refresh but still valid, it will be returned straight away while a
+     * background refresh is triggered. Only if there is no valid token
+     * available will the caller wait for the (shared) refresh to complete.
+     *
+     * @return the access token value
+     */
+    public String getAccessToken() {
+        final Instant now = Instant.now();
+        final OAuth2AccessToken current = this.accessToken;
+
+        // Use the current token while it is still valid
+        if(current != null && (current.getExpiresAt() == null || now.isBefore(current.getExpiresAt()))) {
+            if(current.getExpiresAt() != null && !now.isBefore(current.getExpiresAt().minus(this.refreshBeforeExpiry))) {
+                this.refresh();
+            }
+            return current.getTokenValue();
+        }
+
+        // Otherwise wait for a new one
+        try {
+            return this.refresh().join().getTokenValue();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    /**
+     * Triggers a refresh of the access token, unless one is already in
+     * progress, in which case the in-flight refresh is returned.
+     *
+     * @return the future of the refreshed access token
+     */
+    protected CompletableFuture<OAuth2AccessToken> refresh() {
+        while (true) {
+            final CompletableFuture<OAuth2AccessToken> inFlight = this.inFlightRefresh.get();
+            if(inFlight != null) {
+                return inFlight;
+            }
+            final CompletableFuture<OAuth2AccessToken> created = new CompletableFuture<>();
+            if(this.inFlightRefresh.compareAndSet(null, created)) {
+                this.refreshExecutor.execute(() -> this.performRefresh(created));
+                return created;
+            }
+        }
+    }
+
+    /**
+     * Performs the actual access token refresh through the OAuth2 authorised
+     * client manager, completes the provided future with the outcome and
+     * schedules the next proactive refresh.
+     *
+     * @param future the future to be completed with the refreshed token
+     */
+    protected void performRefresh(CompletableFuture<OAuth2AccessToken> future) {
+        final long start = System.nanoTime();
+        try {
+            final OAuth2AccessToken refreshed = Optional.ofNullable(this.authorizedClientManager.authorize(this.authorizeRequest))
+                    .map(OAuth2AuthorizedClient::getAccessToken)
+                    .orElseThrow(() -> new IllegalStateException("No OAuth2 access token received for client " + CLIENT_REGISTRATION_ID));
+            this.accessToken = refreshed;
+            this.inFlightRefresh.compareAndSet(future, null);
+            future.complete(refreshed);
+            this.scheduleRefresh(refreshed);
+        } catch (RuntimeException ex) {
+            log.error("Unable to refresh the OAuth2 access token: {}", ex.getMessage());
+            this.refreshFailures.increment();
+            this.inFlightRefresh.compareAndSet(future, null);
+            future.completeExceptionally(ex);
+        } finally {
+            this.refreshTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Schedules the next proactive refresh of the provided access token,
+     * shortly before it expires.
+     *
+     * @param token the access token to be refreshed
+     */
+    protected void scheduleRefresh(OAuth2AccessToken token) {
+        Optional.ofNullable(token.getExpiresAt())
+                .map(expiresAt -> Duration.between(Instant.now(), expiresAt.minus(this.refreshBeforeExpiry)))
+                .filter(delay -> !delay.isNegative())
+                .ifPresent(delay -> this.refreshExecutor.schedule(this::refresh, delay.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+}
@@ -15,45 +15,172 @@
 
 package org.grad.eNav.atonServiceClient.components;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ErrorHandler;
 
-import java.util.LinkedList;
-import java.util.Queue;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Simple error handler for publish-subscribe channel.
+ * <p/>
+ * The channel subscribers might be dispatched from multiple threads, so the
+ * handled errors are kept in a lock-free ring buffer of a fixed capacity,
+ * where the most recent errors overwrite the oldest ones. Alongside that,
+ * the total number of errors handled per exception type is counted and
+ * exposed through Micrometer, so that error rates can be monitored without
+ * retaining every single error.
  *
  * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
  */
 @Component
 @Slf4j
-public class PubSubErrorHandler implements ErrorHandler {
+public class PubSubErrorHandler implements ErrorHandler, MeterBinder {
+
+    /**
+     * The maximum number of recent errors to be retained.
+     */
+    @Value("${gla.rad.aton-service-client.pubsub.errors.capacity:100}")
+    int errorsCapacity;
 
     // Class Variables
-    protected Queue<Throwable> handledErrors = new LinkedList<>();
+    protected AtomicReferenceArray<HandledError> recentErrors;
+    protected final AtomicLong errorSequence = new AtomicLong();
+    protected final Map<String, LongAdder> errorCounts = new ConcurrentHashMap<>();
+    protected volatile MeterRegistry meterRegistry;
+
+    /**
+     * The component post-construct operations where the recent errors ring
+     * buffer is initialised.
+     */
+    @PostConstruct
+    public void init() {
+        this.recentErrors = new AtomicReferenceArray<>(Math.max(1, this.errorsCapacity));
+    }
+
+    /**
+     * Binds the error counters to the provided meter registry so that the
+     * error rates can be monitored through the actuator metrics.
+     *
+     * @param registry the meter registry
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        Gauge.builder("pubsub.errors.buffered", this, handler -> handler.getRecentErrors().size())
+                .description("The number of recent publish-subscribe channel errors retained")
+                .register(registry);
+        this.errorCounts.forEach((type, count) -> this.registerErrorCounter(registry, type, count));
+    }
 
     /**
-     * Handing the errors by just logging them and adding them into the
-     * handle errors queue.
+     * Handing the errors by just logging them, counting them per exception
+     * type and adding them into the recent errors ring buffer.
      *
      * @param throwable The error thrown that needs to be handled
      */
     @Override
     public void handleError(Throwable throwable) {
         log.error(throwable.getMessage());
-        handledErrors.add(throwable);
+
+        // Count the error per exception type
+        final String type = throwable.getClass().getName();
+        this.errorCounts.computeIfAbsent(type, key -> {
+            final LongAdder count = new LongAdder();
+            Optional.ofNullable(this.meterRegistry).ifPresent(registry -> this.registerErrorCounter(registry, key, count));
+            return count;
+        }).increment();
+
+        // And place it in the next ring buffer slot
+        final long sequence = this.errorSequence.getAndIncrement();
+        this.recentErrors.set((int) (sequence % this.recentErrors.length()),
+                new HandledError(sequence, Instant.now(), type, throwable.getMessage()));
+    }
+
+    /**
+     * Returns the recent errors retained in the ring buffer, from the oldest
+     * to the most recent one.
+     *
+     * @return The recent errors handled
+     */
+    public List<HandledError> getRecentErrors() {
+        final long last = this.errorSequence.get();
+        final int capacity = this.recentErrors.length();
+        final List<HandledError> errors = new ArrayList<>();
+        for(long sequence = Math.max(0, last - capacity); sequence < last; sequence++) {
+            final HandledError error = this.recentErrors.get((int) (sequence % capacity));
+            // Skip the slots that are cleared or already overwritten
+            if(error != null && error.sequence() == sequence) {
+                errors.add(error);
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Returns the total number of errors handled per exception type.
+     *
+     * @return The number of errors handled per exception type
+     */
+    public Map<String, Long> getErrorCounts() {
+        final Map<String, Long> counts = new TreeMap<>();
+        this.errorCounts.forEach((type, count) -> counts.put(type, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Returns the total number of errors handled.
+     *
+     * @return The total number of errors handled
+     */
+    public long getTotalErrors() {
+        return this.errorSequence.get();
+    }
+
+    /**
+     * Clears the recent errors ring buffer. The error counters are not
+     * affected, since they should only ever increase.
+     */
+    public void clearRecentErrors() {
+        for(int i=0; i<this.recentErrors.length(); i++) {
+            this.recentErrors.set(i, null);
+        }
+    }
+
+    /**
+     * Registers the counter of the provided exception type errors.
+     *
+     * @param registry the meter registry
+     * @param type the exception type
+     * @param count the exception type error count
+     */
+    protected void registerErrorCounter(MeterRegistry registry, String type, LongAdder count) {
+        FunctionCounter.builder("pubsub.errors", count, LongAdder::sum)
+                .description("The number of publish-subscribe channel errors handled")
+                .tag("exception", type)
+                .register(registry);
     }
 
     /**
-     * Returns the handle errors queue so that is can be reviewed by other
-     * components.
+     * The handled error record.
      *
-     * @return The handle errors queue
+     * @param sequence the error sequence number
+     * @param timestamp the time the error was handled
+     * @param type the exception type
+     * @param message the error message
      */
-    public Queue<Throwable> getHandlerErrors() {
-        return this.handledErrors;
+    public record HandledError(long sequence, Instant timestamp, String type, String message) {
     }
 
 }
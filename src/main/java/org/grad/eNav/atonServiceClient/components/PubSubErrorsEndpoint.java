@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.components;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The Publish-Subscribe Errors Actuator Endpoint.
+ * <p/>
+ * Exposes the recent errors of the publish-subscribe channel, alongside the
+ * number of errors handled per exception type, through the actuator, and
+ * allows the administrators to clear the recent errors once reviewed.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Endpoint(id = "pubsuberrors")
+public class PubSubErrorsEndpoint {
+
+    /**
+     * The Pub-Sub Error Handler.
+     */
+    @Autowired
+    PubSubErrorHandler pubSubErrorHandler;
+
+    /**
+     * GET /actuator/pubsuberrors: Returns the recent errors and the error
+     * counts of the publish-subscribe channel.
+     *
+     * @return the publish-subscribe channel errors information
+     */
+    @ReadOperation
+    public Map<String, Object> errors() {
+        final Map<String, Object> info = new LinkedHashMap<>();
+        info.put("total", this.pubSubErrorHandler.getTotalErrors());
+        info.put("counts", this.pubSubErrorHandler.getErrorCounts());
+        info.put("recent", this.pubSubErrorHandler.getRecentErrors());
+        return info;
+    }
+
+    /**
+     * DELETE /actuator/pubsuberrors: Clears the recent errors of the
+     * publish-subscribe channel.
+     */
+    @DeleteOperation
+    public void clear() {
+        this.pubSubErrorHandler.clearRecentErrors();
+    }
+
+}
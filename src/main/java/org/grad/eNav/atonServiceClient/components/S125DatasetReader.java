@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.components;
+
+import _int.iho.s_125.gml.cs0._1.AidsToNavigationType;
+import jakarta.annotation.PostConstruct;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.JAXBIntrospector;
+import jakarta.xml.bind.Unmarshaller;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+/**
+ * The S-125 Dataset Reader Component.
+ * <p/>
+ * Instead of unmarshalling the whole S-125 dataset JAXB tree before any of
+ * its members can be accessed, this component walks through the dataset
+ * using a StAX stream reader and only unmarshalls its members one at a time.
+ * Each decoded AtoN is handed over to the provided consumer straight away,
+ * so the memory required to process a dataset is bounded by the size of its
+ * largest member rather than the whole document. The unmarshallers are
+ * borrowed from the shared S-125 JAXB provider pool.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Slf4j
+public class S125DatasetReader {
+
+    /**
+     * The names of the dataset elements that contain the feature members.
+     */
+    private static final Set<String> MEMBER_CONTAINERS = Set.of("members", "member");
+
+    /**
+     * The S-125 JAXB Provider.
+     */
+    @Autowired
+    S125JAXBProvider s125JAXBProvider;
+
+    // Class Variables
+    XMLInputFactory xmlInputFactory;
+
+    /**
+     * The component post-construct operations where the StAX input factory
+     * is initialised.
+     */
+    @PostConstruct
+    public void init() {
+        this.xmlInputFactory = XMLInputFactory.newFactory();
+        this.xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        this.xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * Reads the AtoN members of the provided S-125 dataset content one at a
+     * time and passes each of them to the provided consumer.
+     *
+     * @param data the S-125 dataset content
+     * @param consumer the consumer of the decoded AtoN members
+     * @throws JAXBException if the S-125 dataset cannot be decoded
+     */
+    public void readAidsToNavigation(byte[] data, Consumer<AidsToNavigationType> consumer) throws JAXBException {
+        this.readAidsToNavigation(new ByteArrayInputStream(data), consumer);
+    }
+
+    /**
+     * Reads the AtoN members of the provided S-125 dataset input stream one
+     * at a time and passes each of them to the provided consumer. Any other
+     * type of feature members (e.g. AtoN status information) are skipped.
+     *
+     * @param in the S-125 dataset input stream
+     * @param consumer the consumer of the decoded AtoN members
+     * @throws JAXBException if the S-125 dataset cannot be decoded
+     */
+    public void readAidsToNavigation(InputStream in, Consumer<AidsToNavigationType> consumer) throws JAXBException {
+        this.s125JAXBProvider.withUnmarshaller(unmarshaller -> {
+            this.readAidsToNavigation(in, unmarshaller, consumer);
+            return null;
+        });
+    }
+
+    /**
+     * Performs the actual streaming through the provided S-125 dataset input
+     * stream using the provided unmarshaller to decode its members.
+     *
+     * @param in the S-125 dataset input stream
+     * @param unmarshaller the unmarshaller to decode the members with
+     * @param consumer the consumer of the decoded AtoN members
+     * @throws JAXBException if the S-125 dataset cannot be decoded
+     */
+    protected void readAidsToNavigation(InputStream in, Unmarshaller unmarshaller, Consumer<AidsToNavigationType> consumer) throws JAXBException {
+        XMLStreamReader reader = null;
+        try {
+            reader = this.xmlInputFactory.createXMLStreamReader(in);
+
+            // Walk through the document, unmarshalling only the members
+            int depth = 0;
+            boolean inMembers = false;
+            int event = reader.getEventType();
+            while (true) {
+                if (event == START_ELEMENT) {
+                    if (inMembers) {
+                        // The reader is left right after the member end element
+                        Optional.of(unmarshaller.unmarshal(reader))
+                                .map(JAXBIntrospector::getValue)
+                                .filter(AidsToNavigationType.class::isInstance)
+                                .map(AidsToNavigationType.class::cast)
+                                .ifPresent(consumer);
+                        event = reader.getEventType();
+                        continue;
+                    }
+                    depth++;
+                    inMembers = depth == 2 && MEMBER_CONTAINERS.contains(reader.getLocalName());
+                } else if (event == END_ELEMENT) {
+                    inMembers = false;
+                    depth--;
+                }
+                if (!reader.hasNext()) {
+                    break;
+                }
+                event = reader.next();
+            }
+        } catch (XMLStreamException ex) {
+            throw new JAXBException(ex.getMessage(), ex);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ex) {
+                    log.warn("Unable to close the S-125 dataset reader: {}", ex.getMessage());
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.components;
+
+import _int.iho.s_125.gml.cs0._1.ObjectFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Unmarshaller;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * The S-125 JAXB Provider Component.
+ * <p/>
+ * Creating a JAXB context for the S-125 model is far more expensive than
+ * the actual unmarshalling of a dataset. This component therefore holds a
+ * single thread-safe JAXB context that is shared by the whole application.
+ * <p/>
+ * The unmarshallers created from that context are not thread-safe, so they
+ * are kept in a bounded pool instead. Each operation takes an unmarshaller
+ * from the pool, or creates a new one if the pool is empty, and offers it
+ * back once done. Any unmarshallers that do not fit in the pool are simply
+ * discarded. A pool is used instead of thread local instances, since most
+ * of the decoding takes place on short-lived virtual threads.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Slf4j
+public class S125JAXBProvider {
+
+    /**
+     * The maximum number of pooled unmarshallers.
+     */
+    @Value("${gla.rad.aton-service-client.s125.jaxb.pool-size:16}")
+    int poolSize;
+
+    // Class Variables
+    JAXBContext jaxbContext;
+    BlockingQueue<Unmarshaller> unmarshallers;
+
+    /**
+     * The component post-construct operations where the S-125 JAXB context
+     * and the unmarshaller pool are initialised.
+     *
+     * @throws JAXBException if the JAXB context cannot be initialised
+     */
+    @PostConstruct
+    public void init() throws JAXBException {
+        log.info("Initialising the S-125 JAXB context...");
+        this.jaxbContext = JAXBContext.newInstance(ObjectFactory.class);
+        this.unmarshallers = new ArrayBlockingQueue<>(Math.max(1, this.poolSize));
+    }
+
+    /**
+     * Borrows an unmarshaller from the pool for the duration of the provided
+     * operation and returns it back once the operation completes.
+     *
+     * @param operation the operation to be performed with the unmarshaller
+     * @return the result of the operation
+     * @param <T> the type of the operation result
+     * @throws JAXBException if the operation fails
+     */
+    public <T> T withUnmarshaller(JAXBOperation<Unmarshaller, T> operation) throws JAXBException {
+        Unmarshaller unmarshaller = this.unmarshallers.poll();
+        if(unmarshaller == null) {
+            unmarshaller = this.jaxbContext.createUnmarshaller();
+        }
+        try {
+            return operation.apply(unmarshaller);
+        } finally {
+            this.unmarshallers.offer(unmarshaller);
+        }
+    }
+
+    /**
+     * A JAXB operation to be performed using a pooled unmarshaller.
+     *
+     * @param <S> the type of the pooled JAXB object
+     * @param <T> the type of the operation result
+     */
+    @FunctionalInterface
+    public interface JAXBOperation<S, T> {
+
+        /**
+         * Performs the operation using the provided JAXB object.
+         *
+         * @param source the pooled JAXB object
+         * @return the result of the operation
+         * @throws JAXBException if the operation fails
+         */
+        T apply(S source) throws JAXBException;
+    }
+
+}
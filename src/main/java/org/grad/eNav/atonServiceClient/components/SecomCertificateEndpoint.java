@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.components;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The SECOM Certificate Actuator Endpoint.
+ * <p/>
+ * Exposes the information of the cached SECOM signature certificate through
+ * the actuator, and allows the administrators to forcibly invalidate it, so
+ * that it is retrieved from cKeeper again on the next request.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Endpoint(id = "secomcertificate")
+public class SecomCertificateEndpoint {
+
+    /**
+     * The SECOM Certificate Provider.
+     */
+    @Autowired
+    SecomCertificateProviderImpl secomCertificateProvider;
+
+    /**
+     * GET /actuator/secomcertificate: Returns the information of the cached
+     * SECOM signature certificate.
+     *
+     * @return the cached SECOM signature certificate information
+     */
+    @ReadOperation
+    public Map<String, Object> certificate() {
+        final Map<String, Object> info = new LinkedHashMap<>();
+        this.secomCertificateProvider.getCachedCertificate().ifPresentOrElse(cached -> {
+            info.put("cached", true);
+            info.put("certificateAlias", cached.certificate().getCertificateAlias());
+            info.put("notAfter", cached.notAfter());
+            info.put("refreshAt", cached.refreshAt());
+        }, () -> info.put("cached", false));
+        return info;
+    }
+
+    /**
+     * DELETE /actuator/secomcertificate: Invalidates the cached SECOM
+     * signature certificate.
+     */
+    @DeleteOperation
+    public void invalidate() {
+        this.secomCertificateProvider.invalidate();
+    }
+
+}
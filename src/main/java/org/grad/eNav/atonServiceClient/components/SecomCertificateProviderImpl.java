@@ -15,6 +15,8 @@
 
 package org.grad.eNav.atonServiceClient.components;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.grad.eNav.atonServiceClient.feign.CKeeperClient;
 import org.grad.eNav.atonServiceClient.models.domain.ServiceInformationConfig;
@@ -24,10 +26,19 @@ import org.grad.secomv2.core.base.DigitalSignatureCertificate;
 import org.grad.secomv2.core.base.SecomCertificateProvider;
 import org.grad.secomv2.core.utils.SecomPemUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import java.security.cert.CertificateException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * The SECOM Certificate Provider Implementation.
@@ -36,12 +47,36 @@ import java.security.cert.CertificateException;
  * microservice that is responsible for storing and providing the certificates
  * to be used for signing and verifying the messages.
  *
+ * Since the SECOM library requests the certificate for every outgoing signed
+ * message, the certificate retrieved from cKeeper is cached. The cached
+ * certificate is refreshed in the background once it approaches its expiry
+ * date (or once it reaches its maximum age, to pick up any certificate
+ * rotations), while the current value keeps being served in the meantime.
+ *
  * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
  */
 @Component
 @Slf4j
 public class SecomCertificateProviderImpl implements SecomCertificateProvider {
 
+    /**
+     * How long before its expiry the cached certificate should be refreshed.
+     */
+    @Value("${gla.rad.aton-service-client.secom.certificate-cache.refresh-before-expiry:PT1H}")
+    Duration refreshBeforeExpiry;
+
+    /**
+     * The maximum age of the cached certificate before it is refreshed.
+     */
+    @Value("${gla.rad.aton-service-client.secom.certificate-cache.max-age:PT1H}")
+    Duration maxAge;
+
+    /**
+     * The minimum interval between two consecutive certificate refreshes.
+     */
+    @Value("${gla.rad.aton-service-client.secom.certificate-cache.min-refresh-interval:PT1M}")
+    Duration minRefreshInterval;
+
     /**
      * The Service Information Config.
      */
@@ -55,16 +90,149 @@ public class SecomCertificateProviderImpl implements SecomCertificateProvider {
     @Lazy
     CKeeperClient cKeeperClient;
 
+    // Class Variables
+    volatile CachedCertificate cachedCertificate;
+    final AtomicBoolean refreshing = new AtomicBoolean(false);
+    ExecutorService refreshExecutor;
+
+    /**
+     * The component post-construct operations where the background refresh
+     * executor is initialised.
+     */
+    @PostConstruct
+    public void init() {
+        this.refreshExecutor = Executors.newSingleThreadExecutor(
+                Thread.ofVirtual().name("secom-certificate-refresh").factory());
+    }
+
+    /**
+     * When shutting down the application we need to make sure that all
+     * threads have been gracefully shutdown as well.
+     */
+    @PreDestroy
+    public void destroy() {
+        this.refreshExecutor.shutdownNow();
+    }
+
     /**
      * This function overrides the interface definition to link the SECOM
      * certificate provision with the cKeeper operation. Each service can
      * request its most recent certificate, alongside some additional
      * information such as its ID, public key and root certificate thumbprint.
+     * <p/>
+     * The certificate is only retrieved from cKeeper if none has been cached
+     * yet, or the cached one has already expired. Otherwise, the cached
+     * certificate is returned and, if it is due for a refresh, a background
+     * refresh is triggered.
      *
      * @return the certificate information provided by cKeeper
      */
     @Override
     public DigitalSignatureCertificate getDigitalSignatureCertificate() {
+        final Instant now = Instant.now();
+
+        // Without a valid cached certificate, we need to wait for cKeeper
+        CachedCertificate current = this.cachedCertificate;
+        if(current == null || !now.isBefore(current.notAfter())) {
+            synchronized (this) {
+                current = this.cachedCertificate;
+                if(current == null || !now.isBefore(current.notAfter())) {
+                    current = this.loadCachedCertificate();
+                    this.cachedCertificate = current;
+                }
+            }
+            return Optional.ofNullable(current).map(CachedCertificate::certificate).orElse(null);
+        }
+
+        // Otherwise refresh in the background if required
+        if(!now.isBefore(current.refreshAt())) {
+            this.refreshAsync();
+        }
+
+        // And return the current value
+        return current.certificate();
+    }
+
+    /**
+     * Returns the currently cached certificate information, if any.
+     *
+     * @return the currently cached certificate information
+     */
+    public Optional<CachedCertificate> getCachedCertificate() {
+        return Optional.ofNullable(this.cachedCertificate);
+    }
+
+    /**
+     * Invalidates the cached certificate, forcing the next request to
+     * retrieve it from cKeeper again.
+     */
+    public void invalidate() {
+        log.info("Invalidating the cached SECOM signature certificate");
+        this.cachedCertificate = null;
+    }
+
+    /**
+     * Triggers a background refresh of the cached certificate, unless one
+     * is already running.
+     */
+    protected void refreshAsync() {
+        if(this.refreshing.compareAndSet(false, true)) {
+            this.refreshExecutor.execute(() -> {
+                try {
+                    this.cachedCertificate = Optional.ofNullable(this.loadCachedCertificate())
+                            .or(this::backOffCachedCertificate)
+                            .orElse(null);
+                } catch (RuntimeException ex) {
+                    log.error("Unable to refresh the SECOM signature certificate: {}", ex.getMessage());
+                    this.cachedCertificate = this.backOffCachedCertificate().orElse(null);
+                } finally {
+                    this.refreshing.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Retrieves the signature certificate from cKeeper and computes the time
+     * it should be refreshed at.
+     *
+     * @return the cached certificate information, or null if not available
+     */
+    protected CachedCertificate loadCachedCertificate() {
+        final DigitalSignatureCertificate digitalSignatureCertificate = this.loadDigitalSignatureCertificate();
+        if(digitalSignatureCertificate == null) {
+            return null;
+        }
+
+        // Refresh before the expiry date, or once the maximum age is reached,
+        // but never sooner than the minimum refresh interval
+        final Instant now = Instant.now();
+        final Instant notAfter = digitalSignatureCertificate.getCertificate()[0].getNotAfter().toInstant();
+        final Instant refreshAt = Collections.max(List.of(
+                Collections.min(List.of(notAfter.minus(this.refreshBeforeExpiry), now.plus(this.maxAge))),
+                now.plus(this.minRefreshInterval)));
+        return new CachedCertificate(digitalSignatureCertificate, notAfter, refreshAt);
+    }
+
+    /**
+     * When a background refresh fails, the currently cached certificate is
+     * kept, but its next refresh is postponed by the minimum refresh
+     * interval, so that cKeeper is not contacted on every single request.
+     *
+     * @return the currently cached certificate with a postponed refresh
+     */
+    protected Optional<CachedCertificate> backOffCachedCertificate() {
+        return Optional.ofNullable(this.cachedCertificate)
+                .map(current -> new CachedCertificate(current.certificate(), current.notAfter(), Instant.now().plus(this.minRefreshInterval)));
+    }
+
+    /**
+     * Retrieves the signature certificate from cKeeper and builds the SECOM
+     * digital signature certificate object.
+     *
+     * @return the certificate information provided by cKeeper
+     */
+    protected DigitalSignatureCertificate loadDigitalSignatureCertificate() {
         // Initialise SECOM the digital signature certificate
         final DigitalSignatureCertificate digitalSignatureCertificate = new DigitalSignatureCertificate();
 
@@ -90,4 +258,15 @@ public class SecomCertificateProviderImpl implements SecomCertificateProvider {
         return digitalSignatureCertificate;
     }
 
+    /**
+     * The cached signature certificate alongside its expiry date and the
+     * time it should be refreshed at.
+     *
+     * @param certificate the SECOM digital signature certificate
+     * @param notAfter the expiry date of the signing certificate
+     * @param refreshAt the time the certificate should be refreshed at
+     */
+    public record CachedCertificate(DigitalSignatureCertificate certificate, Instant notAfter, Instant refreshAt) {
+    }
+
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.components;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.grad.secomv2.springboot4.components.SecomClient;
+import org.grad.secomv2.springboot4.components.SecomConfigProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URL;
+import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
+import java.security.UnrecoverableKeyException;
+import java.security.cert.CertificateException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * The SECOM Client Factory Component.
+ * <p/>
+ * Each SECOM client loads the configured keystore and truststore, and builds
+ * its own SSL context and HTTP connector upon construction. The SECOM library
+ * offers no way to hand an existing SSL context or connector over to a new
+ * client, so these cannot be shared between endpoints. Instead, this factory
+ * caches the constructed clients per remote endpoint, so that the SSL context
+ * and connector of each endpoint are only built once, and are then reused by
+ * all the components (and all the MRNs) that talk to that endpoint. The
+ * cached clients are bounded in number, and expire once they have not been
+ * requested for a while, e.g. after their endpoint is no longer registered.
+ * Each client is only constructed while holding the lock of its own
+ * endpoint, so that the TLS setup of unrelated endpoints is not serialised.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Slf4j
+public class SecomClientFactory {
+
+    /**
+     * The SECOM Configuration Properties.
+     */
+    @Autowired
+    SecomConfigProperties secomConfigProperties;
+
+    /**
+     * The maximum number of shared SECOM clients.
+     */
+    @Value("${gla.rad.aton-service-client.secom.client-factory.max-size:100}")
+    long maxSize;
+
+    /**
+     * How long a cached SECOM client is kept without being requested.
+     */
+    @Value("${gla.rad.aton-service-client.secom.client-factory.idle-timeout:PT30M}")
+    Duration idleTimeout;
+
+    // Class Variables
+    Cache<String, SecomClient> clients;
+
+    /**
+     * The component post-construct operations where the cached clients are
+     * initialised.
+     */
+    @PostConstruct
+    public void init() {
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(this.maxSize)
+                .expireAfterAccess(this.idleTimeout)
+                .removalListener((String key, SecomClient secomClient, RemovalCause cause) ->
+                        log.debug("Released the shared SECOM client for {} ({})", key, cause))
+                .build();
+    }
+
+    /**
+     * When shutting down the application we need to make sure that all the
+     * shared clients are released.
+     */
+    @PreDestroy
+    public void destroy() {
+        log.info("SECOM Client Factory is shutting down...");
+        Optional.ofNullable(this.clients).ifPresent(Cache::invalidateAll);
+    }
+
+    /**
+     * Returns the shared SECOM client for the provided endpoint URL. If no
+     * client has been constructed for this endpoint yet, a new one will be
+     * created using the SECOM configuration properties and retained for all
+     * subsequent requests.
+     *
+     * @param url the URL of the SECOM endpoint
+     * @return the shared SECOM client for the provided endpoint
+     * @throws IOException if the keystore/truststore files cannot be read
+     * @throws KeyStoreException if the keystore/truststore cannot be loaded
+     * @throws NoSuchAlgorithmException if the keystore algorithm is not supported
+     * @throws CertificateException if the keystore certificates cannot be loaded
+     * @throws UnrecoverableKeyException if the keystore key cannot be recovered
+     */
+    public SecomClient getClient(URL url) throws IOException, KeyStoreException, NoSuchAlgorithmException, CertificateException, UnrecoverableKeyException {
+        try {
+            return this.clients.get(url.toExternalForm(), key -> {
+                log.debug("Constructing a new shared SECOM client for {}", key);
+                try {
+                    return new SecomClient(url, this.secomConfigProperties);
+                } catch (IOException | KeyStoreException | NoSuchAlgorithmException |
+                         CertificateException | UnrecoverableKeyException ex) {
+                    throw new ClientConstructionException(ex);
+                }
+            });
+        } catch (ClientConstructionException ex) {
+            switch (ex.getCause()) {
+                case IOException cause -> throw cause;
+                case KeyStoreException cause -> throw cause;
+                case NoSuchAlgorithmException cause -> throw cause;
+                case CertificateException cause -> throw cause;
+                case UnrecoverableKeyException cause -> throw cause;
+                default -> throw ex;
+            }
+        }
+    }
+
+    /**
+     * Carries the checked exceptions raised while constructing a shared
+     * SECOM client out of the cache mapping function.
+     */
+    static class ClientConstructionException extends RuntimeException {
+
+        /**
+         * The Client Construction Exception constructor.
+         *
+         * @param cause the checked exception raised during the construction
+         */
+        ClientConstructionException(Exception cause) {
+            super(cause);
+        }
+
+    }
+
+}
@@ -29,6 +29,7 @@ import org.grad.secomv2.core.base.SecomSignatureProvider;
 import org.grad.secomv2.core.models.enums.DigitalSignatureAlgorithmEnum;
 import org.grad.secomv2.core.utils.SecomPemUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
@@ -49,6 +50,11 @@ import java.util.stream.Stream;
  * microservice that is responsible for generating the validating the
  * SECOM message signatures.
  *
+ * When the local verification mode is enabled, the incoming SECOM message
+ * signatures are verified in-process instead, using the cached certificate
+ * chain validation of the SECOM signature verifier. If the certificate chain
+ * cannot be validated locally, cKeeper can still be used as a fallback.
+ *
  * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
  */
 @Component
@@ -62,6 +68,24 @@ public class SecomSignatureProviderImpl implements SecomSignatureProvider {
     @Lazy
     CKeeperClient cKeeperClient;
 
+    /**
+     * Whether the SECOM message signatures should be verified locally.
+     */
+    @Value("${gla.rad.aton-service-client.signature.local-verification.enabled:false}")
+    boolean localVerificationEnabled;
+
+    /**
+     * Whether cKeeper should be used when the local verification fails.
+     */
+    @Value("${gla.rad.aton-service-client.signature.local-verification.ckeeper-fallback:true}")
+    boolean cKeeperFallback;
+
+    /**
+     * The SECOM Signature Verifier.
+     */
+    @Autowired
+    SecomSignatureVerifier secomSignatureVerifier;
+
     // Class Variables
     private static final String ANS10_MRN_OBJECT_IDENTIFIER = "0.9.2342.19200300.100.1.1";
 
@@ -132,6 +156,18 @@ public class SecomSignatureProviderImpl implements SecomSignatureProvider {
         } catch (CertificateException ex) {
             log.error(ex.getMessage());
         }
+
+        // If enabled, try to verify the signature locally first
+        if(this.localVerificationEnabled && certificate != null && certificate.length > 0) {
+            if(this.secomSignatureVerifier.isTrusted(certificate)) {
+                // The message is signed with the negotiated SECOM algorithm, not the certificate one
+                return this.secomSignatureVerifier.verifySignature(certificate[0], this.getSignatureAlgorithm(), signature, content);
+            } else if(!this.cKeeperFallback) {
+                return false;
+            }
+            log.debug("Unable to validate the SECOM certificate chain locally, falling back to cKeeper");
+        }
+
         // Now try to get the MRN out of the certificate principals
         final String mrn = Stream.of(certificate)
                 .map(X509Certificate::getSubjectX500Principal)
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.components;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.grad.secomv2.core.base.SecomTrustStoreProvider;
+import org.grad.secomv2.core.models.enums.DigitalSignatureAlgorithmEnum;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.security.cert.*;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * The SECOM Signature Verifier Component.
+ * <p/>
+ * Provides the means to verify the SECOM message signatures in-process,
+ * instead of asking cKeeper to do so for every single message received.
+ * The certificate chains provided by the publishers are validated against
+ * the SECOM trust store, and the validation result is cached for a
+ * configurable amount of time, keyed by the fingerprint of the chain.
+ * <p/>
+ * Note that the certificate revocation status is not checked locally,
+ * since no CRL or OCSP sources are available to this service. Deployments
+ * that require revocation checking should leave the local verification
+ * disabled, so that the signatures are verified by cKeeper instead.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Slf4j
+public class SecomSignatureVerifier implements MeterBinder {
+
+    /**
+     * The time the certificate chain validation results are cached for.
+     */
+    @Value("${gla.rad.aton-service-client.signature.local-verification.cache-ttl:PT10M}")
+    Duration cacheTtl;
+
+    /**
+     * The maximum number of certificate chain validation results cached.
+     */
+    @Value("${gla.rad.aton-service-client.signature.local-verification.cache-max-size:1000}")
+    long cacheMaxSize;
+
+    /**
+     * The SECOM Trust Store Provider.
+     */
+    @Autowired
+    SecomTrustStoreProvider secomTrustStoreProvider;
+
+    // Class Variables
+    Cache<String, Boolean> trustCache;
+    volatile TrustAnchors trustAnchors;
+
+    /**
+     * The component post-construct operations where the certificate chain
+     * validation cache is initialised.
+     */
+    @PostConstruct
+    public void init() {
+        this.trustCache = Caffeine.newBuilder()
+                .maximumSize(this.cacheMaxSize)
+                .expireAfterWrite(this.cacheTtl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * When shutting down the application we need to make sure that all the
+     * cached validation results are released.
+     */
+    @PreDestroy
+    public void destroy() {
+        this.invalidate();
+    }
+
+    /**
+     * Binds the certificate chain validation cache statistics to the
+     * provided meter registry so that they can be monitored through the
+     * actuator metrics.
+     *
+     * @param registry the meter registry
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, this.trustCache, "secomTrustedCertificates");
+    }
+
+    /**
+     * Invalidates all the cached certificate chain validation results as
+     * well as the loaded trust anchors, so that they are reloaded from the
+     * SECOM trust store on the next request.
+     */
+    public void invalidate() {
+        this.trustCache.invalidateAll();
+        this.trustAnchors = null;
+    }
+
+    /**
+     * Checks whether the provided certificate chain is trusted, i.e. it can
+     * be validated against the SECOM trust store. The result will be cached
+     * so that subsequent messages signed with the same chain are not
+     * validated again until the cache entry expires, or the SECOM trust
+     * store is reloaded.
+     *
+     * @param certificates the certificate chain, starting from the signing certificate
+     * @return whether the certificate chain is trusted
+     */
+    public boolean isTrusted(X509Certificate[] certificates) {
+        if(certificates == null || certificates.length == 0) {
+            return false;
+        }
+        try {
+            final Set<TrustAnchor> anchors = this.getTrustAnchors();
+            return this.trustCache.get(this.fingerprint(certificates), fingerprint -> this.validateChain(certificates, anchors));
+        } catch (GeneralSecurityException ex) {
+            log.warn("Unable to access the SECOM certificate chain trust information: {}", ex.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Verifies the provided signature of the provided content, using the
+     * public key of the provided signing certificate.
+     *
+     * @param certificate the signing certificate
+     * @param algorithm the digital signature algorithm
+     * @param signature the signature to be verified
+     * @param content the signed content
+     * @return whether the signature verification was successful or not
+     */
+    public boolean verifySignature(X509Certificate certificate, DigitalSignatureAlgorithmEnum algorithm, byte[] signature, byte[] content) {
+        try {
+            final Signature verifier = Signature.getInstance(algorithm.getValue());
+            verifier.initVerify(certificate.getPublicKey());
+            verifier.update(Optional.ofNullable(content).orElse(new byte[]{}));
+            return verifier.verify(signature);
+        } catch (GeneralSecurityException ex) {
+            log.warn("Unable to verify the SECOM message signature: {}", ex.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Validates the provided certificate chain against the trust anchors of
+     * the SECOM trust store using the PKIX algorithm. Any certificates of
+     * the chain that are trust anchors themselves are not included in the
+     * validated path.
+     *
+     * @param certificates the certificate chain, starting from the signing certificate
+     * @param anchors the trust anchors of the SECOM trust store
+     * @return whether the certificate chain is valid
+     */
+    protected boolean validateChain(X509Certificate[] certificates, Set<TrustAnchor> anchors) {
+        try {
+            // Make sure we have some trust anchors
+            if(anchors.isEmpty()) {
+                log.warn("No trust anchors available to validate the SECOM certificate chain");
+                return false;
+            }
+
+            // Build the certification path excluding the anchors
+            final List<X509Certificate> path = Arrays.stream(certificates)
+                    .filter(certificate -> anchors.stream().map(TrustAnchor::getTrustedCert).noneMatch(certificate::equals))
+                    .toList();
+            final CertPath certPath = CertificateFactory.getInstance("X.509").generateCertPath(path);
+
+            // And validate it, without any revocation sources to check against
+            final PKIXParameters parameters = new PKIXParameters(anchors);
+            parameters.setRevocationEnabled(false);
+            CertPathValidator.getInstance("PKIX").validate(certPath, parameters);
+            return true;
+        } catch (GeneralSecurityException ex) {
+            log.warn("Unable to validate the SECOM certificate chain: {}", ex.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Returns the trust anchors of the SECOM trust store. These are loaded
+     * once and then reused until the configured cache TTL expires, or the
+     * SECOM trust store is reloaded, in which case all cached validation
+     * results are also discarded.
+     *
+     * @return the trust anchors of the SECOM trust store
+     * @throws GeneralSecurityException if the trust store cannot be accessed
+     */
+    protected Set<TrustAnchor> getTrustAnchors() throws GeneralSecurityException {
+        final KeyStore trustStore = this.secomTrustStoreProvider.getTrustStore();
+        final TrustAnchors current = this.trustAnchors;
+        if(current != null && current.trustStore() == trustStore && System.nanoTime() - current.loadedAt() < this.cacheTtl.toNanos()) {
+            return current.anchors();
+        }
+
+        // A different trust store invalidates all previous validations
+        if(current != null && current.trustStore() != trustStore) {
+            this.trustCache.invalidateAll();
+        }
+
+        // Load the trust anchors from the trust store
+        final Set<TrustAnchor> anchors = new HashSet<>();
+        if(trustStore != null) {
+            for(String alias : Collections.list(trustStore.aliases())) {
+                if(trustStore.getCertificate(alias) instanceof X509Certificate certificate) {
+                    anchors.add(new TrustAnchor(certificate, null));
+                }
+            }
+        }
+
+        // And keep them for the subsequent requests
+        this.trustAnchors = new TrustAnchors(trustStore, Collections.unmodifiableSet(anchors), System.nanoTime());
+        return this.trustAnchors.anchors();
+    }
+
+    /**
+     * Computes the SHA-256 fingerprint of the provided certificate chain as
+     * a hex string.
+     *
+     * @param certificates the certificate chain
+     * @return the certificate chain fingerprint
+     * @throws GeneralSecurityException if the certificates cannot be encoded
+     */
+    protected String fingerprint(X509Certificate[] certificates) throws GeneralSecurityException {
+        final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for(X509Certificate certificate : certificates) {
+            digest.update(certificate.getEncoded());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * The loaded trust anchors alongside the trust store and the time they
+     * were loaded from.
+     *
+     * @param trustStore the trust store the anchors were loaded from
+     * @param anchors the trust anchors
+     * @param loadedAt the nano time the anchors were loaded at
+     */
+    record TrustAnchors(KeyStore trustStore, Set<TrustAnchor> anchors, long loadedAt) {
+    }
+
+}
@@ -15,6 +15,11 @@
 
 package org.grad.eNav.atonServiceClient.components;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.grad.secomv2.core.base.SecomTrustStoreProvider;
 import org.grad.secomv2.core.utils.KeyStoreUtils;
@@ -24,10 +29,16 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * The SECOM Trust Store Provider Implementation.
@@ -36,6 +47,12 @@ import java.security.cert.CertificateException;
  * This is required for the SECOM library to be able to automatically pick up
  * the keystore that contains the trusted SECOM CA certificate chain.
  *
+ * The trust store is only loaded once and kept in memory. If it is located
+ * on the file system, its parent directory is also watched for changes, so
+ * that any trust store rotations are picked up without a restart. The
+ * in-memory trust store is only replaced once the new one has been loaded
+ * successfully.
+ *
  * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
  */
 @Component
@@ -48,12 +65,82 @@ public class SecomTrustStoreProviderImpl implements SecomTrustStoreProvider {
     @Value("${gla.rad.aton-service-client.secom.rootCertificateAlias:rootCertificate}")
     String rootCertificateAlias;
 
+    /**
+     * Whether the trust store file should be watched for changes.
+     */
+    @Value("${gla.rad.aton-service-client.secom.truststore.watch:true}")
+    boolean watchEnabled;
+
     /**
      * The SECOM Configuration properties.
      */
     @Autowired
     SecomConfigProperties secomConfigProperties;
 
+    /**
+     * The Meter Registry.
+     */
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    // Class Variables
+    final AtomicReference<KeyStore> trustStore = new AtomicReference<>();
+    volatile FileTime lastModified;
+    volatile Instant lastReload;
+    Timer loadTimer;
+    WatchService watchService;
+    Thread watchThread;
+
+    /**
+     * The component post-construct operations where the trust store is
+     * loaded and its file is watched for changes.
+     */
+    @PostConstruct
+    public void init() {
+        // Register the trust store metrics
+        this.loadTimer = Timer.builder("secom.truststore.load")
+                .description("The time taken to load the SECOM trust store")
+                .register(this.meterRegistry);
+        Gauge.builder("secom.truststore.last.reload", this, p -> Optional.ofNullable(p.lastReload).map(Instant::getEpochSecond).orElse(0L))
+                .description("The epoch second the SECOM trust store was last loaded at")
+                .register(this.meterRegistry);
+
+        // Load the trust store
+        this.reload();
+
+        // And watch the file for changes, if possible
+        final Path path = this.getTrustStorePath();
+        if(this.watchEnabled && path != null && Files.isRegularFile(path)) {
+            try {
+                this.watchService = path.getFileSystem().newWatchService();
+                path.toAbsolutePath().getParent().register(this.watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+                this.watchThread = Thread.ofVirtual()
+                        .name("secom-truststore-watch")
+                        .start(() -> this.watch(path));
+            } catch (IOException ex) {
+                log.warn("Unable to watch the SECOM trust store for changes: {}", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * When shutting down the application we need to make sure that the trust
+     * store file is no longer watched.
+     */
+    @PreDestroy
+    public void destroy() {
+        Optional.ofNullable(this.watchThread).ifPresent(Thread::interrupt);
+        Optional.ofNullable(this.watchService).ifPresent(watchService -> {
+            try {
+                watchService.close();
+            } catch (IOException ex) {
+                log.warn("Unable to close the SECOM trust store watch service: {}", ex.getMessage());
+            }
+        });
+    }
+
     /**
      * Returns the alias of the root certificate as it is contained in the
      * provided trust store. This can be used to pinpoint the actual root
@@ -69,15 +156,123 @@ public class SecomTrustStoreProviderImpl implements SecomTrustStoreProvider {
     /**
      * Returns the trust store that contains the trusted SECOM certificate chain.
      * This is required to validate the received certificate for every applicable
-     * request.
+     * request. If the trust store could not be loaded before, another attempt
+     * will be made.
      *
      * @return the SECOM trust store
      */
     @Override
     public KeyStore getTrustStore() {
+        return Optional.ofNullable(this.trustStore.get())
+                .orElseGet(this::reload);
+    }
+
+    /**
+     * Returns the time the trust store was last loaded at.
+     *
+     * @return the time the trust store was last loaded at
+     */
+    public Optional<Instant> getLastReload() {
+        return Optional.ofNullable(this.lastReload);
+    }
+
+    /**
+     * Loads the trust store from its configured location and, if successful,
+     * atomically replaces the in-memory one. The modification time is read
+     * before loading, so that any write landing during the load will still
+     * be picked up as a change.
+     *
+     * @return the loaded trust store, or null if it could not be loaded
+     */
+    protected KeyStore reload() {
+        final long start = System.nanoTime();
         try {
-            return KeyStoreUtils.getKeyStore(this.secomConfigProperties.getTruststore(), this.secomConfigProperties.getTruststorePassword(), this.secomConfigProperties.getTruststoreType());
+            final FileTime modified = this.getLastModified();
+            final KeyStore loaded = this.loadTrustStore();
+            if(loaded != null) {
+                this.lastModified = modified;
+                this.trustStore.set(loaded);
+                this.lastReload = Instant.now();
+                log.info("SECOM trust store loaded");
+            }
+            return loaded;
         } catch (KeyStoreException | NoSuchAlgorithmException | IOException | CertificateException ex) {
+            log.error("Unable to load the SECOM trust store: {}", ex.getMessage());
+            return null;
+        } finally {
+            this.loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Reads the trust store from its configured location using the SECOM
+     * configuration properties.
+     *
+     * @return the trust store read
+     * @throws KeyStoreException if the trust store cannot be loaded
+     * @throws NoSuchAlgorithmException if the trust store algorithm is not supported
+     * @throws IOException if the trust store file cannot be read
+     * @throws CertificateException if the trust store certificates cannot be loaded
+     */
+    protected KeyStore loadTrustStore() throws KeyStoreException, NoSuchAlgorithmException, IOException, CertificateException {
+        return KeyStoreUtils.getKeyStore(this.secomConfigProperties.getTruststore(), this.secomConfigProperties.getTruststorePassword(), this.secomConfigProperties.getTruststoreType());
+    }
+
+    /**
+     * Watches the parent directory of the trust store file and reloads the
+     * trust store whenever its modification time changes. Checking the
+     * modification time, rather than the event file names, also picks up
+     * rotations performed through symbolic link swaps.
+     *
+     * @param path the trust store file path
+     */
+    protected void watch(Path path) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final WatchKey key = this.watchService.take();
+                key.pollEvents();
+                final FileTime modified = this.getLastModified();
+                if(modified != null && !modified.equals(this.lastModified)) {
+                    log.info("SECOM trust store {} has changed, reloading...", path);
+                    this.reload();
+                }
+                if(!key.reset()) {
+                    break;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ex) {
+            log.debug("SECOM trust store watch service closed");
+        }
+    }
+
+    /**
+     * Returns the trust store file path, if it is configured.
+     *
+     * @return the trust store file path
+     */
+    protected Path getTrustStorePath() {
+        try {
+            return Optional.ofNullable(this.secomConfigProperties.getTruststore())
+                    .map(Paths::get)
+                    .orElse(null);
+        } catch (InvalidPathException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the last modification time of the trust store file, if it is
+     * located on the file system.
+     *
+     * @return the last modification time of the trust store file
+     */
+    protected FileTime getLastModified() {
+        final Path path = this.getTrustStorePath();
+        try {
+            return path != null && Files.exists(path) ? Files.getLastModifiedTime(path) : null;
+        } catch (IOException ex) {
             return null;
         }
     }
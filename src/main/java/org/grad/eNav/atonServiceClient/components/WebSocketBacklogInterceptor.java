@@ -0,0 +1,385 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.components;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Web-Socket Backlog Interceptor Component.
+ * <p/>
+ * Intercepts the client outbound channel of the web-socket message broker
+ * to keep track of the number of message frames waiting to be sent to each
+ * connected session, which is exposed per session through Micrometer.
+ * <p/>
+ * Since the outbound channel threads hand the frames over to the send
+ * buffer of each session without waiting for them to be written, this
+ * component also decorates the web-socket handler, so that the frames still
+ * sitting in the session send buffer are tracked as well. Only the sessions
+ * between their connection being established and closed are tracked, so
+ * that frames such as the DISCONNECT_ACK of a closed session do not register
+ * any metrics. Sessions that fall behind are eventually terminated by the
+ * web-socket transport limits, once their send buffer or send time limits
+ * are exceeded.
+ * <p/>
+ * When the conflation policy is selected, the pending AtoN updates of a
+ * session whose pending and buffered frames exceed the configured threshold
+ * are conflated per AtoN identifier instead, meaning that only the latest
+ * pending update of each AtoN will be sent, so that slow consumers can
+ * catch up without being disconnected. The AtoN updates published in
+ * batches are conflated by the AtoN web-socket publisher instead, for as
+ * long as any of the sessions is over the threshold.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Slf4j
+public class WebSocketBacklogInterceptor implements ExecutorChannelInterceptor, WebSocketHandlerDecoratorFactory {
+
+    /**
+     * The native header carrying the AtoN identifier of the outbound frames.
+     */
+    public static final String ATON_ID_HEADER = "aton-id";
+
+    /**
+     * How slow consumers should be handled.
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.slow-consumer.policy:TERMINATE}")
+    SlowConsumerPolicy slowConsumerPolicy;
+
+    /**
+     * The session pending and buffered frames after which the pending AtoN
+     * updates are conflated.
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.slow-consumer.backlog-threshold:100}")
+    int backlogThreshold;
+
+    /**
+     * The Meter Registry.
+     */
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    // Class Variables
+    final Map<String, SessionBacklog> sessionBacklogs = new ConcurrentHashMap<>();
+    final Map<PendingKey, Message<?>> latestPending = new ConcurrentHashMap<>();
+    Counter conflatedCounter;
+
+    /**
+     * The component post-construct operations where the conflation metrics
+     * are initialised.
+     */
+    @PostConstruct
+    public void init() {
+        this.conflatedCounter = Counter.builder("websocket.outbound.conflated")
+                .description("The number of outbound AtoN updates dropped in favour of newer ones")
+                .register(this.meterRegistry);
+    }
+
+    /**
+     * Counts the outbound message frames as they are queued for their
+     * connected sessions, and keeps track of the latest pending update of
+     * each AtoN.
+     *
+     * @param message the outbound message
+     * @param channel the client outbound channel
+     * @return the outbound message
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        final SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        this.trackedSessionBacklog(message).ifPresent(sessionBacklog -> {
+            sessionBacklog.pending().incrementAndGet();
+            Optional.ofNullable(accessor.getFirstNativeHeader(ATON_ID_HEADER))
+                    .ifPresent(atonId -> this.latestPending.put(new PendingKey(accessor.getSessionId(), atonId), message));
+        });
+        return message;
+    }
+
+    /**
+     * If an outbound frame could not be queued (e.g. because the outbound
+     * channel queue is full), it no longer counts towards the backlog of its
+     * session.
+     *
+     * @param message the outbound message
+     * @param channel the client outbound channel
+     * @param sent whether the message was queued
+     * @param ex any exception raised while queueing
+     */
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        if(ex == null) {
+            return;
+        }
+        final SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        this.trackedSessionBacklog(message)
+                .ifPresent(sessionBacklog -> sessionBacklog.pending().decrementAndGet());
+        Optional.ofNullable(accessor.getFirstNativeHeader(ATON_ID_HEADER))
+                .ifPresent(atonId -> this.latestPending.remove(new PendingKey(accessor.getSessionId(), atonId), message));
+    }
+
+    /**
+     * Before an outbound frame is sent, checks whether it should be
+     * conflated, i.e. if its session has fallen behind and a newer update of
+     * the same AtoN is already pending. Otherwise, the frame is counted in
+     * the send buffer of its session until it is written.
+     *
+     * @param message the outbound message
+     * @param channel the client outbound channel
+     * @param handler the outbound message handler
+     * @return the outbound message, or null if conflated
+     */
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        final SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        final SessionBacklog sessionBacklog = Optional.ofNullable(accessor.getSessionId())
+                .map(this.sessionBacklogs::get)
+                .orElse(null);
+        if(sessionBacklog == null) {
+            return message;
+        }
+
+        // Conflate the outdated updates of sessions falling behind, since
+        // only the latest update of each AtoN is pending from now on
+        final String atonId = accessor.getFirstNativeHeader(ATON_ID_HEADER);
+        if(atonId != null
+                && !this.latestPending.remove(new PendingKey(accessor.getSessionId(), atonId), message)
+                && this.slowConsumerPolicy == SlowConsumerPolicy.CONFLATE
+                && sessionBacklog.pending().get() + sessionBacklog.buffered().get() > this.backlogThreshold) {
+            sessionBacklog.pending().decrementAndGet();
+            this.conflatedCounter.increment();
+            return null;
+        }
+
+        // The frame is handed over to the session send buffer
+        sessionBacklog.buffered().incrementAndGet();
+        return message;
+    }
+
+    /**
+     * Once an outbound frame is sent, it no longer counts towards the
+     * backlog of its session.
+     *
+     * @param message the outbound message
+     * @param channel the client outbound channel
+     * @param handler the outbound message handler
+     * @param ex any exception raised while sending
+     */
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        this.trackedSessionBacklog(message)
+                .ifPresent(sessionBacklog -> sessionBacklog.pending().decrementAndGet());
+    }
+
+    /**
+     * Decorates the web-socket handler of the message broker, so that the
+     * backlog tracking and metrics of each session are registered once its
+     * connection is established and removed once it is closed. The session
+     * handed over to the message broker is also decorated, so that the
+     * frames leaving its send buffer are no longer counted.
+     *
+     * @param handler the web-socket handler
+     * @return the decorated web-socket handler
+     */
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                final SessionBacklog sessionBacklog = sessionBacklog(session.getId());
+                super.afterConnectionEstablished(new WebSocketSessionDecorator(session) {
+                    @Override
+                    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+                        try {
+                            super.sendMessage(message);
+                        } finally {
+                            sessionBacklog.buffered().updateAndGet(buffered -> Math.max(buffered - 1, 0));
+                        }
+                    }
+                });
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                try {
+                    super.afterConnectionClosed(session, closeStatus);
+                } finally {
+                    removeSession(session.getId());
+                }
+            }
+        };
+    }
+
+    /**
+     * Once a session is disconnected, its backlog tracking and metrics are
+     * removed.
+     *
+     * @param event the session disconnect event
+     */
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        this.removeSession(event.getSessionId());
+    }
+
+    /**
+     * Returns the number of outbound frames pending per session.
+     *
+     * @return the number of outbound frames pending per session
+     */
+    public Map<String, Integer> getSessionBacklogs() {
+        final Map<String, Integer> backlogs = new ConcurrentHashMap<>();
+        this.sessionBacklogs.forEach((sessionId, sessionBacklog) -> backlogs.put(sessionId, sessionBacklog.pending().get()));
+        return backlogs;
+    }
+
+    /**
+     * Returns the number of outbound frames waiting in the send buffer of
+     * each session.
+     *
+     * @return the number of outbound frames waiting in the send buffer of each session
+     */
+    public Map<String, Integer> getSessionSendBuffers() {
+        final Map<String, Integer> sendBuffers = new ConcurrentHashMap<>();
+        this.sessionBacklogs.forEach((sessionId, sessionBacklog) -> sendBuffers.put(sessionId, sessionBacklog.buffered().get()));
+        return sendBuffers;
+    }
+
+    /**
+     * Returns whether the pending AtoN updates should currently be
+     * conflated, i.e. the conflation policy is selected and the pending and
+     * buffered frames of at least one session exceed the configured
+     * threshold.
+     *
+     * @return whether the pending AtoN updates should be conflated
+     */
+    public boolean isConflating() {
+        return this.slowConsumerPolicy == SlowConsumerPolicy.CONFLATE
+                && this.sessionBacklogs.values().stream()
+                .anyMatch(sessionBacklog -> sessionBacklog.pending().get() + sessionBacklog.buffered().get() > this.backlogThreshold);
+    }
+
+    /**
+     * Returns the backlog tracking of the session of the provided outbound
+     * frame, as long as it is a message frame of a connected session.
+     *
+     * @param message the outbound message
+     * @return the session backlog tracking, if any
+     */
+    protected Optional<SessionBacklog> trackedSessionBacklog(Message<?> message) {
+        return Optional.of(message.getHeaders())
+                .filter(headers -> SimpMessageHeaderAccessor.getMessageType(headers) == SimpMessageType.MESSAGE)
+                .map(SimpMessageHeaderAccessor::getSessionId)
+                .map(this.sessionBacklogs::get);
+    }
+
+    /**
+     * Returns the backlog tracking of the provided session, registering its
+     * metrics the first time the session is encountered.
+     *
+     * @param sessionId the session identifier
+     * @return the session backlog tracking
+     */
+    protected SessionBacklog sessionBacklog(String sessionId) {
+        return this.sessionBacklogs.computeIfAbsent(sessionId, id -> {
+            final AtomicInteger pending = new AtomicInteger();
+            final AtomicInteger buffered = new AtomicInteger();
+            final Gauge gauge = Gauge.builder("websocket.session.backlog", pending, AtomicInteger::get)
+                    .description("The number of outbound frames waiting to be sent to a web-socket session")
+                    .tag("session", id)
+                    .register(this.meterRegistry);
+            final Gauge bufferGauge = Gauge.builder("websocket.session.send-buffer", buffered, AtomicInteger::get)
+                    .description("The number of outbound frames waiting in the send buffer of a web-socket session")
+                    .tag("session", id)
+                    .register(this.meterRegistry);
+            return new SessionBacklog(pending, buffered, gauge, bufferGauge);
+        });
+    }
+
+    /**
+     * Removes the backlog tracking and metrics of the provided session.
+     *
+     * @param sessionId the session identifier
+     */
+    protected void removeSession(String sessionId) {
+        Optional.ofNullable(this.sessionBacklogs.remove(sessionId)).ifPresent(sessionBacklog -> {
+            this.meterRegistry.remove(sessionBacklog.gauge());
+            this.meterRegistry.remove(sessionBacklog.bufferGauge());
+        });
+        this.latestPending.keySet().removeIf(key -> key.sessionId().equals(sessionId));
+    }
+
+    /**
+     * The slow consumer handling policies.
+     */
+    public enum SlowConsumerPolicy {
+        /**
+         * Sessions falling behind are terminated by the transport limits.
+         */
+        TERMINATE,
+        /**
+         * The pending AtoN updates of sessions falling behind are conflated.
+         */
+        CONFLATE
+    }
+
+    /**
+     * The backlog tracking of a session.
+     *
+     * @param pending the number of pending outbound frames
+     * @param buffered the number of outbound frames in the send buffer
+     * @param gauge the backlog gauge of the session
+     * @param bufferGauge the send buffer gauge of the session
+     */
+    protected record SessionBacklog(AtomicInteger pending, AtomicInteger buffered, Gauge gauge, Gauge bufferGauge) {
+    }
+
+    /**
+     * The key of the pending AtoN updates.
+     *
+     * @param sessionId the session identifier
+     * @param atonId the AtoN identifier
+     */
+    protected record PendingKey(String sessionId, String atonId) {
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.components;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.atonServiceClient.utils.X509Utils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * The X.509 Certificate Cache Component.
+ * <p/>
+ * SECOM publishers tend to sign thousands of messages with the same
+ * certificate, which would otherwise be decoded, parsed and have its
+ * distinguished names split for every single message received. This
+ * component keeps a bounded cache of the parsed certificates, alongside
+ * their subject and issuer UIDs, keyed by the SHA-256 fingerprint of their
+ * DER encoding.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Slf4j
+public class X509CertificateCache implements MeterBinder {
+
+    /**
+     * The maximum number of parsed certificates to be cached.
+     */
+    @Value("${gla.rad.aton-service-client.certificates.cache.max-size:1000}")
+    long cacheMaxSize;
+
+    // Class Variables
+    Cache<String, CertificateInfo> cache;
+
+    /**
+     * The component post-construct operations where the certificate cache is
+     * initialised.
+     */
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(this.cacheMaxSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * When shutting down the application we need to make sure that all the
+     * cached certificates are released.
+     */
+    @PreDestroy
+    public void destroy() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Binds the certificate cache statistics to the provided meter registry
+     * so that they can be monitored through the actuator metrics.
+     *
+     * @param registry the meter registry
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, this.cache, "x509Certificates");
+    }
+
+    /**
+     * Returns the parsed certificate information for the provided X.509 PEM
+     * encoded string. The certificate will only be parsed the first time it
+     * is encountered, while all subsequent requests will be served from the
+     * cache. If the certificate cannot be decoded, an empty result will be
+     * returned.
+     *
+     * @param x509CertificatePem the X509 PEM encoded string
+     * @return the parsed certificate information
+     */
+    public Optional<CertificateInfo> getCertificateInfo(String x509CertificatePem) {
+        try {
+            // Remove the PEM headers and footers, and decode the base64-encoded content
+            final byte[] decoded = Base64.getDecoder().decode(x509CertificatePem
+                    .replace("-----BEGIN CERTIFICATE-----", "")
+                    .replace("-----END CERTIFICATE-----", "")
+                    .replaceAll("\\s+", ""));
+
+            // Look up the certificate using its fingerprint
+            return Optional.ofNullable(this.cache.get(this.fingerprint(decoded), fingerprint -> this.parse(decoded)));
+        } catch (Exception ex) {
+            log.warn("Unable to extract certificate information: {}", ex.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Computes the SHA-256 fingerprint of the provided DER encoded
+     * certificate as a hex string.
+     *
+     * @param decoded the DER encoded certificate
+     * @return the certificate fingerprint
+     * @throws NoSuchAlgorithmException if the SHA-256 algorithm is not available
+     */
+    protected String fingerprint(byte[] decoded) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(decoded));
+    }
+
+    /**
+     * Parses the provided DER encoded certificate and extracts its subject
+     * and issuer UIDs.
+     *
+     * @param decoded the DER encoded certificate
+     * @return the parsed certificate information, or null if parsing fails
+     */
+    protected CertificateInfo parse(byte[] decoded) {
+        try {
+            final X509Certificate certificate = (X509Certificate) CertificateFactory.getInstance("X.509")
+                    .generateCertificate(new ByteArrayInputStream(decoded));
+            return new CertificateInfo(certificate,
+                    X509Utils.extractUIDFromCertificate(certificate),
+                    X509Utils.extractIssuerUIDFromCertificate(certificate));
+        } catch (CertificateException ex) {
+            log.warn("Unable to parse certificate: {}", ex.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * The parsed certificate information.
+     *
+     * @param certificate the parsed X.509 certificate
+     * @param signedBy the certificate subject UID
+     * @param issuedBy the certificate issuer UID
+     */
+    public record CertificateInfo(X509Certificate certificate, String signedBy, String issuedBy) {
+    }
+
+}
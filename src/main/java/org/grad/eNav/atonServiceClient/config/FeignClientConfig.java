@@ -17,15 +17,17 @@
 package org.grad.eNav.atonServiceClient.config;
 
 import feign.RequestInterceptor;
+import org.grad.eNav.atonServiceClient.components.OAuth2TokenHolder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
-import org.springframework.security.authentication.AnonymousAuthenticationToken;
-import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.oauth2.client.*;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 
+import java.time.Duration;
+
 /**
  * The FeignClientConfig Class.
  * <p>
@@ -55,16 +57,22 @@ public class FeignClientConfig {
      * class to authorize our clients, as long as the configuration is found
      * in the application.properties file.
      *
+     * The clock skew of the client credentials grant matches the time the
+     * token holder refreshes the access tokens before their expiry, so that
+     * the proactive refreshes actually retrieve new tokens.
+     *
      * @param clientRegistrationRepository the client registration repository
      * @param clientService the OAuth2 authorized client service
+     * @param refreshBeforeExpiry how long before their expiry the access tokens are refreshed
      * @return the OAuth2 authorized client manager to authorize the feign requests
      */
     @Bean
     public OAuth2AuthorizedClientManager authorizedClientManager(ClientRegistrationRepository clientRegistrationRepository,
-                                                                 OAuth2AuthorizedClientService clientService) {
+                                                                 OAuth2AuthorizedClientService clientService,
+                                                                 @Value("${gla.rad.aton-service-client.feign.token.refresh-before-expiry:PT60S}") Duration refreshBeforeExpiry) {
         // First create an OAuth2 Authorized Client Provider
         OAuth2AuthorizedClientProvider authorizedClientProvider = OAuth2AuthorizedClientProviderBuilder.builder()
-                .clientCredentials()
+                .clientCredentials(clientCredentials -> clientCredentials.clockSkew(refreshBeforeExpiry))
                 .build();
 
         // Create a client manage to handle the Feign authorization
@@ -81,27 +89,17 @@ public class FeignClientConfig {
     }
 
     /**
-     * The Feign request interceptor that will inject the new authorization
-     * tokens. To generate those token, it will use the OAuth2AuthorizedClient
-     * manager defined above.
-     *
-     * To generate our token, we need a principal but our setup with service
-     * accounts in keycloak doesn't care about that. So in here we use an
-     * anonymous authentication token.
+     * The Feign request interceptor that will inject the authorization
+     * tokens. These are provided by the OAuth2 token holder, which caches
+     * the tokens generated through the OAuth2AuthorizedClient manager
+     * defined above and refreshes them before they expire.
      *
-     * @param manager the OAuth2 authorized client manager to authorize the feign requests
+     * @param tokenHolder the OAuth2 token holder to authorize the feign requests
      * @return the Feign request interceptor
      */
     @Bean
-    public RequestInterceptor repositoryClientOAuth2Interceptor(OAuth2AuthorizedClientManager manager) {
-        return requestTemplate -> {
-            OAuth2AuthorizedClient client = manager.authorize(OAuth2AuthorizeRequest
-                    .withClientRegistrationId("feign")
-                    .principal(new AnonymousAuthenticationToken("name", "aton-service-client", AuthorityUtils.createAuthorityList("ROLE_ACTUATOR")))
-                    .build());
-            String accessToken = client.getAccessToken().getTokenValue();
-            requestTemplate.header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
-        };
+    public RequestInterceptor repositoryClientOAuth2Interceptor(OAuth2TokenHolder tokenHolder) {
+        return requestTemplate -> requestTemplate.header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenHolder.getAccessToken());
     }
 
 }
@@ -15,32 +15,90 @@
 
 package org.grad.eNav.atonServiceClient.config;
 
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.grad.eNav.atonServiceClient.components.PubSubErrorHandler;
+import org.grad.eNav.atonServiceClient.utils.KeyOrderedPublishSubscribeChannel;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.integration.channel.PublishSubscribeChannel;
 import org.springframework.integration.config.EnableIntegration;
 
+import java.util.Optional;
+import java.util.concurrent.*;
+
 /**
  * The PubSubChannelConfig Class
  *
  * This class establishes a publish-subscribe channel when the internal
  * components of this application can exchange data messages. This will
  * be used to transfer the incoming radar data to various consumers.
+ * <p/>
+ * By default, the channel subscribers are dispatched on virtual threads,
+ * so that slow consumers do not hold up the publishers, while the messages
+ * of the same AtoN are still delivered to each subscriber in order. The
+ * dispatching can also be bounded to a fixed number of threads, or be
+ * performed synchronously on the publishing thread.
  *
  * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
  */
 @Configuration
 @EnableIntegration
+@Slf4j
 public class PubSubChannelConfig {
 
+    /**
+     * The dispatch mode of the publish-subscribe channel.
+     */
+    @Value("${gla.rad.aton-service-client.pubsub.dispatch-mode:VIRTUAL}")
+    DispatchMode dispatchMode;
+
+    /**
+     * The number of dispatch threads in the bounded dispatch mode.
+     */
+    @Value("${gla.rad.aton-service-client.pubsub.dispatch.threads:4}")
+    int dispatchThreads;
+
+    /**
+     * The maximum number of deliveries waiting to be dispatched in the
+     * bounded dispatch mode, after which the publishers will wait. This
+     * bounds the deliveries of all subscribers together, and also sizes the
+     * dispatch queue, so that the dispatch threads never reject any tasks.
+     */
+    @Value("${gla.rad.aton-service-client.pubsub.dispatch.queue-capacity:1000}")
+    int dispatchQueueCapacity;
+
     /**
      * The Pub-Sub Error Handler.
      */
     @Autowired
     PubSubErrorHandler pubSubErrorHandler;
 
+    // Class Variables
+    ExecutorService dispatchExecutor;
+
+    /**
+     * When shutting down the application we need to make sure that all
+     * pending deliveries have been dispatched and the threads have been
+     * gracefully shutdown as well.
+     */
+    @PreDestroy
+    public void destroy() {
+        Optional.ofNullable(this.dispatchExecutor).ifPresent(executor -> {
+            executor.shutdown();
+            try {
+                if(!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException ex) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
     /**
      * Defining a publication publish-subscribe Spring Integration channel to
      * exchange the incoming S-125 and data between the application components.
@@ -49,9 +107,46 @@ public class PubSubChannelConfig {
      */
     @Bean
     public PublishSubscribeChannel publishSubscribeChannel() {
-        PublishSubscribeChannel pubsubChannel = new PublishSubscribeChannel();
+        log.info("Publish-subscribe channel dispatch mode: {}", this.dispatchMode);
+        this.dispatchExecutor = switch (this.dispatchMode) {
+            case SYNC -> null;
+            case VIRTUAL -> Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pubsub-dispatch-", 0).factory());
+            case BOUNDED -> new ThreadPoolExecutor(
+                    this.dispatchThreads,
+                    this.dispatchThreads,
+                    0L,
+                    TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(this.dispatchQueueCapacity),
+                    Thread.ofVirtual().name("pubsub-dispatch-", 0).factory());
+        };
+
+        // Create the channel, bounding the pending deliveries of all
+        // subscribers to the dispatch queue capacity when required
+        PublishSubscribeChannel pubsubChannel = switch (this.dispatchMode) {
+            case SYNC -> new PublishSubscribeChannel();
+            case VIRTUAL -> new KeyOrderedPublishSubscribeChannel(this.dispatchExecutor, this.pubSubErrorHandler);
+            case BOUNDED -> new KeyOrderedPublishSubscribeChannel(this.dispatchExecutor, this.dispatchQueueCapacity, this.pubSubErrorHandler);
+        };
         pubsubChannel.setErrorHandler(this.pubSubErrorHandler);
         return pubsubChannel;
     }
 
+    /**
+     * The dispatch modes of the publish-subscribe channel.
+     */
+    public enum DispatchMode {
+        /**
+         * The subscribers are dispatched on the publishing thread.
+         */
+        SYNC,
+        /**
+         * The subscribers are dispatched on a new virtual thread per delivery.
+         */
+        VIRTUAL,
+        /**
+         * The subscribers are dispatched on a bounded number of threads.
+         */
+        BOUNDED
+    }
+
 }
@@ -14,23 +14,46 @@
  */
 package org.grad.eNav.atonServiceClient.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.apache.logging.log4j.util.Strings;
+import org.grad.eNav.atonServiceClient.components.WebSocketBacklogInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.time.Duration;
 
 /**
  * The WebSocketConfig Class
  *
  * This configuration class sets up the WebSocket for this app where remote
  * clients can monitor the incoming AtoN data.
+ * <p/>
+ * By default, the destinations are served by the simple in-JVM broker, so
+ * each instance can only reach the browsers connected to itself. For
+ * deployments of multiple instances behind a load balancer, the broker
+ * relay mode forwards the destinations to an external STOMP broker (e.g.
+ * RabbitMQ or ActiveMQ), which fans out the updates published by any
+ * instance to all the connected browsers.
+ * <p/>
+ * The outbound frames are sent to the browsers through a bounded thread
+ * pool, while the web-socket transport limits make sure that sessions which
+ * cannot keep up (e.g. on poor ship links) are terminated instead of
+ * stalling the delivery to everyone else. Alternatively, their pending AtoN
+ * updates can be conflated (see {@link WebSocketBacklogInterceptor}).
  *
  * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
  */
 @Configuration
 @EnableWebSocketMessageBroker
+@Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     /**
@@ -45,15 +68,152 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Value("${gla.rad.aton-service-client.web-socket.prefix:topic}")
     private String prefix;
 
+    /**
+     * The Message Broker Mode
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.broker.mode:SIMPLE}")
+    private BrokerMode brokerMode;
+
+    /**
+     * The External STOMP Broker Host
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.broker.relay.host:localhost}")
+    private String relayHost;
+
+    /**
+     * The External STOMP Broker Port
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.broker.relay.port:61613}")
+    private int relayPort;
+
+    /**
+     * The External STOMP Broker Virtual Host
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    /**
+     * The External STOMP Broker Client Login
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.broker.relay.client-login:guest}")
+    private String relayClientLogin;
+
+    /**
+     * The External STOMP Broker Client Passcode
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.broker.relay.client-passcode:guest}")
+    private String relayClientPasscode;
+
+    /**
+     * The External STOMP Broker System Login
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.broker.relay.system-login:guest}")
+    private String relaySystemLogin;
+
+    /**
+     * The External STOMP Broker System Passcode
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.broker.relay.system-passcode:guest}")
+    private String relaySystemPasscode;
+
+    /**
+     * The External STOMP Broker System Heartbeat Interval in Milliseconds
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.broker.relay.system-heartbeat:10000}")
+    private long relaySystemHeartbeat;
+
+    /**
+     * The Maximum Time Allowed for Sending a Frame to a Session
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.transport.send-time-limit:PT10S}")
+    private Duration sendTimeLimit;
+
+    /**
+     * The Maximum Number of Bytes Buffered for Sending to a Session
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    /**
+     * The Maximum Size of the Incoming Messages
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    /**
+     * The Number of Client Outbound Channel Threads
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.outbound.threads:8}")
+    private int outboundThreads;
+
+    /**
+     * The Maximum Number of Frames Queued on the Client Outbound Channel
+     */
+    @Value("${gla.rad.aton-service-client.web-socket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    /**
+     * The Web-Socket Backlog Interceptor.
+     */
+    @Autowired
+    WebSocketBacklogInterceptor webSocketBacklogInterceptor;
+
     /**
      * This function implements the basic registration for our WebSocket message
-     * broker. It basically set's the destination prefix and all endpoints.
+     * broker. It basically set's the destination prefix and all endpoints,
+     * either on the simple in-JVM broker or the external STOMP broker relay.
      *
      * @param config    The message broker configuration
      */
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/"+ this.prefix);
+        log.info("WebSocket message broker mode: {}", this.brokerMode);
+        if(this.brokerMode == BrokerMode.RELAY) {
+            final StompBrokerRelayRegistration relay = config.enableStompBrokerRelay("/"+ this.prefix)
+                    .setRelayHost(this.relayHost)
+                    .setRelayPort(this.relayPort)
+                    .setClientLogin(this.relayClientLogin)
+                    .setClientPasscode(this.relayClientPasscode)
+                    .setSystemLogin(this.relaySystemLogin)
+                    .setSystemPasscode(this.relaySystemPasscode)
+                    .setSystemHeartbeatSendInterval(this.relaySystemHeartbeat)
+                    .setSystemHeartbeatReceiveInterval(this.relaySystemHeartbeat);
+            if(Strings.isNotBlank(this.relayVirtualHost)) {
+                relay.setVirtualHost(this.relayVirtualHost);
+            }
+        } else {
+            config.enableSimpleBroker("/"+ this.prefix);
+        }
+    }
+
+    /**
+     * Configures the web-socket transport limits, so that the sessions that
+     * cannot keep up with their outbound frames are terminated, alongside
+     * the handler decoration tracking the per-session send buffers.
+     *
+     * @param registration  The web-socket transport registration
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit((int) this.sendTimeLimit.toMillis())
+                .setSendBufferSizeLimit(this.sendBufferSizeLimit)
+                .setMessageSizeLimit(this.messageSizeLimit)
+                .addDecoratorFactory(this.webSocketBacklogInterceptor);
+    }
+
+    /**
+     * Configures the bounded client outbound channel executor, alongside the
+     * interceptor tracking the per-session backlogs.
+     *
+     * @param registration  The client outbound channel registration
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(this.outboundThreads)
+                .maxPoolSize(this.outboundThreads)
+                .queueCapacity(this.outboundQueueCapacity);
+        registration.interceptors(this.webSocketBacklogInterceptor);
     }
 
     /**
@@ -69,4 +229,18 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .withSockJS();
     }
 
+    /**
+     * The WebSocket message broker modes.
+     */
+    public enum BrokerMode {
+        /**
+         * The destinations are served by the simple in-JVM broker.
+         */
+        SIMPLE,
+        /**
+         * The destinations are relayed to an external STOMP broker.
+         */
+        RELAY
+    }
+
 }
@@ -15,12 +15,13 @@
 
 package org.grad.eNav.atonServiceClient.controllers;
 
-import _int.iho.s_125.gml.cs0._1.AidsToNavigationType;
 import jakarta.xml.bind.JAXBException;
 import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.atonServiceClient.components.AtonWebSocketPublisher;
+import org.grad.eNav.atonServiceClient.components.S125DatasetReader;
+import org.grad.eNav.atonServiceClient.models.domain.SignedDatasetContent;
 import org.grad.eNav.atonServiceClient.services.SecomService;
 import org.grad.eNav.atonServiceClient.utils.AtonTypeConverter;
-import org.grad.eNav.s125.utils.S125Utils;
 import org.grad.secomv2.core.models.SummaryObject;
 import org.grad.secomv2.core.models.enums.SECOM_DataProductType;
 import org.grad.secomv2.core.models.ServiceInstanceObject;
@@ -33,6 +34,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * The REST Controller for managing SECOM Services registered on the MSR.
@@ -56,6 +58,18 @@ public class SecomServiceController {
     @Autowired
     SecomService secomService;
 
+    /**
+     * The S-125 Dataset Reader.
+     */
+    @Autowired
+    S125DatasetReader s125DatasetReader;
+
+    /**
+     * The AtoN Web-Socket Publisher.
+     */
+    @Autowired
+    AtonWebSocketPublisher atonWebSocketPublisher;
+
     /**
      * GET /api/secom_service: Retrieves a list of all suitable SECOM services
      * based on a data product type that have been registered into the associated
@@ -86,7 +100,10 @@ public class SecomServiceController {
     /**
      * GET /api/aton_service/{mrn}/data: Retrieves the content of all
      * selected S-125 datasets from the S-125 AtoN service defined by the
-     * provided MRN.
+     * provided MRN. For unpaged requests the remote pages are retrieved
+     * in order while the next ones are prefetched concurrently, and each
+     * dataset is published through the web-socket as soon as its page
+     * arrives.
      *
      * @param mrn  the MRN of the service to retrieve the datasets for
      * @param dataReference the object data reference
@@ -117,59 +134,50 @@ public class SecomServiceController {
         // For S-125 handle separately
         if (dataProductType == SECOM_DataProductType.S125) {
             // Retrieve the S-125 Aton Information and pass it down through the websocket
-            this.secomService.getServiceDatasetContent(mrn,
-                            dataReference,
-                            dataProductType,
-                            productVersion,
-                            geometry,
-                            unlocode,
-                            validFrom,
-                            validTo,
-                            Optional.ofNullable(pageable).orElse(Pageable.unpaged()))
-                    .stream()
-                    .forEach(signedDatasetContent -> {
-                        try {
-                            S125Utils.getDatasetMembers(signedDatasetContent.getContentAsString())
-                                    .stream()
-                                    .filter(AidsToNavigationType.class::isInstance)
-                                    .map(AidsToNavigationType.class::cast)
-                                    .forEach(aton -> {
-                                        webSocketHeaders.put("signed-by", signedDatasetContent.getSignedBy());
-                                        webSocketHeaders.put("issued-by", signedDatasetContent.getIssuedBy());
-                                        webSocketHeaders.put("aton-type", AtonTypeConverter.convertToSeamarkType(Arrays.asList(aton.getClass().getInterfaces()).getLast()));
-                                        this.webSocket.convertAndSend(
-                                                "/topic/secom/subscription/update",
-                                                aton,
-                                                webSocketHeaders
-                                        );
-                                    });
-                        } catch (JAXBException ex) {
-                            log.error(ex.getErrorCode(), ex);
-                        }
-                    });
+            try (Stream<SignedDatasetContent> contents = this.secomService.streamServiceDatasetContent(mrn,
+                    dataReference,
+                    dataProductType,
+                    productVersion,
+                    geometry,
+                    unlocode,
+                    validFrom,
+                    validTo,
+                    Optional.ofNullable(pageable).orElse(Pageable.unpaged()))) {
+                contents.forEach(signedDatasetContent -> {
+                    webSocketHeaders.put("signed-by", signedDatasetContent.getSignedBy());
+                    webSocketHeaders.put("issued-by", signedDatasetContent.getIssuedBy());
+                    try (AtonWebSocketPublisher.Batch batch = this.atonWebSocketPublisher.openBatch("/topic/secom/subscription/update", webSocketHeaders)) {
+                        this.s125DatasetReader.readAidsToNavigation(signedDatasetContent.getContent(), aton ->
+                                batch.add(AtonTypeConverter.convertToSeamarkType(aton.getClass()), aton)
+                        );
+                    } catch (JAXBException ex) {
+                        log.error(ex.getErrorCode(), ex);
+                    }
+                });
+            }
         }
         // For everything else return the XML
         else {
             // Retrieve the S-125 Aton Information and pass it down through the websocket
-            this.secomService.getServiceDatasetContent(mrn,
-                                                       dataReference,
-                                                       dataProductType,
-                                                       productVersion,
-                                                       geometry,
-                                                       unlocode,
-                                                       validFrom,
-                                                       validTo,
-                                                       Optional.ofNullable(pageable).orElse(Pageable.unpaged()))
-                    .stream()
-                    .forEach(signedDatasetContent -> {
-                        webSocketHeaders.put("signed-by", signedDatasetContent.getSignedBy());
-                        webSocketHeaders.put("issued-by", signedDatasetContent.getIssuedBy());
-                        this.webSocket.convertAndSend(
-                                "/topic/secom/subscription/update",
-                                signedDatasetContent.getContentAsString(),
-                                webSocketHeaders
-                        );
-                    });
+            try (Stream<SignedDatasetContent> contents = this.secomService.streamServiceDatasetContent(mrn,
+                    dataReference,
+                    dataProductType,
+                    productVersion,
+                    geometry,
+                    unlocode,
+                    validFrom,
+                    validTo,
+                    Optional.ofNullable(pageable).orElse(Pageable.unpaged()))) {
+                contents.forEach(signedDatasetContent -> {
+                    webSocketHeaders.put("signed-by", signedDatasetContent.getSignedBy());
+                    webSocketHeaders.put("issued-by", signedDatasetContent.getIssuedBy());
+                    this.webSocket.convertAndSend(
+                            "/topic/secom/subscription/update",
+                            signedDatasetContent.getContentAsString(),
+                            webSocketHeaders
+                    );
+                });
+            }
         }
 
         // Also send a success response
@@ -17,13 +17,16 @@ package org.grad.eNav.atonServiceClient.controllers.secom;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.atonServiceClient.components.AtonWebSocketPublisher;
 import org.grad.eNav.atonServiceClient.services.SubscriptionService;
+import org.grad.eNav.atonServiceClient.utils.KeyOrderedPublishSubscribeChannel;
 import org.grad.secomv2.core.interfaces.SubscriptionNotificationServiceInterface;
 import org.grad.secomv2.core.models.*;
 import org.grad.secomv2.core.models.enums.SubscriptionEventEnum;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.integration.channel.PublishSubscribeChannel;
+import org.springframework.integration.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
@@ -35,10 +38,10 @@ import jakarta.validation.Valid;
 public class SubscriptionNotificationSecomController implements SubscriptionNotificationServiceInterface {
 
     /**
-     * Attach the web-socket as a simple messaging template
+     * The Publish-Subscribe Channel.
      */
     @Autowired
-    SimpMessagingTemplate webSocket;
+    PublishSubscribeChannel publishSubscribeChannel;
 
     /**
      * The Subscription Service.
@@ -74,11 +77,13 @@ public class SubscriptionNotificationSecomController implements SubscriptionNoti
             ));
         }
 
-        // Send the subscription notification to the web-socket
-        this.webSocket.convertAndSend(
-                "/topic/secom/subscription/" + (envelopeSubscriptionNotificationObject.getEventEnum() == SubscriptionEventEnum.SUBSCRIPTION_CREATED ? "created" : "removed"),
-                envelopeSubscriptionNotificationObject.getSubscriptionIdentifier()
-        );
+        // Send the subscription notification to the web-socket through the channel
+        this.publishSubscribeChannel.send(MessageBuilder
+                .withPayload(envelopeSubscriptionNotificationObject.getSubscriptionIdentifier())
+                .setHeader(AtonWebSocketPublisher.DESTINATION_HEADER,
+                        "/topic/secom/subscription/" + (envelopeSubscriptionNotificationObject.getEventEnum() == SubscriptionEventEnum.SUBSCRIPTION_CREATED ? "created" : "removed"))
+                .setHeader(KeyOrderedPublishSubscribeChannel.ORDERING_KEY_HEADER, envelopeSubscriptionNotificationObject.getSubscriptionIdentifier())
+                .build());
 
         // Return the response
         return ResponseEntity.ok(subscriptionNotificationResponseObject);
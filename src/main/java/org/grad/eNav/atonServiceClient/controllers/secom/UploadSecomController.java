@@ -15,41 +15,21 @@
 
 package org.grad.eNav.atonServiceClient.controllers.secom;
 
-import _int.iho.s_125.gml.cs0._1.AidsToNavigationType;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.annotation.PostConstruct;
 import jakarta.validation.Valid;
-import jakarta.xml.bind.JAXBException;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.logging.log4j.util.Strings;
-import org.grad.eNav.atonServiceClient.utils.AtonTypeConverter;
-import org.grad.eNav.atonServiceClient.utils.X509Utils;
-import org.grad.eNav.s125.utils.S125Utils;
+import org.grad.eNav.atonServiceClient.services.UploadIngestionService;
 import org.grad.secomv2.core.interfaces.UploadServiceInterface;
-import org.grad.secomv2.core.models.*;
-import org.grad.secomv2.core.models.enums.AckRequestEnum;
-import org.grad.secomv2.core.models.enums.AckTypeEnum;
+import org.grad.secomv2.core.models.EnvelopeUploadObject;
+import org.grad.secomv2.core.models.UploadObject;
+import org.grad.secomv2.core.models.UploadResponseObject;
 import org.grad.secomv2.core.models.enums.SECOM_ResponseCodeEnum;
-import org.grad.secomv2.springboot4.components.SecomClient;
-import org.grad.secomv2.springboot4.components.SecomConfigProperties;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
-import java.io.IOException;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
-import java.security.KeyStoreException;
-import java.security.NoSuchAlgorithmException;
-import java.security.UnrecoverableKeyException;
-import java.security.cert.CertificateException;
-import java.time.Instant;
-import java.util.*;
-
-import static java.util.function.Predicate.not;
+import java.util.Optional;
 
 @Component
 @Validated
@@ -57,43 +37,16 @@ import static java.util.function.Predicate.not;
 public class UploadSecomController implements UploadServiceInterface {
 
     /**
-     * The SECOM Service URL to subscribe to.
-     */
-    @Value("${gla.rad.aton-service-client.secom.serviceIUrl:}")
-    private String secomServiceUrl;
-
-    /**
-     * Attach the web-socket as a simple messaging template
-     */
-    @Autowired
-    SimpMessagingTemplate webSocket;
-
-    /**
-     * The SECOM Configuration properties.
+     * The Upload Ingestion Service.
      */
     @Autowired
-    SecomConfigProperties secomConfigProperties;
-
-    // Class Variables
-    SecomClient secomClient;
-
-    /**
-     * The initialisation operation of the controller in order to setup a
-     * SECOM client that can respond with acknowledgements.
-     */
-    @PostConstruct
-    void init() throws IOException, UnrecoverableKeyException, CertificateException, KeyStoreException, NoSuchAlgorithmException {
-        if(Strings.isNotBlank(this.secomServiceUrl)) {
-            this.secomClient = new SecomClient(
-                    new URL(this.secomServiceUrl),
-                    this.secomConfigProperties
-            );
-        }
-    }
+    UploadIngestionService uploadIngestionService;
 
     /**
      * POST /api/secom/v2/object : Accepts the incoming AtoN Service data in
-     * a SECOM-compliant S-125 format.
+     * a SECOM-compliant S-125 format. The envelope is validated and the
+     * response is returned immediately, while the actual dataset ingestion
+     * takes place in the background.
      *
      * @param uploadObject the upload object
      * @return the upload response object
@@ -106,76 +59,19 @@ public class UploadSecomController implements UploadServiceInterface {
         // Initialise the response
         UploadResponseObject uploadResponseObject = new UploadResponseObject();
 
-        // Get the upload object data
-        String data = new String(uploadObject.getEnvelope().getData(), StandardCharsets.UTF_8);
-
-        // Create publication headers
-        final Map<String, Object> webSocketHeaders = new HashMap<>();
-        Optional.of(uploadObject)
+        // Make sure the envelope actually contains some data
+        final boolean hasData = Optional.of(uploadObject)
                 .map(UploadObject::getEnvelope)
-                .map(EnvelopeUploadObject::getDataProductType)
-                .ifPresent(dataProductType -> webSocketHeaders.put("dataProductType", dataProductType));
-        Optional.of(uploadObject)
-                .map(UploadObject::getEnvelope)
-                .map(EnvelopeUploadObject::getExchangeMetadata)
-                .map(ExchangeMetadata::getDigitalSignatureValue)
-                .map(DigitalSignatureValueObject::getPublicCertificate)
-                .stream()
-                .flatMap(Arrays::stream)
-                .forEach(cert -> {
-                    Optional.of(cert)
-                            .map(X509Utils::extractFromCertificatePem)
-                            .map(X509Utils::extractUIDFromCertificate)
-                            .ifPresent(signedBy -> webSocketHeaders.put("signed-by", signedBy));
-                });
-        Optional.of(uploadObject)
-                .map(UploadObject::getEnvelope)
-                .map(EnvelopeUploadObject::getExchangeMetadata)
-                .map(ExchangeMetadata::getDigitalSignatureValue)
-                .map(DigitalSignatureValueObject::getPublicCertificate)
-                .stream()
-                .flatMap(Arrays::stream)
-                .forEach(cert -> {
-                    Optional.of(cert)
-                            .map(X509Utils::extractFromCertificatePem)
-                            .map(X509Utils::extractUIDFromCertificate)
-                            .ifPresent(signedBy -> webSocketHeaders.put("issued-by", signedBy));
-                });
-
-        // Decode the data and down the web-socket
-        try {
-            S125Utils.getDatasetMembers(data)
-                    .stream()
-                    .filter(AidsToNavigationType.class::isInstance)
-                    .map(AidsToNavigationType.class::cast)
-                    .forEach(aton -> {
-                        webSocketHeaders.put("aton-type", AtonTypeConverter.convertToSeamarkType(Arrays.asList(aton.getClass().getInterfaces()).getLast()));
-                        this.webSocket.convertAndSend(
-                                "/topic/secom/subscription/update",
-                                aton,
-                                webSocketHeaders
-                        );
-                    });
-
-            // Now generate an acknowledgement to be sent back if required
-            if(this.secomClient != null) {
-                Optional.of(uploadObject)
-                        .map(UploadObject::getEnvelope)
-                        .map(EnvelopeUploadObject::getAckRequest)
-                        .filter(not(AckRequestEnum.NO_ACK_REQUESTED::equals))
-                        .ifPresent(ackType -> {
-                            final AcknowledgementObject acknowledgementObject = new AcknowledgementObject();
-                            final EnvelopeAckObject envelopeAckObject = new EnvelopeAckObject();
-                            envelopeAckObject.setCreatedAt(Instant.now());
-                            envelopeAckObject.setTransactionIdentifier(uploadObject.getEnvelope().getTransactionIdentifier());
-                            envelopeAckObject.setAckType(AckTypeEnum.DELIVERED_ACK);
-                            acknowledgementObject.setEnvelope(envelopeAckObject);
-                            this.secomClient.acknowledgement(acknowledgementObject);
-                        });
-            }
-        } catch (JAXBException ex) {
+                .map(EnvelopeUploadObject::getData)
+                .filter(data -> data.length > 0)
+                .isPresent();
+
+        // Hand the data over to the ingestion pipeline
+        if(hasData) {
+            this.uploadIngestionService.ingest(uploadObject);
+        } else {
             uploadResponseObject.setSECOM_ResponseCode(SECOM_ResponseCodeEnum.SCHEMA_VALIDATION_ERROR);
-            uploadResponseObject.setMessage("Unable to validate the provided S-125 XML schema.");
+            uploadResponseObject.setMessage("No S-125 data provided in the upload envelope.");
         }
 
         // Return the response
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.models.dtos;
+
+import org.grad.eNav.atonServiceClient.utils.GeometryJSONSerializer;
+import org.locationtech.jts.geom.Geometry;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The AtoN Feature DTO.
+ * <p/>
+ * A compact GeoJSON Feature representation of an S-125 AtoN, including only
+ * its geometry, in longitude/latitude order, and the properties required to
+ * display it on the map.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class AtonFeatureDto implements Serializable {
+
+    // Class Variables
+    private String id;
+    @JsonSerialize(using = GeometryJSONSerializer.class)
+    private Geometry geometry;
+    private Map<String, Object> properties = new LinkedHashMap<>();
+
+    /**
+     * Gets the GeoJSON type.
+     *
+     * @return the GeoJSON type
+     */
+    public String getType() {
+        return "Feature";
+    }
+
+    /**
+     * Gets id.
+     *
+     * @return the id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Sets id.
+     *
+     * @param id the id
+     */
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets geometry.
+     *
+     * @return the geometry
+     */
+    public Geometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Sets geometry.
+     *
+     * @param geometry the geometry
+     */
+    public void setGeometry(Geometry geometry) {
+        this.geometry = geometry;
+    }
+
+    /**
+     * Gets properties.
+     *
+     * @return the properties
+     */
+    public Map<String, Object> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Sets properties.
+     *
+     * @param properties the properties
+     */
+    public void setProperties(Map<String, Object> properties) {
+        this.properties = properties;
+    }
+
+}
@@ -15,22 +15,33 @@
 
 package org.grad.eNav.atonServiceClient.services;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import jakarta.validation.constraints.NotNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.grad.eNav.atonServiceClient.components.SecomClientFactory;
+import org.grad.eNav.atonServiceClient.components.X509CertificateCache;
 import org.grad.eNav.atonServiceClient.models.domain.SignedDatasetContent;
-import org.grad.eNav.atonServiceClient.utils.X509Utils;
+import org.grad.eNav.atonServiceClient.utils.SingleFlight;
 import org.grad.secomv2.core.exceptions.SecomNotFoundException;
 import org.grad.secomv2.core.exceptions.SecomValidationException;
 import org.grad.secomv2.core.models.*;
 import org.grad.secomv2.core.models.enums.ContainerTypeEnum;
 import org.grad.secomv2.core.models.enums.SECOM_DataProductType;
 import org.grad.secomv2.springboot4.components.SecomClient;
-import org.grad.secomv2.springboot4.components.SecomConfigProperties;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
@@ -41,8 +52,21 @@ import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.function.Predicate.not;
 
@@ -52,17 +76,26 @@ import static java.util.function.Predicate.not;
  * This class implements all the basic SECOM operations. In the case fot he
  * AtoN Service Client these are mainly related to the subscription operation
  * for the S-125 AtoN data.
+ * <p/>
+ * Since the discovery of a SECOM service and the construction of its client
+ * are fairly expensive operations, the discovered clients are cached per MRN
+ * for a configurable amount of time. In addition, concurrent identical
+ * summary and content requests towards the same service are coalesced into
+ * a single upstream call, the decoded result of which is shared between all
+ * the waiting callers.
+ * <p/>
+ * The content of individually referenced datasets is also cached locally,
+ * once per dataset, and the pages requested are sliced out of the cached
+ * content. The cached payloads are validated against the last-updated and
+ * version metadata reported by the SECOM summary interface, so that
+ * repeated requests for unchanged datasets, whatever the page requested,
+ * do not require any content transfers.
  *
  * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
  */
 @Service
 @Slf4j
-public class SecomService {
-
-    /**
-     * The maximum number of results for unpaged discovery searches
-     */
-    public static int MAX_UNPAGED_RESULTS_NO = 1000;
+public class SecomService implements MeterBinder {
 
     /**
      * The Service Registry URL.
@@ -71,13 +104,90 @@ public class SecomService {
     String discoveryServiceUrl;
 
     /**
-     * The SECOM Configuration Properties.
+     * The time-to-live of the cached discovered SECOM clients.
+     */
+    @Value("${gla.rad.aton-service-client.secom.client-cache.ttl:PT5M}")
+    Duration clientCacheTtl;
+
+    /**
+     * The maximum number of cached discovered SECOM clients.
+     */
+    @Value("${gla.rad.aton-service-client.secom.client-cache.max-size:100}")
+    long clientCacheMaxSize;
+
+    /**
+     * The interval at which the cached discovered service registrations are
+     * refreshed in the background.
+     */
+    @Value("${gla.rad.aton-service-client.secom.discovery-cache.refresh-interval:PT5M}")
+    Duration discoveryCacheRefreshInterval;
+
+    /**
+     * The keywords of the service registrations to be discovered in advance.
+     */
+    @Value("${gla.rad.aton-service-client.secom.discovery-cache.keywords:s-125}")
+    String[] discoveryCacheKeywords;
+
+    /**
+     * The maximum number of cached discovered service registration searches.
+     */
+    @Value("${gla.rad.aton-service-client.secom.discovery-cache.max-size:50}")
+    long discoveryCacheMaxSize;
+
+    /**
+     * The time-to-live of the cached dataset contents.
+     */
+    @Value("${gla.rad.aton-service-client.secom.dataset-cache.ttl:PT1H}")
+    Duration datasetCacheTtl;
+
+    /**
+     * The maximum number of cached dataset contents.
+     */
+    @Value("${gla.rad.aton-service-client.secom.dataset-cache.max-size:100}")
+    long datasetCacheMaxSize;
+
+    /**
+     * The page size used when automatically paginating or streaming unpaged
+     * requests.
+     */
+    @Value("${gla.rad.aton-service-client.secom.pagination.page-size:100}")
+    int paginationPageSize;
+
+    /**
+     * The maximum number of pages fetched concurrently for a single unpaged
+     * request.
+     */
+    @Value("${gla.rad.aton-service-client.secom.pagination.parallelism:4}")
+    int paginationParallelism;
+
+    /**
+     * The maximum number of results retrieved for a single unpaged request.
+     */
+    @Value("${gla.rad.aton-service-client.secom.pagination.max-results:10000}")
+    int paginationMaxResults;
+
+    /**
+     * The SECOM Client Factory.
      */
     @Autowired
-    SecomConfigProperties secomConfigProperties;
+    SecomClientFactory secomClientFactory;
+
+    /**
+     * The X.509 Certificate Cache.
+     */
+    @Autowired
+    X509CertificateCache x509CertificateCache;
 
     // Class Variables
     SecomClient discoveryService;
+    LoadingCache<String, DiscoveredSecomClient> clientCache;
+    final SingleFlight<SecomRequestKey, List<SummaryObject>> summaryRequests = new SingleFlight<>();
+    final SingleFlight<SecomRequestKey, List<SignedDatasetContent>> contentRequests = new SingleFlight<>();
+    Cache<DatasetReference, CachedDatasetContent> datasetCache;
+    Cache<DatasetReference, DatasetMetadata> datasetMetadata;
+    ExecutorService paginationExecutor;
+    Cache<String, List<ServiceInstanceObject>> discoveryCache;
+    ScheduledExecutorService discoveryScheduler;
     private SearchResult searchObjectResult;
     private ResponseSearchObject responseSearchObject;
 
@@ -100,7 +210,7 @@ public class SecomService {
                 })
                 .map(url -> {
                     try {
-                        return new SecomClient(url, this.secomConfigProperties);
+                        return this.secomClientFactory.getClient(url);
                     } catch (IOException | KeyStoreException |
                              NoSuchAlgorithmException | CertificateException |
                              UnrecoverableKeyException ex) {
@@ -109,6 +219,60 @@ public class SecomService {
                     }
                 })
                 .orElse(null);
+
+        // Initialise the discovered SECOM clients cache. Entries are refreshed
+        // half-way through their lifetime so that any change in the registered
+        // endpoint URI or version is picked up without blocking the callers.
+        // The shared clients are not released here, since other MRNs may be
+        // registered on the same endpoint, but expire from the factory once
+        // no longer in use.
+        this.clientCache = Caffeine.newBuilder()
+                .maximumSize(this.clientCacheMaxSize)
+                .expireAfterWrite(this.clientCacheTtl)
+                .refreshAfterWrite(this.clientCacheTtl.dividedBy(2))
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public DiscoveredSecomClient load(String mrn) {
+                        return discoverClient(mrn, null);
+                    }
+
+                    @Override
+                    public DiscoveredSecomClient reload(String mrn, DiscoveredSecomClient previous) {
+                        return discoverClient(mrn, previous);
+                    }
+                });
+
+        // Initialise the dataset content cache, alongside the latest dataset
+        // metadata reported by the summary interface used to validate it
+        this.datasetCache = Caffeine.newBuilder()
+                .maximumSize(this.datasetCacheMaxSize)
+                .expireAfterWrite(this.datasetCacheTtl)
+                .recordStats()
+                .build();
+        this.datasetMetadata = Caffeine.newBuilder()
+                .maximumSize(this.datasetCacheMaxSize)
+                .expireAfterWrite(this.datasetCacheTtl)
+                .build();
+
+        // Initialise the executor used to fetch the remaining pages of the
+        // unpaged requests concurrently
+        this.paginationExecutor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("secom-pagination-", 0).factory());
+
+        // Initialise the discovered service registrations cache, and refresh
+        // it in the background so that the registrations are always served
+        // from memory. The first refresh waits for a full interval, so that
+        // the start-up does not contact the discovery service, and until
+        // then the registrations are loaded on their first search.
+        this.discoveryCache = Caffeine.newBuilder()
+                .maximumSize(this.discoveryCacheMaxSize)
+                .recordStats()
+                .build();
+        this.discoveryScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("secom-discovery-refresh").factory());
+        this.discoveryScheduler.scheduleWithFixedDelay(this::refreshRegisteredServices,
+                this.discoveryCacheRefreshInterval.toMillis(), this.discoveryCacheRefreshInterval.toMillis(), TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -118,9 +282,45 @@ public class SecomService {
     @PreDestroy
     public void destroy() {
         log.info("SECOM Service is shutting down...");
+        Optional.ofNullable(this.clientCache).ifPresent(LoadingCache::invalidateAll);
+        Optional.ofNullable(this.datasetCache).ifPresent(Cache::invalidateAll);
+        Optional.ofNullable(this.datasetMetadata).ifPresent(Cache::invalidateAll);
+        Optional.ofNullable(this.paginationExecutor).ifPresent(ExecutorService::shutdownNow);
+        Optional.ofNullable(this.discoveryScheduler).ifPresent(ExecutorService::shutdownNow);
+        Optional.ofNullable(this.discoveryCache).ifPresent(Cache::invalidateAll);
         this.discoveryService = null;
     }
 
+    /**
+     * Registers the discovered SECOM clients cache statistics (i.e. hits,
+     * misses and evictions) with the provided meter registry so that they
+     * are available through the actuator metrics endpoint.
+     *
+     * @param registry the meter registry to bind the cache metrics to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, this.clientCache, "secomClients");
+        CaffeineCacheMetrics.monitor(registry, this.datasetCache, "secomDatasets");
+        CaffeineCacheMetrics.monitor(registry, this.discoveryCache, "secomDiscovery");
+        FunctionCounter.builder("secom.requests.coalesced", this.summaryRequests, SingleFlight::getCoalescedCount)
+                .description("The number of SECOM requests served by an identical request already in progress")
+                .tag("operation", "summary")
+                .register(registry);
+        FunctionCounter.builder("secom.requests.coalesced", this.contentRequests, SingleFlight::getCoalescedCount)
+                .description("The number of SECOM requests served by an identical request already in progress")
+                .tag("operation", "get")
+                .register(registry);
+        Gauge.builder("secom.requests.in-flight", this.summaryRequests, SingleFlight::getInFlightCount)
+                .description("The number of distinct SECOM requests currently in progress")
+                .tag("operation", "summary")
+                .register(registry);
+        Gauge.builder("secom.requests.in-flight", this.contentRequests, SingleFlight::getInFlightCount)
+                .description("The number of distinct SECOM requests currently in progress")
+                .tag("operation", "get")
+                .register(registry);
+    }
+
     /**
      * Based on an MRN provided, this function will contact the SECOM discovery
      * service (in this case it's the MCP MSR) and request the client endpoint
@@ -141,6 +341,34 @@ public class SecomService {
                 .filter(Objects::nonNull)
                 .orElseThrow(() -> new SecomValidationException("Subscription request found for S-125 dataset updates but no connection to service registry"));
 
+        // Retrieve the client from the cache, discovering it if required
+        return this.clientCache.get(mrn).client();
+    }
+
+    /**
+     * Evicts the cached SECOM client of the provided MRN, forcing the next
+     * request to perform a new discovery lookup.
+     *
+     * @param mrn the MRN of the client to be evicted
+     */
+    public void evictClient(String mrn) {
+        Optional.ofNullable(mrn)
+                .filter(StringUtils::isNotBlank)
+                .ifPresent(this.clientCache::invalidate);
+    }
+
+    /**
+     * Performs the actual SECOM discovery service lookup for the provided
+     * MRN and constructs a SECOM client for the latest matching instance.
+     * If a previously discovered client is provided, and the endpoint URI
+     * and version of the discovered instance have not changed, then that
+     * client will be reused.
+     *
+     * @param mrn the MRN to be lookup up
+     * @param previous the previously discovered client, if any
+     * @return the discovered SECOM client
+     */
+    protected DiscoveredSecomClient discoverClient(String mrn, DiscoveredSecomClient previous) {
         // Create the discovery service search filter object for the provided MRN
         final SearchFilterObject searchFilterObject = new SearchFilterObject();
         final EnvelopeSearchFilterObject envelopeSearchFilterObject = new EnvelopeSearchFilterObject();
@@ -161,9 +389,17 @@ public class SecomService {
                 .max(Comparator.comparing(ServiceInstanceObject::getVersion))
                 .orElseThrow(() -> new SecomNotFoundException(mrn));
 
+        // If nothing has changed, there is no need for a new client
+        if(previous != null && previous.matches(instance)) {
+            return previous;
+        }
+
         // Now construct and return a SECOM client for the discovered URI
         try {
-            return new SecomClient(URI.create(instance.getEndpointUri()).toURL(), this.secomConfigProperties);
+            return new DiscoveredSecomClient(
+                    instance.getEndpointUri(),
+                    instance.getVersion(),
+                    this.secomClientFactory.getClient(URI.create(instance.getEndpointUri()).toURL()));
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             throw new SecomValidationException(ex.getMessage());
@@ -175,11 +411,70 @@ public class SecomService {
      * services that seems to provide AtoN information encoded in S-100. It
      * supports a paged search and the complete SECOM search result will be
      * returned.
+     * <p/>
+     * The registrations are served from the discovery cache, which is
+     * refreshed in the background. Only the first search for a keyword that
+     * has not been cached yet will contact the discovery service directly.
+     * Since the SECOM search interface does not accept any paging
+     * parameters, the requested page is extracted from the cached results.
      *
+     * @param keyword the keyword to search the registered services for
      * @param pageable the paging information for the search
      * @return all the matching S-125 AtoN services currently registered
      */
     public List<ServiceInstanceObject> getRegisteredServices(@NotNull String keyword, @NotNull Pageable pageable) {
+        // Retrieve the registrations from the cache, searching if required
+        final List<ServiceInstanceObject> instances = this.discoveryCache.get(keyword, this::searchRegisteredServices);
+
+        // Return the requested page
+        return pageable.isUnpaged() ? instances : instances.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+
+    /**
+     * Refreshes the cached registrations for all the configured and
+     * previously searched keywords. If a search fails, the previously
+     * cached registrations will keep being served.
+     */
+    protected void refreshRegisteredServices() {
+        // Without a service registry there is nothing to refresh
+        if(this.discoveryService == null) {
+            return;
+        }
+
+        // Collect all the keywords to be refreshed
+        final Set<String> keywords = new HashSet<>(this.discoveryCache.asMap().keySet());
+        Optional.ofNullable(this.discoveryCacheKeywords)
+                .stream()
+                .flatMap(Arrays::stream)
+                .filter(StringUtils::isNotBlank)
+                .forEach(keywords::add);
+
+        // And refresh them one by one
+        for(String keyword : keywords) {
+            try {
+                this.discoveryCache.put(keyword, this.searchRegisteredServices(keyword));
+            } catch (Exception ex) {
+                log.error("Unable to refresh the registered services for keyword {}: {}", keyword, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Performs the actual search for registered services matching the
+     * provided keyword on the connected discovery service. Any client
+     * registrations are filtered out.
+     *
+     * @param keyword the keyword to search the registered services for
+     * @return all the matching services currently registered
+     */
+    protected List<ServiceInstanceObject> searchRegisteredServices(@NotNull String keyword) {
+        // Make sure the service registry is available
+        final SecomClient discoveryClient = Optional.ofNullable(this.discoveryService)
+                .orElseThrow(() -> new SecomValidationException("Service search requested but no connection to service registry"));
+
         // Create a search filter object
         final SearchFilterObject searchFilterObject = new SearchFilterObject();
         final EnvelopeSearchFilterObject envelopeSearchFilterObject = new EnvelopeSearchFilterObject();
@@ -190,7 +485,7 @@ public class SecomService {
         envelopeSearchFilterObject.setLocalOnly(true);
         searchFilterObject.setEnvelope(envelopeSearchFilterObject);
         // Return the retrieved list
-        return this.discoveryService.searchService(
+        return discoveryClient.searchService(
                         searchFilterObject)
                 .map(SearchResult::getEnvelope)
                 .map(EnvelopeSearchResultObject::getServiceInstance)
@@ -205,6 +500,9 @@ public class SecomService {
      * return the list of available datasets using the summary SECOM interface.
      * Note that this function will return the actual SECOM summary objects
      * list.
+     * <p/>
+     * Concurrent identical requests are coalesced, so the returned list is
+     * shared between the callers and should not be modified.
      *
      * @param mrn the MRN of the service to get the list of datasets for
      * @param pageable the paging information for the search
@@ -212,11 +510,29 @@ public class SecomService {
      */
     public List<SummaryObject> getServiceDatasets(@NotNull String mrn,
                                                   @NotNull Pageable pageable) {
+        // Build the request key
+        final SecomRequestKey key = new SecomRequestKey(mrn, null, null, null, null, null, null, null,
+                pageable.isUnpaged()? null : pageable.getPageNumber(),
+                pageable.isUnpaged()? null : pageable.getPageSize());
+
+        // Request the datasets, unless an identical request is in progress
+        return this.summaryRequests.execute(key, () -> this.fetchServiceDatasets(key));
+    }
+
+    /**
+     * Performs the actual SECOM summary interface request for the provided
+     * request key. The received dataset metadata are also used to invalidate
+     * any cached dataset contents that are no longer up-to-date.
+     *
+     * @param key the request key
+     * @return the list of the dataset summary information
+     */
+    protected List<SummaryObject> fetchServiceDatasets(SecomRequestKey key) {
         // Access the SECOM client based on the MRN
-        SecomClient secomClient = this.getClient(mrn);
+        SecomClient secomClient = this.getClient(key.mrn());
 
         // Request the available datasets using the summary interface
-        return secomClient.getSummary(
+        final List<SummaryObject> summaryObjects = this.fetchPages(key, (page, pageSize) -> secomClient.getSummary(
                 null,
                 null,
                 null,
@@ -224,10 +540,16 @@ public class SecomService {
                 null,
                 null,
                 null,
-                pageable.isUnpaged()? null : pageable.getPageNumber(),
-                pageable.isUnpaged()? MAX_UNPAGED_RESULTS_NO : pageable.getPageSize())
-                .map(GetSummaryResponseObject::getSummaryObject)
-                .orElse(Collections.emptyList());
+                page,
+                pageSize)
+                .map(response -> new ResultPage<>(
+                        Optional.ofNullable(response.getSummaryObject()).orElse(Collections.emptyList()),
+                        Optional.ofNullable(response.getPagination()).map(PaginationObject::getTotalItems).orElse(null)))
+                .orElse(ResultPage.empty()));
+
+        // Record the received dataset metadata
+        summaryObjects.forEach(summaryObject -> this.updateDatasetMetadata(key.mrn(), summaryObject));
+        return summaryObjects;
     }
 
     /**
@@ -235,6 +557,9 @@ public class SecomService {
      * return the content of the selected datasets using the Get SECOM
      * interface. Note that this function will return the actual SECOM data
      * response objects list/
+     * <p/>
+     * Concurrent identical requests are coalesced, so the returned list is
+     * shared between the callers and should not be modified.
      *
      * @param mrn the MRN of the service to get the list of dataset content for
      * @param dataReference the object data reference
@@ -256,23 +581,146 @@ public class SecomService {
                                                                LocalDateTime validFrom,
                                                                LocalDateTime validTo,
                                                                @NotNull Pageable pageable) {
+        // Build the request key
+        final SecomRequestKey key = new SecomRequestKey(mrn, dataReference, dataProductType, productVersion,
+                geometry, unlocode, validFrom, validTo,
+                pageable.isUnpaged() ? null : pageable.getPageNumber(),
+                pageable.isUnpaged() ? null : pageable.getPageSize());
+
+        // Without any summary metadata to validate against, the datasets are
+        // neither served from nor stored in the cache
+        final DatasetReference reference = Optional.ofNullable(dataReference)
+                .map(UUID::fromString)
+                .map(uuid -> new DatasetReference(mrn, uuid))
+                .orElse(null);
+        final DatasetMetadata metadata = Optional.ofNullable(reference)
+                .map(this.datasetMetadata::getIfPresent)
+                .orElse(null);
+        if(metadata == null) {
+            // Request the dataset contents, unless an identical request is in progress
+            return this.contentRequests.execute(key, () -> this.fetchServiceDatasetContent(key));
+        }
+
+        // For individual datasets, the whole content is cached once per
+        // dataset, and the requested page is sliced out of it
+        final SecomRequestKey contentKey = new SecomRequestKey(mrn, dataReference, dataProductType, productVersion,
+                geometry, unlocode, validFrom, validTo, null, null);
+        final List<SignedDatasetContent> content = Optional.ofNullable(this.datasetCache.getIfPresent(reference))
+                .filter(cachedDatasetContent -> Objects.equals(cachedDatasetContent.metadata(), metadata))
+                .filter(cachedDatasetContent -> Objects.equals(cachedDatasetContent.key(), contentKey))
+                .map(CachedDatasetContent::content)
+                .orElseGet(() -> this.contentRequests.execute(contentKey, () -> {
+                    final List<SignedDatasetContent> fetched = this.fetchServiceDatasetContent(contentKey);
+                    this.datasetCache.put(reference, new CachedDatasetContent(contentKey, fetched, metadata));
+                    return fetched;
+                }));
+        return pageable.isUnpaged() ? content : content.subList(
+                (int) Math.min(pageable.getOffset(), content.size()),
+                (int) Math.min(pageable.getOffset() + pageable.getPageSize(), content.size()));
+    }
+
+    /**
+     * A streaming variant of the dataset content retrieval. For paged
+     * requests, only the requested page will be retrieved. For unpaged
+     * requests however, instead of requesting all the datasets at once, the
+     * remote pages are walked in order while a window of the next pages,
+     * up to the configured pagination parallelism, is prefetched
+     * concurrently. The window is only opened once the first page turns out
+     * to be full, and no more pages are requested once a partial page is
+     * received. This way memory stays proportional to the window, and the
+     * consumers can start processing the first datasets as soon as they
+     * arrive.
+     *
+     * @param mrn the MRN of the service to get the list of dataset content for
+     * @param dataReference the object data reference
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @param pageable the paging information for the action
+     * @return the lazily retrieved stream of the signed dataset contents
+     */
+    public Stream<SignedDatasetContent> streamServiceDatasetContent(@NotNull String mrn,
+                                                                    String dataReference,
+                                                                    SECOM_DataProductType dataProductType,
+                                                                    String productVersion,
+                                                                    String geometry,
+                                                                    String unlocode,
+                                                                    LocalDateTime validFrom,
+                                                                    LocalDateTime validTo,
+                                                                    @NotNull Pageable pageable) {
+        // For paged requests, there is nothing to walk through
+        if(pageable.isPaged()) {
+            return this.getServiceDatasetContent(mrn, dataReference, dataProductType, productVersion,
+                    geometry, unlocode, validFrom, validTo, pageable).stream();
+        }
+
+        // Otherwise walk through the prefetched pages, up to the unpaged results limit
+        final int pageSize = Math.max(1, this.paginationPageSize);
+        final PrefetchingPageIterator pages = new PrefetchingPageIterator(pageSize, number ->
+                this.getServiceDatasetContent(mrn, dataReference, dataProductType, productVersion,
+                        geometry, unlocode, validFrom, validTo, PageRequest.of(number, pageSize)));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(pages::cancel)
+                .flatMap(List::stream);
+    }
+
+    /**
+     * Records the latest metadata reported by the SECOM summary interface
+     * for the dataset described by the provided summary object. If the
+     * last-updated time or the version of the dataset have changed, any
+     * cached contents of the dataset are invalidated.
+     *
+     * @param mrn the MRN of the service providing the dataset
+     * @param summaryObject the SECOM summary object of the dataset
+     */
+    protected void updateDatasetMetadata(String mrn, SummaryObject summaryObject) {
+        // Only datasets with a data reference can be cached
+        if(summaryObject == null || summaryObject.getDataReference() == null) {
+            return;
+        }
+
+        // Record the latest dataset metadata
+        final DatasetReference reference = new DatasetReference(mrn, summaryObject.getDataReference());
+        final DatasetMetadata metadata = new DatasetMetadata(summaryObject.getInfo_lastModifiedDate(), summaryObject.getInfo_productVersion());
+        final DatasetMetadata previous = this.datasetMetadata.asMap().put(reference, metadata);
+
+        // And invalidate the cached contents if they have changed
+        if(!Objects.equals(previous, metadata)) {
+            this.datasetCache.invalidate(reference);
+        }
+    }
+
+    /**
+     * Performs the actual SECOM get interface request for the provided
+     * request key, and decodes the signature information of the received
+     * datasets.
+     *
+     * @param key the request key
+     * @return the list of the signed dataset contents
+     */
+    protected List<SignedDatasetContent> fetchServiceDatasetContent(SecomRequestKey key) {
         // Access the SECOM client based on the MRN
-        SecomClient secomClient = this.getClient(mrn);
+        SecomClient secomClient = this.getClient(key.mrn());
 
-        // Request the available dataset contents using the summary interface
-        return secomClient.get(
-                        Optional.ofNullable(dataReference).map(UUID::fromString).orElse(null),
+        // Request the available dataset contents using the get interface
+        return this.fetchPages(key, (page, pageSize) -> secomClient.get(
+                        Optional.ofNullable(key.dataReference()).map(UUID::fromString).orElse(null),
                         ContainerTypeEnum.S100_DataSet,
-                        dataProductType,
-                        productVersion,
-                        geometry,
-                        unlocode,
-                        validFrom,
-                        validTo,
-                        pageable.isUnpaged() ? null : pageable.getPageNumber(),
-                        pageable.isUnpaged() ? MAX_UNPAGED_RESULTS_NO : pageable.getPageSize())
-                .map(GetResponseObject::getDataResponseObject)
-                .orElse(Collections.emptyList())
+                        key.dataProductType(),
+                        key.productVersion(),
+                        key.geometry(),
+                        key.unlocode(),
+                        key.validFrom(),
+                        key.validTo(),
+                        page,
+                        pageSize)
+                .map(response -> new ResultPage<>(
+                        Optional.ofNullable(response.getDataResponseObject()).orElse(Collections.emptyList()),
+                        Optional.ofNullable(response.getPagination()).map(PaginationObject::getTotalItems).orElse(null)))
+                .orElse(ResultPage.empty()))
                 .stream()
                 .map(dataResponseObject -> {
                     final SignedDatasetContent signedDatasetContent = new SignedDatasetContent();
@@ -283,30 +731,277 @@ public class SecomService {
                             .map(DigitalSignatureValueObject::getPublicCertificate)
                             .stream()
                             .flatMap(Arrays::stream)
-                            .forEach(certificate -> {
-                                Optional.of(certificate)
-                                .map(X509Utils::extractFromCertificatePem)
-                                .map(X509Utils::extractUIDFromCertificate)
-                                .ifPresent(signedDatasetContent::setSignedBy);
-                            } );
-
-                    Optional.of(dataResponseObject)
-                            .map(DataResponseObject::getExchangeMetadata)
-                            .map(ExchangeMetadata::getDigitalSignatureValue)
-                            .map(DigitalSignatureValueObject::getPublicCertificate)
-                            .stream()
-                            .flatMap(Arrays::stream)
-                            .forEach(certificate -> {
-                                Optional.of(certificate)
-                                .map(X509Utils::extractFromCertificatePem)
-                                .map(X509Utils::extractIssuerUIDFromCertificate)
-                                .ifPresent(signedDatasetContent::setIssuedBy);
+                            .map(this.x509CertificateCache::getCertificateInfo)
+                            .flatMap(Optional::stream)
+                            .forEach(certificateInfo -> {
+                                Optional.ofNullable(certificateInfo.signedBy()).ifPresent(signedDatasetContent::setSignedBy);
+                                Optional.ofNullable(certificateInfo.issuedBy()).ifPresent(signedDatasetContent::setIssuedBy);
                             });
 
                     signedDatasetContent.setContent(dataResponseObject.getData());
                     return signedDatasetContent;
                 })
                 .toList();
+    }
+
+    /**
+     * Fetches the results of the provided request key using the provided
+     * page fetcher. For paged requests only the requested page is fetched.
+     * Unpaged requests however are automatically paginated: the total number
+     * of results is learnt from the pagination metadata of the first page,
+     * and the remaining pages are then fetched concurrently, up to the
+     * configured parallelism limit. The results are merged in page order.
+     * <p/>
+     * If the service does not report the total number of results, the pages
+     * will be fetched sequentially until a partial page is received.
+     *
+     * @param key the request key
+     * @param pageFetcher the fetcher of a single page, given its number and size
+     * @return the merged results of all the fetched pages
+     * @param <T> the type of the results
+     */
+    protected <T> List<T> fetchPages(SecomRequestKey key, BiFunction<Integer, Integer, ResultPage<T>> pageFetcher) {
+        // For paged requests, only fetch the requested page
+        if(key.page() != null) {
+            return Collections.unmodifiableList(pageFetcher.apply(key.page(), key.pageSize()).items());
+        }
+
+        // Otherwise fetch the first page to learn the total
+        final int pageSize = Math.max(1, this.paginationPageSize);
+        final int maxPages = Math.ceilDiv(Math.max(1, this.paginationMaxResults), pageSize);
+        final ResultPage<T> firstPage = pageFetcher.apply(0, pageSize);
+        final List<T> results = new ArrayList<>(firstPage.items());
+
+        // Without a total, walk through the pages sequentially
+        if(firstPage.totalItems() == null) {
+            ResultPage<T> page = firstPage;
+            for(int number = 1; page.items().size() >= pageSize && number < maxPages; number++) {
+                page = pageFetcher.apply(number, pageSize);
+                results.addAll(page.items());
+            }
+            return Collections.unmodifiableList(results);
+        }
+
+        // Otherwise fetch the remaining pages concurrently
+        final int totalPages = Math.ceilDiv(firstPage.totalItems(), pageSize);
+        if(totalPages > maxPages) {
+            log.warn("SECOM service {} reported {} results, only the first {} will be retrieved",
+                    key.mrn(), firstPage.totalItems(), maxPages * pageSize);
+        }
+        final Semaphore permits = new Semaphore(Math.max(1, this.paginationParallelism));
+        final List<CompletableFuture<ResultPage<T>>> pages = IntStream.range(1, Math.min(totalPages, maxPages))
+                .mapToObj(number -> CompletableFuture.supplyAsync(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        return pageFetcher.apply(number, pageSize);
+                    } finally {
+                        permits.release();
+                    }
+                }, this.paginationExecutor))
+                .toList();
+
+        // And merge them in order
+        try {
+            pages.forEach(page -> results.addAll(page.join().items()));
+        } catch (CompletionException ex) {
+            pages.forEach(page -> page.cancel(true));
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * The key identifying a SECOM summary or get request, including all the
+     * parameters that affect the response, so that only truly identical
+     * requests are coalesced.
+     *
+     * @param mrn the MRN of the requested service
+     * @param dataReference the object data reference
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @param page the requested page number
+     * @param pageSize the requested page size
+     */
+    record SecomRequestKey(String mrn,
+                           String dataReference,
+                           SECOM_DataProductType dataProductType,
+                           String productVersion,
+                           String geometry,
+                           String unlocode,
+                           LocalDateTime validFrom,
+                           LocalDateTime validTo,
+                           Integer page,
+                           Integer pageSize) {
+    }
 
+    /**
+     * A single page of results retrieved from a SECOM service, alongside the
+     * total number of results reported in its pagination metadata, if any.
+     *
+     * @param items the results of the page
+     * @param totalItems the total number of results, if reported
+     * @param <T> the type of the results
+     */
+    record ResultPage<T>(List<T> items, Integer totalItems) {
+
+        /**
+         * Returns an empty result page.
+         *
+         * @return the empty result page
+         * @param <T> the type of the results
+         */
+        static <T> ResultPage<T> empty() {
+            return new ResultPage<>(Collections.emptyList(), null);
+        }
     }
+
+    /**
+     * Walks through the pages of an unpaged dataset content request in
+     * order, while prefetching a window of the next pages concurrently on
+     * the pagination executor. The window is bounded by the pagination
+     * parallelism, and is only opened once the first page turns out to be
+     * full, so that single-page requests do not generate any speculative
+     * requests.
+     */
+    class PrefetchingPageIterator implements Iterator<List<SignedDatasetContent>> {
+
+        // Class Variables
+        private final int pageSize;
+        private final int maxPages;
+        private final IntFunction<List<SignedDatasetContent>> pageFetcher;
+        private final Deque<CompletableFuture<List<SignedDatasetContent>>> prefetched = new ArrayDeque<>();
+        private int nextPage = 0;
+        private boolean windowOpen = false;
+        private boolean lastPage = false;
+
+        /**
+         * The Prefetching Page Iterator constructor.
+         *
+         * @param pageSize the page size
+         * @param pageFetcher the fetcher of a single page, given its number
+         */
+        PrefetchingPageIterator(int pageSize, IntFunction<List<SignedDatasetContent>> pageFetcher) {
+            this.pageSize = pageSize;
+            this.maxPages = Math.ceilDiv(Math.max(1, paginationMaxResults), pageSize);
+            this.pageFetcher = pageFetcher;
+        }
+
+        /**
+         * Returns whether there are more pages to be consumed.
+         *
+         * @return whether there are more pages to be consumed
+         */
+        @Override
+        public boolean hasNext() {
+            this.prefetch();
+            return !this.prefetched.isEmpty();
+        }
+
+        /**
+         * Returns the next page, waiting for it to be fetched if required.
+         *
+         * @return the next page
+         */
+        @Override
+        public List<SignedDatasetContent> next() {
+            this.prefetch();
+            final CompletableFuture<List<SignedDatasetContent>> next = Optional.ofNullable(this.prefetched.poll())
+                    .orElseThrow(NoSuchElementException::new);
+            final List<SignedDatasetContent> page;
+            try {
+                page = next.join();
+            } catch (CompletionException ex) {
+                this.cancel();
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+
+            // A partial page means there is nothing more to fetch, while a
+            // full one opens up the prefetching window
+            if(page.size() < this.pageSize) {
+                this.cancel();
+            } else {
+                this.windowOpen = true;
+            }
+            return page;
+        }
+
+        /**
+         * Stops the iteration and cancels any prefetched pages.
+         */
+        void cancel() {
+            this.lastPage = true;
+            this.prefetched.forEach(future -> future.cancel(true));
+            this.prefetched.clear();
+        }
+
+        /**
+         * Fills the prefetching window with the next pages to be fetched.
+         */
+        private void prefetch() {
+            final int window = this.windowOpen ? Math.max(1, paginationParallelism) : 1;
+            while(!this.lastPage && this.nextPage < this.maxPages && this.prefetched.size() < window) {
+                final int number = this.nextPage++;
+                this.prefetched.add(CompletableFuture.supplyAsync(() -> this.pageFetcher.apply(number), paginationExecutor));
+            }
+        }
+    }
+
+    /**
+     * The reference of a dataset provided by a SECOM service.
+     *
+     * @param mrn the MRN of the service providing the dataset
+     * @param dataReference the dataset data reference
+     */
+    record DatasetReference(String mrn, UUID dataReference) {
+    }
+
+    /**
+     * The dataset metadata reported by the SECOM summary interface, used to
+     * decide whether a cached dataset content is still up-to-date.
+     *
+     * @param lastModified the dataset last-updated time
+     * @param productVersion the dataset product version
+     */
+    record DatasetMetadata(LocalDateTime lastModified, String productVersion) {
+    }
+
+    /**
+     * The whole cached content of a dataset, alongside the unpaged request
+     * it was retrieved with and the dataset metadata that were known at the
+     * time.
+     *
+     * @param key the unpaged request key the content was retrieved with
+     * @param content the signed dataset contents
+     * @param metadata the dataset metadata when the content was retrieved
+     */
+    record CachedDatasetContent(SecomRequestKey key, List<SignedDatasetContent> content, DatasetMetadata metadata) {
+    }
+
+    /**
+     * A cached discovered SECOM client, alongside the endpoint URI and the
+     * version of the service instance it was constructed for.
+     *
+     * @param endpointUri the discovered endpoint URI
+     * @param version the discovered service instance version
+     * @param client the SECOM client for the discovered endpoint
+     */
+    record DiscoveredSecomClient(String endpointUri, String version, SecomClient client) {
+
+        /**
+         * Checks whether the provided service instance still matches the
+         * endpoint URI and version of this discovered client.
+         *
+         * @param instance the service instance to be checked
+         * @return whether the service instance matches this client
+         */
+        boolean matches(ServiceInstanceObject instance) {
+            return Objects.equals(this.endpointUri, instance.getEndpointUri())
+                    && Objects.equals(this.version, instance.getVersion());
+        }
+    }
+
 }
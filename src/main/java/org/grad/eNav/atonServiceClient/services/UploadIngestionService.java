@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.services;
+
+import _int.iho.s_125.gml.cs0._1.AidsToNavigationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.xml.bind.JAXBException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.logging.log4j.util.Strings;
+import org.grad.eNav.atonServiceClient.components.AtonWebSocketPublisher;
+import org.grad.eNav.atonServiceClient.components.S125DatasetReader;
+import org.grad.eNav.atonServiceClient.components.SecomClientFactory;
+import org.grad.eNav.atonServiceClient.components.X509CertificateCache;
+import org.grad.eNav.atonServiceClient.utils.AtonTypeConverter;
+import org.grad.eNav.atonServiceClient.utils.KeyOrderedPublishSubscribeChannel;
+import org.grad.secomv2.core.models.*;
+import org.grad.secomv2.core.models.enums.AckRequestEnum;
+import org.grad.secomv2.core.models.enums.AckTypeEnum;
+import org.grad.secomv2.core.models.enums.NackTypeEnum;
+import org.grad.secomv2.springboot4.components.SecomClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.integration.channel.PublishSubscribeChannel;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
+import java.security.UnrecoverableKeyException;
+import java.security.cert.CertificateException;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static java.util.function.Predicate.not;
+
+/**
+ * The Upload Ingestion Service Class
+ * <p/>
+ * This class implements the ingestion pipeline for the S-125 datasets
+ * uploaded through the SECOM upload interface. The SECOM upload controller
+ * only validates the incoming envelope and then hands it over to this
+ * service, which will parse the dataset, hand the AtoN information over to
+ * the publish-subscribe channel to be pushed down the web-socket, and send
+ * back the SECOM acknowledgement in the background. The latency of each
+ * stage (queued, parse, publish and acknowledge) and the failures of each
+ * stage are published as Micrometer metrics.
+ * <p/>
+ * The pipeline is backed by a bounded executor. When its queue is full, the
+ * uploading thread will process the dataset itself, thus applying
+ * backpressure to the publishers.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Service
+@Slf4j
+public class UploadIngestionService {
+
+    /**
+     * The SECOM Service URL to send the acknowledgements to.
+     */
+    @Value("${gla.rad.aton-service-client.secom.serviceIUrl:}")
+    String secomServiceUrl;
+
+    /**
+     * The maximum number of uploads processed concurrently.
+     */
+    @Value("${gla.rad.aton-service-client.upload.pipeline.threads:4}")
+    int pipelineThreads;
+
+    /**
+     * The maximum number of uploads waiting to be processed.
+     */
+    @Value("${gla.rad.aton-service-client.upload.pipeline.queue-capacity:100}")
+    int pipelineQueueCapacity;
+
+    /**
+     * The Publish-Subscribe Channel.
+     */
+    @Autowired
+    PublishSubscribeChannel publishSubscribeChannel;
+
+    /**
+     * The SECOM Client Factory.
+     */
+    @Autowired
+    SecomClientFactory secomClientFactory;
+
+    /**
+     * The S-125 Dataset Reader.
+     */
+    @Autowired
+    S125DatasetReader s125DatasetReader;
+
+    /**
+     * The X.509 Certificate Cache.
+     */
+    @Autowired
+    X509CertificateCache x509CertificateCache;
+
+    /**
+     * The Meter Registry.
+     */
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    // Class Variables
+    SecomClient secomClient;
+    ThreadPoolExecutor executor;
+
+    /**
+     * The service post-construct operations where the ingestion executor is
+     * initialised, alongside the SECOM client to respond with
+     * acknowledgements.
+     */
+    @PostConstruct
+    public void init() throws IOException, UnrecoverableKeyException, CertificateException, KeyStoreException, NoSuchAlgorithmException {
+        log.info("Upload Ingestion Service is booting up...");
+        if(Strings.isNotBlank(this.secomServiceUrl)) {
+            this.secomClient = this.secomClientFactory.getClient(URI.create(this.secomServiceUrl).toURL());
+        }
+
+        // Initialise the bounded ingestion executor
+        this.executor = new ThreadPoolExecutor(
+                this.pipelineThreads,
+                this.pipelineThreads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.pipelineQueueCapacity),
+                Thread.ofVirtual().name("upload-ingestion-", 0).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        // Register the queue depth metric
+        Gauge.builder("aton.upload.pipeline.queue", this.executor, e -> e.getQueue().size())
+                .description("The number of SECOM uploads waiting to be ingested")
+                .register(this.meterRegistry);
+    }
+
+    /**
+     * When shutting down the application we need to make sure that all
+     * pending uploads have been processed and the threads have been
+     * gracefully shutdown as well.
+     */
+    @PreDestroy
+    public void destroy() {
+        log.info("Upload Ingestion Service is shutting down...");
+        this.executor.shutdown();
+        try {
+            if(!this.executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                this.executor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            this.executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Submits the provided SECOM upload object to the ingestion pipeline.
+     * The operation returns immediately unless the pipeline queue is full,
+     * in which case the upload will be processed on the calling thread.
+     *
+     * @param uploadObject the SECOM upload object to be ingested
+     */
+    public void ingest(UploadObject uploadObject) {
+        final long submittedAt = System.nanoTime();
+        this.executor.execute(() -> {
+            this.stageTimer("queued").record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+            this.process(uploadObject);
+        });
+    }
+
+    /**
+     * Processes the provided SECOM upload object by decoding the included
+     * S-125 dataset, publishing the AtoNs on the publish-subscribe channel
+     * and finally sending back the SECOM acknowledgement if one was
+     * requested. The AtoN identifiers are used as the channel ordering keys,
+     * so that the updates of the same AtoN are always delivered in order.
+     * <p/>
+     * The whole dataset is decoded before any of its AtoNs are published, so
+     * a dataset that fails validation part-way through publishes nothing and
+     * is only reported through a negative acknowledgement. Should the
+     * publication itself fail, the AtoNs published up to that point are not
+     * retracted, but the upload is still negatively acknowledged.
+     *
+     * @param uploadObject the SECOM upload object to be processed
+     */
+    protected void process(UploadObject uploadObject) {
+        // Create publication headers
+        final Map<String, Object> webSocketHeaders = new HashMap<>();
+        Optional.of(uploadObject)
+                .map(UploadObject::getEnvelope)
+                .map(EnvelopeUploadObject::getDataProductType)
+                .ifPresent(dataProductType -> webSocketHeaders.put("dataProductType", dataProductType));
+        Optional.of(uploadObject)
+                .map(UploadObject::getEnvelope)
+                .map(EnvelopeUploadObject::getExchangeMetadata)
+                .map(ExchangeMetadata::getDigitalSignatureValue)
+                .map(DigitalSignatureValueObject::getPublicCertificate)
+                .stream()
+                .flatMap(Arrays::stream)
+                .map(this.x509CertificateCache::getCertificateInfo)
+                .flatMap(Optional::stream)
+                .forEach(certificateInfo -> {
+                    Optional.ofNullable(certificateInfo.signedBy()).ifPresent(signedBy -> webSocketHeaders.put("signed-by", signedBy));
+                    Optional.ofNullable(certificateInfo.issuedBy()).ifPresent(issuedBy -> webSocketHeaders.put("issued-by", issuedBy));
+                });
+
+        // Decode the whole dataset before publishing anything
+        final List<AidsToNavigationType> atons = new ArrayList<>();
+        final long parseStart = System.nanoTime();
+        try {
+            this.s125DatasetReader.readAidsToNavigation(uploadObject.getEnvelope().getData(), atons::add);
+        } catch (JAXBException ex) {
+            log.error("Unable to validate the S-125 XML schema of SECOM upload transaction {}",
+                    uploadObject.getEnvelope().getTransactionIdentifier(), ex);
+            this.stageFailures("parse").increment();
+            this.sendAcknowledgement(uploadObject, NackTypeEnum.XML_SCHEMA_VALIDATION_ERROR);
+            return;
+        } finally {
+            this.stageTimer("parse").record(System.nanoTime() - parseStart, TimeUnit.NANOSECONDS);
+        }
+
+        // Publish the decoded AtoNs on the channel
+        final long publishStart = System.nanoTime();
+        try {
+            atons.forEach(aton -> this.publishSubscribeChannel.send(MessageBuilder
+                    .withPayload(new AtonWebSocketPublisher.AtonUpdate(AtonTypeConverter.convertToSeamarkType(aton.getClass()), aton))
+                    .copyHeaders(webSocketHeaders)
+                    .setHeader(AtonWebSocketPublisher.DESTINATION_HEADER, "/topic/secom/subscription/update")
+                    .setHeader(KeyOrderedPublishSubscribeChannel.ORDERING_KEY_HEADER, aton.getIdCode())
+                    .build()));
+        } catch (RuntimeException ex) {
+            log.error("Unable to publish the AtoNs of SECOM upload transaction {}",
+                    uploadObject.getEnvelope().getTransactionIdentifier(), ex);
+            this.stageFailures("publish").increment();
+            this.sendAcknowledgement(uploadObject, NackTypeEnum.BAD_DATA);
+            return;
+        } finally {
+            this.stageTimer("publish").record(System.nanoTime() - publishStart, TimeUnit.NANOSECONDS);
+        }
+
+        // Now generate an acknowledgement to be sent back if required
+        this.sendAcknowledgement(uploadObject, null);
+    }
+
+    /**
+     * Sends back the SECOM acknowledgement for the provided upload object
+     * while recording the acknowledgement stage latency. Since this runs in
+     * the background, any failures to deliver the acknowledgement are logged
+     * and counted rather than propagated.
+     *
+     * @param uploadObject the SECOM upload object to be acknowledged
+     * @param nackType the negative acknowledgement type, if any
+     */
+    protected void sendAcknowledgement(UploadObject uploadObject, NackTypeEnum nackType) {
+        try {
+            this.stageTimer("acknowledge").record(() -> this.acknowledge(uploadObject, nackType));
+        } catch (RuntimeException ex) {
+            log.error("Unable to acknowledge SECOM upload transaction {}",
+                    uploadObject.getEnvelope().getTransactionIdentifier(), ex);
+            this.stageFailures("acknowledge").increment();
+        }
+    }
+
+    /**
+     * Sends back a SECOM delivery acknowledgement for the provided upload
+     * object, if one was requested and a SECOM client is available. Since
+     * the upload response has already been returned, any ingestion errors
+     * can only be reported through a negative acknowledgement, carrying the
+     * negative acknowledgement type.
+     *
+     * @param uploadObject the SECOM upload object to be acknowledged
+     * @param nackType the negative acknowledgement type, if any
+     */
+    protected void acknowledge(UploadObject uploadObject, NackTypeEnum nackType) {
+        if(this.secomClient != null) {
+            Optional.of(uploadObject)
+                    .map(UploadObject::getEnvelope)
+                    .map(EnvelopeUploadObject::getAckRequest)
+                    .filter(not(AckRequestEnum.NO_ACK_REQUESTED::equals))
+                    .ifPresent(ackType -> {
+                        final AcknowledgementObject acknowledgementObject = new AcknowledgementObject();
+                        final EnvelopeAckObject envelopeAckObject = new EnvelopeAckObject();
+                        envelopeAckObject.setCreatedAt(Instant.now());
+                        envelopeAckObject.setTransactionIdentifier(uploadObject.getEnvelope().getTransactionIdentifier());
+                        envelopeAckObject.setAckType(nackType != null ? AckTypeEnum.NAK_ACK : AckTypeEnum.DELIVERED_ACK);
+                        envelopeAckObject.setNackType(nackType);
+                        acknowledgementObject.setEnvelope(envelopeAckObject);
+                        this.secomClient.acknowledgement(acknowledgementObject);
+                    });
+        }
+    }
+
+    /**
+     * Returns the latency timer of the provided ingestion pipeline stage.
+     *
+     * @param stage the ingestion pipeline stage
+     * @return the latency timer of the stage
+     */
+    protected Timer stageTimer(String stage) {
+        return Timer.builder("aton.upload.pipeline.stage")
+                .description("The latency of the SECOM upload ingestion pipeline stages")
+                .tag("stage", stage)
+                .register(this.meterRegistry);
+    }
+
+    /**
+     * Returns the failure counter of the provided ingestion pipeline stage.
+     *
+     * @param stage the ingestion pipeline stage
+     * @return the failure counter of the stage
+     */
+    protected Counter stageFailures(String stage) {
+        return Counter.builder("aton.upload.pipeline.failures")
+                .description("The number of SECOM uploads that failed in each ingestion pipeline stage")
+                .tag("stage", stage)
+                .register(this.meterRegistry);
+    }
+
+}
@@ -17,64 +17,100 @@ package org.grad.eNav.atonServiceClient.utils;
 
 import _int.iho.s_125.gml.cs0._1.*;
 
-import java.util.Objects;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
 
+import static java.util.Map.entry;
+
+/**
+ * The AtoN Type Converter.
+ * <p/>
+ * Translates the S-125 AtoN types into the seamark definitions used by
+ * Open-SeaMarks and Niord. The provided classes can either be the S-125
+ * AtoN interfaces or their implementations, and the resolved seamark type
+ * is memoised per class, so that the type hierarchy is only ever inspected
+ * once for each implementation encountered.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
 public class AtonTypeConverter {
 
     /**
-     * A simple switch converter to translate between the S125 AtoN type names
-     * and the seamark definitions used by Open-SeaMarks and Niord.
+     * The seamark types of the supported S-125 AtoN types.
+     */
+    private static final Map<Class<?>, String> SEAMARK_TYPES = Map.ofEntries(
+            entry(CardinalBeacon.class, "beacon_cardinal"),
+            entry(LateralBeacon.class, "beacon_lateral"),
+            entry(IsolatedDangerBeacon.class, "beacon_isolated_danger"),
+            entry(SafeWaterBeacon.class, "beacon_safe_water"),
+            entry(SpecialPurposeGeneralBeacon.class, "beacon_special_purpose"),
+            entry(CardinalBuoy.class, "buoy_cardinal"),
+            entry(LateralBuoy.class, "buoy_lateral"),
+            entry(InstallationBuoy.class, "buoy_installation"),
+            entry(IsolatedDangerBuoy.class, "buoy_isolated_danger"),
+            entry(SafeWaterBuoy.class, "buoy_safe_water"),
+            entry(SpecialPurposeGeneralBuoy.class, "buoy_special_purpose"),
+            entry(EmergencyWreckMarkingBuoy.class, "buoy_special_purpose"),
+            entry(Lighthouse.class, "light_major"),
+            entry(LandmarkType.class, "landmark"),
+            entry(LightVessel.class, "light_vessel"),
+            entry(LightFloat.class, "light_float"),
+            entry(Daymark.class, "daymark"),
+            entry(FogSignal.class, "fog_signal"),
+            entry(Topmark.class, "topmark"),
+            entry(RadarReflector.class, "radar_reflector"),
+            entry(RadarTransponderBeacon.class, "radar_transponder"),
+            entry(PhysicalAISAidToNavigation.class, "radio_station"),
+            entry(SyntheticAISAidToNavigation.class, "radio_station"),
+            entry(VirtualAISAidToNavigation.class, "virtual_aton")
+    );
+
+    /**
+     * The memoised seamark types of all the classes encountered.
+     */
+    private static final ClassValue<String> RESOLVED_SEAMARK_TYPES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return resolveSeamarkType(type);
+        }
+    };
+
+    /**
+     * Translates the provided S-125 AtoN type, or AtoN implementation class,
+     * into the seamark type used by Open-SeaMarks and Niord.
      *
-     * @param s125Class the S-125 AtoN types
-     * @return the Open-SeaMarks types
+     * @param s125Class the S-125 AtoN type or implementation class
+     * @return the Open-SeaMarks type, or an empty string if not supported
      */
     public static String convertToSeamarkType(Class<?> s125Class) {
-        if(Objects.equals(s125Class, CardinalBeacon.class)) {
-            return "beacon_cardinal";
-        }
-        else if(Objects.equals(s125Class, LateralBeacon.class)) {
-            return "beacon_lateral";
-        }
-        else if(Objects.equals(s125Class, IsolatedDangerBeacon.class)) {
-            return "beacon_isolated_danger";
-        }
-        else if(Objects.equals(s125Class, SafeWaterBeacon.class)) {
-            return "beacon_safe_water";
-        }
-        else if(Objects.equals(s125Class, SpecialPurposeGeneralBeacon.class)) {
-            return "beacon_special_purpose";
-        }
-        else if(Objects.equals(s125Class, CardinalBuoy.class)) {
-            return "buoy_cardinal";
-        }
-        else if(Objects.equals(s125Class, LateralBuoy.class)) {
-            return "buoy_lateral";
-        }
-        else if(Objects.equals(s125Class, InstallationBuoy.class)) {
-            return "buoy_installation";
-        }
-        else if(Objects.equals(s125Class, IsolatedDangerBuoy.class)) {
-            return "buoy_isolated_danger";
-        }
-        else if(Objects.equals(s125Class, SafeWaterBuoy.class)) {
-            return "buoy_safe_water";
-        }
-        else if(Objects.equals(s125Class, SpecialPurposeGeneralBuoy.class)) {
-            return "buoy_special_purpose";
-        }
-        else if(Objects.equals(s125Class, Lighthouse.class)) {
-            return "light_major";
-        }
-        else if(Objects.equals(s125Class, LandmarkType.class)) {
-            return "landmark";
-        }
-        else if(Objects.equals(s125Class, LightVessel.class)) {
-            return "light_vessel";
-        }
-        else if(Objects.equals(s125Class, VirtualAISAidToNavigation.class)) {
-            return "virtual_aton";
-        } else {
-            return "";
+        return s125Class == null ? "" : RESOLVED_SEAMARK_TYPES.get(s125Class);
+    }
+
+    /**
+     * Resolves the seamark type of the provided class, by looking up the
+     * class itself, and then its superclasses and all their interfaces, in
+     * a breadth-first manner.
+     *
+     * @param type the class to be resolved
+     * @return the Open-SeaMarks type, or an empty string if not supported
+     */
+    private static String resolveSeamarkType(Class<?> type) {
+        final Deque<Class<?>> candidates = new ArrayDeque<>();
+        candidates.add(type);
+        while(!candidates.isEmpty()) {
+            final Class<?> candidate = candidates.poll();
+            final String seamarkType = SEAMARK_TYPES.get(candidate);
+            if(seamarkType != null) {
+                return seamarkType;
+            }
+            if(candidate.getSuperclass() != null) {
+                candidates.add(candidate.getSuperclass());
+            }
+            candidates.addAll(Arrays.asList(candidate.getInterfaces()));
         }
+        return "";
     }
+
 }
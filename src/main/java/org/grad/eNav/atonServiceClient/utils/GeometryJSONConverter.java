@@ -15,21 +15,54 @@
 
 package org.grad.eNav.atonServiceClient.utils;
 
+import org.locationtech.jts.geom.*;
 import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.exc.StreamReadException;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
-import org.locationtech.jts.geom.Geometry;
-import org.locationtech.jts.io.ParseException;
-import org.locationtech.jts.io.geojson.GeoJsonReader;
-import org.locationtech.jts.io.geojson.GeoJsonWriter;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.module.SimpleModule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * The type Geometry JSON converter.
+ * <p/>
+ * Apart from the JSON node conversions, this class also provides the
+ * streaming GeoJSON translations used by the geometry JSON serializer and
+ * deserializer, which write the JTS coordinates directly to the Jackson
+ * generator and read them directly from the Jackson parser, without any
+ * intermediate strings or JSON trees. In line with the JTS GeoJSON writer,
+ * the written ordinates are rounded to 8 decimal places.
  *
  * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
  */
 public class GeometryJSONConverter {
 
+    /**
+     * The shared object mapper, using the streaming geometry serializer.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .addModule(new SimpleModule().addSerializer(Geometry.class, new GeometryJSONSerializer()))
+            .build();
+
+    /**
+     * The prefix of the named EPSG coordinate reference systems.
+     */
+    private static final String EPSG_PREFIX = "EPSG:";
+
+    /**
+     * The precision of the written ordinates, i.e. 8 decimal places as per
+     * the JTS GeoJSON writer default.
+     */
+    private static final PrecisionModel ORDINATE_PRECISION = new PrecisionModel(1e8);
+
     /**
      * Convert from geometry to a JSON node.
      *
@@ -41,12 +74,10 @@ public class GeometryJSONConverter {
             return null;
         }
 
-        ObjectMapper om = new ObjectMapper();
         try {
-            JsonNode node = om.readTree(new GeoJsonWriter().write(geometry));
-            return node;
+            return OBJECT_MAPPER.valueToTree(geometry);
         } catch (JacksonException e) {
-            return om.createObjectNode();
+            return OBJECT_MAPPER.createObjectNode();
         }
     }
 
@@ -61,11 +92,372 @@ public class GeometryJSONConverter {
             return null;
         }
 
+        try (JsonParser jsonParser = OBJECT_MAPPER.treeAsTokens(jsonNode)) {
+            jsonParser.nextToken();
+            return readGeometry(jsonParser);
+        } catch (JacksonException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the provided geometry as a GeoJSON geometry object directly to
+     * the provided JSON generator. In line with the JTS GeoJSON writer, the
+     * coordinate reference system is only included for the top-level
+     * geometry.
+     *
+     * @param geometry the geometry to be written
+     * @param jsonGenerator the JSON generator
+     * @param topLevel whether this is the top-level geometry
+     * @throws JacksonException if the geometry cannot be written
+     */
+    public static void writeGeometry(Geometry geometry, JsonGenerator jsonGenerator, boolean topLevel) throws JacksonException {
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeName("type");
+        jsonGenerator.writeString(geometry.getGeometryType());
+
+        // Write the coordinates, or the nested geometries of collections
+        if(geometry instanceof Point point) {
+            jsonGenerator.writeName("coordinates");
+            if(point.isEmpty()) {
+                jsonGenerator.writeStartArray();
+                jsonGenerator.writeEndArray();
+            } else {
+                writePosition(point.getCoordinateSequence(), 0, jsonGenerator);
+            }
+        } else if(geometry instanceof LineString lineString) {
+            jsonGenerator.writeName("coordinates");
+            writePositions(lineString.getCoordinateSequence(), jsonGenerator);
+        } else if(geometry instanceof Polygon polygon) {
+            jsonGenerator.writeName("coordinates");
+            writeRings(polygon, jsonGenerator);
+        } else if(geometry instanceof MultiPoint || geometry instanceof MultiLineString || geometry instanceof MultiPolygon) {
+            jsonGenerator.writeName("coordinates");
+            jsonGenerator.writeStartArray();
+            for(int i=0; i<geometry.getNumGeometries(); i++) {
+                final Geometry part = geometry.getGeometryN(i);
+                if(part instanceof Point point) {
+                    writePosition(point.getCoordinateSequence(), 0, jsonGenerator);
+                } else if(part instanceof LineString lineString) {
+                    writePositions(lineString.getCoordinateSequence(), jsonGenerator);
+                } else if(part instanceof Polygon polygon) {
+                    writeRings(polygon, jsonGenerator);
+                }
+            }
+            jsonGenerator.writeEndArray();
+        } else if(geometry instanceof GeometryCollection) {
+            jsonGenerator.writeName("geometries");
+            jsonGenerator.writeStartArray();
+            for(int i=0; i<geometry.getNumGeometries(); i++) {
+                writeGeometry(geometry.getGeometryN(i), jsonGenerator, false);
+            }
+            jsonGenerator.writeEndArray();
+        }
+
+        // Include the coordinate reference system for the top-level geometry
+        if(topLevel) {
+            jsonGenerator.writeName("crs");
+            jsonGenerator.writeStartObject();
+            jsonGenerator.writeName("type");
+            jsonGenerator.writeString("name");
+            jsonGenerator.writeName("properties");
+            jsonGenerator.writeStartObject();
+            jsonGenerator.writeName("name");
+            jsonGenerator.writeString(EPSG_PREFIX + geometry.getSRID());
+            jsonGenerator.writeEndObject();
+            jsonGenerator.writeEndObject();
+        }
+        jsonGenerator.writeEndObject();
+    }
+
+    /**
+     * Reads a GeoJSON geometry object directly from the provided JSON
+     * parser, which should be positioned at the start of the object. If the
+     * geometry object includes a named EPSG coordinate reference system, its
+     * code is used as the SRID of the geometry.
+     *
+     * @param jsonParser the JSON parser
+     * @return the geometry read, or null if the object is not a supported geometry
+     * @throws JacksonException if the JSON content cannot be read, or the coordinates are invalid
+     */
+    public static Geometry readGeometry(JsonParser jsonParser) throws JacksonException {
+        final RawGeometry rawGeometry = readRawGeometry(jsonParser);
+        final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), Optional.ofNullable(rawGeometry)
+                .map(RawGeometry::srid)
+                .orElse(0));
         try {
-            return new GeoJsonReader().read(jsonNode.toString());
-        } catch (ParseException e) {
+            return Optional.ofNullable(rawGeometry)
+                    .map(raw -> buildGeometry(raw, geometryFactory))
+                    .orElse(null);
+        } catch (IllegalArgumentException ex) {
+            throw new StreamReadException(jsonParser, "Invalid GeoJSON geometry: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Writes a single position of the provided coordinate sequence.
+     *
+     * @param coordinateSequence the coordinate sequence
+     * @param index the index of the position
+     * @param jsonGenerator the JSON generator
+     * @throws JacksonException if the position cannot be written
+     */
+    private static void writePosition(CoordinateSequence coordinateSequence, int index, JsonGenerator jsonGenerator) throws JacksonException {
+        jsonGenerator.writeStartArray();
+        jsonGenerator.writeNumber(ORDINATE_PRECISION.makePrecise(coordinateSequence.getX(index)));
+        jsonGenerator.writeNumber(ORDINATE_PRECISION.makePrecise(coordinateSequence.getY(index)));
+        if(coordinateSequence.hasZ() && !Double.isNaN(coordinateSequence.getZ(index))) {
+            jsonGenerator.writeNumber(ORDINATE_PRECISION.makePrecise(coordinateSequence.getZ(index)));
+        }
+        jsonGenerator.writeEndArray();
+    }
+
+    /**
+     * Writes all the positions of the provided coordinate sequence.
+     *
+     * @param coordinateSequence the coordinate sequence
+     * @param jsonGenerator the JSON generator
+     * @throws JacksonException if the positions cannot be written
+     */
+    private static void writePositions(CoordinateSequence coordinateSequence, JsonGenerator jsonGenerator) throws JacksonException {
+        jsonGenerator.writeStartArray();
+        for(int i=0; i<coordinateSequence.size(); i++) {
+            writePosition(coordinateSequence, i, jsonGenerator);
+        }
+        jsonGenerator.writeEndArray();
+    }
+
+    /**
+     * Writes the exterior and interior rings of the provided polygon.
+     *
+     * @param polygon the polygon
+     * @param jsonGenerator the JSON generator
+     * @throws JacksonException if the rings cannot be written
+     */
+    private static void writeRings(Polygon polygon, JsonGenerator jsonGenerator) throws JacksonException {
+        jsonGenerator.writeStartArray();
+        if(!polygon.isEmpty()) {
+            writePositions(polygon.getExteriorRing().getCoordinateSequence(), jsonGenerator);
+            for(int i=0; i<polygon.getNumInteriorRing(); i++) {
+                writePositions(polygon.getInteriorRingN(i).getCoordinateSequence(), jsonGenerator);
+            }
+        }
+        jsonGenerator.writeEndArray();
+    }
+
+    /**
+     * Reads the members of a GeoJSON geometry object, without building the
+     * geometry, since the type member might follow the coordinates.
+     *
+     * @param jsonParser the JSON parser
+     * @return the raw geometry members, or null for JSON null values
+     * @throws JacksonException if the JSON content cannot be read
+     */
+    private static RawGeometry readRawGeometry(JsonParser jsonParser) throws JacksonException {
+        if(jsonParser.currentToken() != JsonToken.START_OBJECT) {
+            jsonParser.skipChildren();
             return null;
         }
+
+        // Read the geometry object members
+        String type = null;
+        Object coordinates = null;
+        List<RawGeometry> geometries = null;
+        int srid = 0;
+        while(jsonParser.nextToken() != JsonToken.END_OBJECT) {
+            final String name = jsonParser.currentName();
+            jsonParser.nextToken();
+            switch (name) {
+                case "type" -> type = jsonParser.getValueAsString();
+                case "coordinates" -> coordinates = readCoordinates(jsonParser);
+                case "geometries" -> {
+                    geometries = new ArrayList<>();
+                    while(jsonParser.nextToken() != JsonToken.END_ARRAY) {
+                        geometries.add(readRawGeometry(jsonParser));
+                    }
+                }
+                case "crs" -> srid = readSrid(jsonParser);
+                default -> jsonParser.skipChildren();
+            }
+        }
+
+        // And return the raw geometry
+        return new RawGeometry(type, coordinates, geometries, srid);
+    }
+
+    /**
+     * Reads a (possibly nested) GeoJSON coordinates array. Positions are
+     * read straight into JTS coordinates, while any higher level arrays are
+     * read as lists. Positions with less than two ordinates are rejected,
+     * while any ordinates after the third one are ignored.
+     *
+     * @param jsonParser the JSON parser
+     * @return the coordinates read
+     * @throws JacksonException if the JSON content cannot be read, or a position is invalid
+     */
+    private static Object readCoordinates(JsonParser jsonParser) throws JacksonException {
+        if(jsonParser.currentToken() != JsonToken.START_ARRAY) {
+            jsonParser.skipChildren();
+            return null;
+        }
+
+        // Positions are arrays of numbers
+        JsonToken token = jsonParser.nextToken();
+        if(token != null && token.isNumeric()) {
+            final Coordinate position = new Coordinate();
+            int size = 0;
+            while(token != JsonToken.END_ARRAY) {
+                if(size < 3) {
+                    position.setOrdinate(size, jsonParser.getDoubleValue());
+                }
+                size++;
+                token = jsonParser.nextToken();
+            }
+            if(size < 2) {
+                throw new StreamReadException(jsonParser, "GeoJSON positions require at least two ordinates");
+            }
+            return position;
+        }
+
+        // Otherwise read the nested arrays
+        final List<Object> nested = new ArrayList<>();
+        while(token != JsonToken.END_ARRAY) {
+            nested.add(readCoordinates(jsonParser));
+            token = jsonParser.nextToken();
+        }
+        return nested;
+    }
+
+    /**
+     * Reads the SRID from a named EPSG GeoJSON coordinate reference system.
+     *
+     * @param jsonParser the JSON parser
+     * @return the SRID read, or zero if not available
+     * @throws JacksonException if the JSON content cannot be read
+     */
+    private static int readSrid(JsonParser jsonParser) throws JacksonException {
+        final JsonNode crs = OBJECT_MAPPER.readTree(jsonParser);
+        return Optional.ofNullable(crs)
+                .map(node -> node.path("properties").path("name").asString(""))
+                .filter(name -> name.startsWith(EPSG_PREFIX))
+                .map(name -> name.substring(EPSG_PREFIX.length()))
+                .map(code -> {
+                    try {
+                        return Integer.parseInt(code);
+                    } catch (NumberFormatException ex) {
+                        return 0;
+                    }
+                })
+                .orElse(0);
+    }
+
+    /**
+     * Builds the JTS geometry described by the provided raw geometry members.
+     *
+     * @param rawGeometry the raw geometry members
+     * @param geometryFactory the geometry factory
+     * @return the built geometry, or null if the type is not supported
+     */
+    private static Geometry buildGeometry(RawGeometry rawGeometry, GeometryFactory geometryFactory) {
+        final Object coordinates = rawGeometry.coordinates();
+        return switch (Optional.ofNullable(rawGeometry.type()).orElse("")) {
+            case Geometry.TYPENAME_POINT -> geometryFactory.createPoint(toCoordinate(coordinates));
+            case Geometry.TYPENAME_LINESTRING -> geometryFactory.createLineString(toCoordinates(coordinates));
+            case Geometry.TYPENAME_POLYGON -> toPolygon(coordinates, geometryFactory);
+            case Geometry.TYPENAME_MULTIPOINT -> geometryFactory.createMultiPointFromCoords(toCoordinates(coordinates));
+            case Geometry.TYPENAME_MULTILINESTRING -> geometryFactory.createMultiLineString(asList(coordinates).stream()
+                    .map(line -> geometryFactory.createLineString(toCoordinates(line)))
+                    .toArray(LineString[]::new));
+            case Geometry.TYPENAME_MULTIPOLYGON -> geometryFactory.createMultiPolygon(asList(coordinates).stream()
+                    .map(polygon -> toPolygon(polygon, geometryFactory))
+                    .toArray(Polygon[]::new));
+            case Geometry.TYPENAME_GEOMETRYCOLLECTION -> geometryFactory.createGeometryCollection(Optional.ofNullable(rawGeometry.geometries())
+                    .orElse(List.of())
+                    .stream()
+                    .filter(Objects::nonNull)
+                    .map(raw -> buildGeometry(raw, geometryFactory))
+                    .filter(Objects::nonNull)
+                    .toArray(Geometry[]::new));
+            default -> null;
+        };
+    }
+
+    /**
+     * Builds a polygon from the provided raw rings.
+     *
+     * @param coordinates the raw rings
+     * @param geometryFactory the geometry factory
+     * @return the polygon
+     */
+    private static Polygon toPolygon(Object coordinates, GeometryFactory geometryFactory) {
+        final List<Object> rings = asList(coordinates);
+        if(rings.isEmpty()) {
+            return geometryFactory.createPolygon();
+        }
+        return geometryFactory.createPolygon(
+                geometryFactory.createLinearRing(toCoordinates(rings.getFirst())),
+                rings.stream()
+                        .skip(1)
+                        .map(ring -> geometryFactory.createLinearRing(toCoordinates(ring)))
+                        .toArray(LinearRing[]::new));
+    }
+
+    /**
+     * Returns the provided raw positions as JTS coordinates, making sure
+     * they are all valid positions.
+     *
+     * @param coordinates the raw positions
+     * @return the JTS coordinates
+     * @throws IllegalArgumentException if any of the positions is invalid
+     */
+    private static Coordinate[] toCoordinates(Object coordinates) {
+        return asList(coordinates).stream()
+                .map(position -> {
+                    if(position instanceof Coordinate coordinate) {
+                        return coordinate;
+                    }
+                    throw new IllegalArgumentException("positions must be arrays of numbers");
+                })
+                .toArray(Coordinate[]::new);
+    }
+
+    /**
+     * Returns the provided raw single position as a JTS coordinate, or null
+     * for an empty coordinates array.
+     *
+     * @param coordinates the raw single position
+     * @return the JTS coordinate, or null if empty
+     * @throws IllegalArgumentException if the position is invalid
+     */
+    private static Coordinate toCoordinate(Object coordinates) {
+        if(coordinates instanceof Coordinate coordinate) {
+            return coordinate;
+        } else if(asList(coordinates).isEmpty()) {
+            return null;
+        }
+        throw new IllegalArgumentException("a point requires a single position");
+    }
+
+    /**
+     * Returns the provided raw coordinates as a list.
+     *
+     * @param coordinates the raw coordinates
+     * @return the raw coordinates list
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Object> asList(Object coordinates) {
+        return coordinates instanceof List<?> list ? (List<Object>) list : List.of();
+    }
+
+    /**
+     * The raw members of a GeoJSON geometry object.
+     *
+     * @param type the geometry type
+     * @param coordinates the raw coordinates
+     * @param geometries the raw nested geometries of collections
+     * @param srid the geometry SRID
+     */
+    private record RawGeometry(String type, Object coordinates, List<RawGeometry> geometries, int srid) {
     }
 
 }
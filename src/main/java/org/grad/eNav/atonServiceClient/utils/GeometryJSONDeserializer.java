@@ -18,7 +18,6 @@ package org.grad.eNav.atonServiceClient.utils;
 import tools.jackson.core.JacksonException;
 import tools.jackson.core.JsonParser;
 import tools.jackson.databind.DeserializationContext;
-import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ValueDeserializer;
 import org.locationtech.jts.geom.Geometry;
 
@@ -32,8 +31,7 @@ public class GeometryJSONDeserializer extends ValueDeserializer<Geometry> {
     @Override
     public Geometry deserialize(JsonParser jsonParser,
                                 DeserializationContext deserializationContext) throws JacksonException {
-        JsonNode node = jsonParser.readValueAsTree();
-        return GeometryJSONConverter.convertToGeometry(node);
+        return GeometryJSONConverter.readGeometry(jsonParser);
     }
 
 }
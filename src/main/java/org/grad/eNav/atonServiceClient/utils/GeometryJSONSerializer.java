@@ -30,7 +30,11 @@ public class GeometryJSONSerializer extends ValueSerializer<Geometry> {
     public void serialize(Geometry geometry,
                           JsonGenerator jsonGenerator,
                           SerializationContext serializationContext) throws JacksonException {
-        jsonGenerator.writeTree(GeometryJSONConverter.convertFromGeometry(geometry));
+        if(geometry == null) {
+            jsonGenerator.writeNull();
+            return;
+        }
+        GeometryJSONConverter.writeGeometry(geometry, jsonGenerator, true);
     }
 
 }
@@ -16,7 +16,6 @@
 package org.grad.eNav.atonServiceClient.utils;
 
 import _int.iho.s_125.s_100.gml.base._5_2.CurveType;
-import _int.iho.s_125.s_100.gml.base._5_2.ObjectFactory;
 import _int.iho.s_125.s_100.gml.base._5_2.PointType;
 import _int.iho.s_125.s_100.gml.base._5_2.SurfaceType;
 import _int.iho.s_125.s_100.gml.base._5_2.*;
@@ -30,16 +29,61 @@ import _int.iho.s_125.gml.cs0._1.AidsToNavigationType;
 import jakarta.xml.bind.JAXBElement;
 import org.grad.eNav.s125.utils.S125Utils;
 import org.locationtech.jts.geom.*;
+import org.locationtech.jts.geom.impl.CoordinateArraySequence;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
+import org.locationtech.jts.operation.union.UnaryUnionOp;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * The type Geometry S-125 Point/Curve/Surface Converter Class.
+ * <p/>
+ * The S-125 position lists are translated directly into packed primitive
+ * coordinate sequences (and back), while the geometry and GML object
+ * factories are shared, so that converting large curve and surface AtoN
+ * geometries does not allocate any objects per vertex.
+ * <p/>
+ * The geometries of the individual spatial attributes of an AtoN are
+ * assembled in a single pass, either through a cascaded union, or, when
+ * no dissolving of the parts is required, by simply collecting them into a
+ * geometry collection.
  *
  * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
  */
 public class GeometryS125Converter {
 
+    /**
+     * The shared WGS84 geometry factory, backed by packed coordinate sequences.
+     */
+    static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), 4326, PackedCoordinateSequenceFactory.DOUBLE_FACTORY);
+
+    /**
+     * The shared OpenGIS GML profiles object factory.
+     */
+    static final _int.iho.s_125.s_100.gml.profiles._5_2.ObjectFactory GML_PROFILES_FACTORY = new _int.iho.s_125.s_100.gml.profiles._5_2.ObjectFactory();
+
+    // Class Variables
+    private final AssemblyMode assemblyMode;
+
+    /**
+     * The default constructor, assembling the geometry parts through a
+     * cascaded union.
+     */
+    public GeometryS125Converter() {
+        this(AssemblyMode.UNION);
+    }
+
+    /**
+     * The constructor with the geometry parts assembly mode.
+     *
+     * @param assemblyMode the geometry parts assembly mode
+     */
+    public GeometryS125Converter(AssemblyMode assemblyMode) {
+        this.assemblyMode = Objects.requireNonNull(assemblyMode);
+    }
+
     /**
      * Convert an S-125 Aids to Navigation entry to the JTS Geometry.
      *
@@ -62,7 +106,7 @@ public class GeometryS125Converter {
      * @return the respective geometry
      */
     protected Geometry s125PointCurveSurfaceToGeometry(List<S100SpatialAttributeType> s100SpatialAttributeTypes) {
-        final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+        final GeometryFactory geometryFactory = GEOMETRY_FACTORY;
         return s100SpatialAttributeTypes.stream()
                 .map(pty -> {
                     // Map based on the type of the populated geometry
@@ -71,7 +115,7 @@ public class GeometryS125Converter {
                                 .map(PointProperty.class::cast)
                                 .map(PointProperty::getPoint)
                                 .map(PointType::getPos)
-                                .map(pos -> new Coordinate(pos.getValue()[0], pos.getValue()[1]))
+                                .map(pos -> new PackedCoordinateSequence.Double(new double[]{pos.getValue()[0], pos.getValue()[1]}, 2, 0))
                                 .map(geometryFactory::createPoint)
                                 .map(Geometry.class::cast)
                                 .orElse(geometryFactory.createEmpty(0));
@@ -87,8 +131,8 @@ public class GeometryS125Converter {
                                 .filter(LineStringSegmentType.class::isInstance)
                                 .map(LineStringSegmentType.class::cast)
                                 .map(LineStringSegmentType::getPosList)
-                                .map(this::gmlPosListToCoordinates)
-                                .map(coords -> coords.length == 1? geometryFactory.createPoint(coords[0]) : geometryFactory.createLineString(coords))
+                                .map(this::gmlPosListToCoordinateSequence)
+                                .map(coords -> coords.size() == 1? geometryFactory.createPoint(coords) : geometryFactory.createLineString(coords))
                                 .toList()
                                 .toArray(Geometry[]::new));
                     } else if(pty instanceof SurfaceProperty) {
@@ -108,14 +152,36 @@ public class GeometryS125Converter {
                                 .filter(LinearRingType.class::isInstance)
                                 .map(LinearRingType.class::cast)
                                 .map(LinearRingType::getPosList)
-                                .map(this::gmlPosListToCoordinates)
-                                .map(coords -> coords.length == 1? geometryFactory.createPoint(coords[0]) : geometryFactory.createPolygon(coords))
+                                .map(this::gmlPosListToCoordinateSequence)
+                                .map(coords -> coords.size() == 1? geometryFactory.createPoint(coords) : geometryFactory.createPolygon(coords))
                                 .toList()
                                 .toArray(Geometry[]::new));
                     }
                     return null;
                 })
-                .reduce(geometryFactory.createEmpty(-1), (un, el) -> un == null || un.isEmpty() ? el : un.union(el));
+                .filter(Objects::nonNull)
+                .collect(Collectors.collectingAndThen(Collectors.toList(), parts -> this.assemble(parts, geometryFactory)));
+    }
+
+    /**
+     * Assembles the provided geometry parts into a single geometry in one
+     * pass, based on the configured assembly mode. A single part is returned
+     * as is, while no parts result in an empty geometry.
+     *
+     * @param parts the geometry parts to be assembled
+     * @param geometryFactory the geometry factory
+     * @return the assembled geometry
+     */
+    protected Geometry assemble(List<Geometry> parts, GeometryFactory geometryFactory) {
+        if(parts.isEmpty()) {
+            return geometryFactory.createEmpty(-1);
+        } else if(parts.size() == 1) {
+            return parts.getFirst();
+        }
+        return switch (this.assemblyMode) {
+            case UNION -> UnaryUnionOp.union(parts, geometryFactory);
+            case COLLECTION -> geometryFactory.createGeometryCollection(parts.toArray(Geometry[]::new));
+        };
     }
 
     /**
@@ -140,8 +206,8 @@ public class GeometryS125Converter {
      * @param s100SpatialAttributeTypes     The S-125 geometry object to be populated
      */
     protected List<S100SpatialAttributeType> populatePointCurveSurfaceToGeometry(Geometry geometry, List<S100SpatialAttributeType> s100SpatialAttributeTypes) {
-        // Create an OpenGIS GML factory
-        _int.iho.s_125.s_100.gml.profiles._5_2.ObjectFactory opengisGMLFactory = new _int.iho.s_125.s_100.gml.profiles._5_2.ObjectFactory();
+        // Use the shared OpenGIS GML factory
+        final _int.iho.s_125.s_100.gml.profiles._5_2.ObjectFactory opengisGMLFactory = GML_PROFILES_FACTORY;
         s100SpatialAttributeTypes = s100SpatialAttributeTypes == null ? new ArrayList() : s100SpatialAttributeTypes;
 
         if(geometry instanceof Puntal) {
@@ -150,7 +216,7 @@ public class GeometryS125Converter {
 
             // And append the point
             pointProperty.getPoint().setPos(
-                    this.generatePointPropertyPosition(coordinatesToGmlPosList(geometry.getCoordinates()).getValue())
+                    this.generatePointPropertyPosition(coordinateSequenceToGmlPosList(this.coordinateSequenceOf(geometry)).getValue())
             );
             s100SpatialAttributeTypes.add(pointProperty);
         } else if(geometry instanceof Lineal) {
@@ -159,7 +225,7 @@ public class GeometryS125Converter {
 
             // And append the line string
             curveProperty.getCurve().getSegments().getAbstractCurveSegments().add(
-                    opengisGMLFactory.createLineStringSegment(generateCurvePropertySegment(coordinatesToGmlPosList(geometry.getCoordinates()).getValue()))
+                    opengisGMLFactory.createLineStringSegment(generateCurvePropertySegment(coordinateSequenceToGmlPosList(this.coordinateSequenceOf(geometry)).getValue()))
             );
             s100SpatialAttributeTypes.add(curveProperty);
         } else if(geometry instanceof Polygonal) {
@@ -168,7 +234,7 @@ public class GeometryS125Converter {
 
             // And append the surface patch
             surfaceProperty.getSurface().getPatches().getAbstractSurfacePatches().add(
-                    opengisGMLFactory.createPolygonPatch(generateSurfacePropertyPatch(coordinatesToGmlPosList(geometry.getCoordinates()).getValue()))
+                    opengisGMLFactory.createPolygonPatch(generateSurfacePropertyPatch(coordinateSequenceToGmlPosList(this.coordinateSequenceOf(geometry)).getValue()))
             );
             s100SpatialAttributeTypes.add(surfaceProperty);
         } else if(geometry instanceof GeometryCollection && geometry.getNumGeometries() > 0) {
@@ -189,8 +255,8 @@ public class GeometryS125Converter {
      * @return The populated point property
      */
     protected PolygonPatchType generateSurfacePropertyPatch(Double[] coords) {
-        // Create an OpenGIS GML factory
-        _int.iho.s_125.s_100.gml.profiles._5_2.ObjectFactory opengisGMLFactory = new _int.iho.s_125.s_100.gml.profiles._5_2.ObjectFactory();
+        // Use the shared OpenGIS GML factory
+        final _int.iho.s_125.s_100.gml.profiles._5_2.ObjectFactory opengisGMLFactory = GML_PROFILES_FACTORY;
 
         // Generate the elements
         PolygonPatchType polygonPatchType = new PolygonPatchTypeImpl();
@@ -254,9 +320,6 @@ public class GeometryS125Converter {
      * @return the initialised S-125 Surface Property object
      */
     protected SurfaceProperty initialiseSurfaceProperty() {
-        // Create an OpenGIS GML factory
-        ObjectFactory opengisGMLFactory = new ObjectFactory();
-
         // Generate the elements
         SurfaceProperty surfaceProperty = new SurfacePropertyImpl();
        SurfaceType surfaceType = new SurfaceTypeImpl();
@@ -314,11 +377,29 @@ public class GeometryS125Converter {
      * @return the respective coordinates
      */
     protected Coordinate[] gmlPosListToCoordinates(PosList posList) {
-        final List<Coordinate> result = new ArrayList<>();
-        for(int i=0; i<posList.getValue().length; i=i+2) {
-            result.add(new Coordinate(posList.getValue()[i], posList.getValue()[i+1]));
+        final Double[] values = posList.getValue();
+        final Coordinate[] result = new Coordinate[values.length / 2];
+        for(int i=0; i<result.length; i++) {
+            result[i] = new Coordinate(values[2*i], values[2*i+1]);
+        }
+        return result;
+    }
+
+    /**
+     * The primitive fast path of the position list translation, where the
+     * position list values are copied straight into a packed coordinate
+     * sequence, without creating any coordinate objects.
+     *
+     * @param posList the provided position list
+     * @return the respective packed coordinate sequence
+     */
+    protected CoordinateSequence gmlPosListToCoordinateSequence(PosList posList) {
+        final Double[] values = posList.getValue();
+        final double[] packed = new double[values.length - values.length % 2];
+        for(int i=0; i<packed.length; i++) {
+            packed[i] = values[i];
         }
-        return result.toArray(new Coordinate[]{});
+        return new PackedCoordinateSequence.Double(packed, 2, 0);
     }
 
     /**
@@ -329,18 +410,64 @@ public class GeometryS125Converter {
      * @return the respective position list
      */
     protected PosList coordinatesToGmlPosList(Coordinate[] coordinates) {
-        // Translate the coordinates to a simple list of doubles (Y, X)
-        List<Double> coords = Optional.ofNullable(coordinates)
-                .map(Arrays::asList)
-                .orElse(Collections.emptyList())
-                .stream()
-                .map(c -> Arrays.asList(c.getX(), c.getY()))
-                .flatMap(List::stream).toList();
+        return this.coordinateSequenceToGmlPosList(new CoordinateArraySequence(
+                Optional.ofNullable(coordinates).orElse(new Coordinate[]{})));
+    }
+
+    /**
+     * The primitive fast path of the position list generation, where the
+     * coordinate sequence ordinates are copied straight into the position
+     * list values.
+     *
+     * @param coordinateSequence the provided coordinate sequence
+     * @return the respective position list
+     */
+    protected PosList coordinateSequenceToGmlPosList(CoordinateSequence coordinateSequence) {
+        // Translate the coordinates to a simple array of doubles (Y, X)
+        final Double[] coords = new Double[coordinateSequence.size() * 2];
+        for(int i=0; i<coordinateSequence.size(); i++) {
+            coords[2*i] = coordinateSequence.getX(i);
+            coords[2*i+1] = coordinateSequence.getY(i);
+        }
 
         // The create the list and return
         PosList posList = new PosListImpl();
-        posList.setValue(coords.toArray(Double[]::new));
+        posList.setValue(coords);
         return posList;
     }
 
+    /**
+     * Returns the coordinate sequence of the provided geometry. For points,
+     * line strings and polygons without holes the underlying sequence is
+     * used directly, while for any other geometry the coordinates are
+     * collected into a new sequence.
+     *
+     * @param geometry the geometry
+     * @return the coordinate sequence of the geometry
+     */
+    protected CoordinateSequence coordinateSequenceOf(Geometry geometry) {
+        if(geometry instanceof org.locationtech.jts.geom.Point point) {
+            return point.getCoordinateSequence();
+        } else if(geometry instanceof org.locationtech.jts.geom.LineString lineString) {
+            return lineString.getCoordinateSequence();
+        } else if(geometry instanceof org.locationtech.jts.geom.Polygon polygon && polygon.getNumInteriorRing() == 0) {
+            return polygon.getExteriorRing().getCoordinateSequence();
+        }
+        return new CoordinateArraySequence(geometry.getCoordinates());
+    }
+
+    /**
+     * The modes in which the geometry parts of an AtoN can be assembled.
+     */
+    public enum AssemblyMode {
+        /**
+         * Dissolve the parts through a single cascaded union.
+         */
+        UNION,
+        /**
+         * Collect the parts into a geometry collection without dissolving.
+         */
+        COLLECTION
+    }
+
 }
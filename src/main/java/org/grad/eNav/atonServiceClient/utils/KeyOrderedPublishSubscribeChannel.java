@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.utils;
+
+import org.springframework.integration.channel.PublishSubscribeChannel;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessagingException;
+import org.springframework.util.ErrorHandler;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A key-ordered publish-subscribe channel.
+ * <p/>
+ * A publish-subscribe channel that dispatches the messages to each of its
+ * subscribers on the provided executor, so that the publishing thread does
+ * not have to wait for any of them. Messages carrying the same ordering key
+ * header (e.g. the AtoN identifier) are still delivered to every subscriber
+ * in the order they were published, while all other messages are delivered
+ * in parallel.
+ * <p/>
+ * The ordering cannot be provided by the channel executor itself, since the
+ * dispatched tasks no longer expose the messages they deliver by the time
+ * they reach it, so every subscriber is instead wrapped by a handler that
+ * hands the messages over to its own keyed serial executor. The number of
+ * deliveries pending across all subscribers can be bounded, in which case
+ * the publishers will wait for some of them to complete. As long as this
+ * bound does not exceed the queue capacity of the channel executor, the
+ * executor will never have to reject any deliveries.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class KeyOrderedPublishSubscribeChannel extends PublishSubscribeChannel {
+
+    /**
+     * The header carrying the ordering key of the messages.
+     */
+    public static final String ORDERING_KEY_HEADER = "ordering-key";
+
+    // Class Variables
+    private final Executor executor;
+    private final Semaphore permits;
+    private final ErrorHandler errorHandler;
+    private final Map<MessageHandler, OrderedMessageHandler> orderedHandlers = new ConcurrentHashMap<>();
+
+    /**
+     * The key-ordered publish-subscribe channel constructor, without any
+     * limit on the number of pending deliveries.
+     *
+     * @param executor the executor to dispatch the messages on
+     * @param errorHandler the handler of the subscriber errors
+     */
+    public KeyOrderedPublishSubscribeChannel(Executor executor, ErrorHandler errorHandler) {
+        this(executor, Integer.MAX_VALUE, errorHandler);
+    }
+
+    /**
+     * The key-ordered publish-subscribe channel constructor.
+     *
+     * @param executor the executor to dispatch the messages on
+     * @param maxPending the maximum number of pending deliveries across all subscribers
+     * @param errorHandler the handler of the subscriber errors
+     */
+    public KeyOrderedPublishSubscribeChannel(Executor executor, int maxPending, ErrorHandler errorHandler) {
+        super();
+        this.executor = executor;
+        this.permits = new Semaphore(Math.max(1, maxPending));
+        this.errorHandler = errorHandler;
+        this.setErrorHandler(errorHandler);
+    }
+
+    /**
+     * Subscribes the provided handler, wrapped so that the messages are
+     * delivered to it through its own keyed serial executor.
+     *
+     * @param handler the message handler
+     * @return whether the handler was subscribed
+     */
+    @Override
+    public boolean subscribe(MessageHandler handler) {
+        return super.subscribe(this.orderedHandlers.computeIfAbsent(handler, OrderedMessageHandler::new));
+    }
+
+    /**
+     * Unsubscribes the provided handler.
+     *
+     * @param handler the message handler
+     * @return whether the handler was unsubscribed
+     */
+    @Override
+    public boolean unsubscribe(MessageHandler handler) {
+        return Optional.ofNullable(this.orderedHandlers.remove(handler))
+                .map(super::unsubscribe)
+                .orElse(false);
+    }
+
+    /**
+     * The message handler wrapper delivering the messages through a keyed
+     * serial executor.
+     */
+    protected class OrderedMessageHandler implements MessageHandler {
+
+        // Class Variables
+        private final MessageHandler handler;
+        private final KeyedSerialExecutor keyedSerialExecutor;
+
+        /**
+         * The ordered message handler constructor.
+         *
+         * @param handler the wrapped message handler
+         */
+        OrderedMessageHandler(MessageHandler handler) {
+            this.handler = handler;
+            this.keyedSerialExecutor = new KeyedSerialExecutor(executor, permits);
+        }
+
+        /**
+         * Hands the provided message over to the keyed serial executor, to
+         * be delivered to the wrapped handler in the order of its key.
+         *
+         * @param message the message to be delivered
+         */
+        @Override
+        public void handleMessage(Message<?> message) {
+            this.keyedSerialExecutor.execute(message.getHeaders().get(ORDERING_KEY_HEADER), () -> {
+                try {
+                    this.handler.handleMessage(message);
+                } catch (MessagingException ex) {
+                    errorHandler.handleError(ex);
+                } catch (Exception ex) {
+                    errorHandler.handleError(new MessageDeliveryException(message, "Message delivery failed", ex));
+                }
+            });
+        }
+
+    }
+
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A keyed serial executor.
+ * <p/>
+ * Runs the submitted tasks on the provided delegate executor, while making
+ * sure that all tasks submitted for the same key are run one after the
+ * other, in the order they were submitted. Tasks of different keys, or
+ * without a key, are free to run in parallel.
+ * <p/>
+ * The tasks of each key are queued and drained by a single delegate task
+ * at a time, which hops back onto the delegate executor after every task
+ * so that busy keys do not monopolise its threads. The total number of
+ * pending tasks can also be bounded, in which case the submitters will wait
+ * for some of them to complete before their tasks are accepted. The pending
+ * task permits can be shared between multiple keyed serial executors, so
+ * that they are bounded together.
+ * <p/>
+ * Every pending task holds a permit, and each key occupies at most one
+ * delegate task at a time, so a delegate executor with a queue at least as
+ * large as the number of permits will never reject any tasks while running.
+ * Otherwise, the rejected tasks are run on the current thread, i.e. in a
+ * caller-runs fashion, and a rejected hop simply continues draining its key
+ * on the current thread, without any recursion.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Slf4j
+public class KeyedSerialExecutor implements Executor {
+
+    // Class Variables
+    private final Executor delegate;
+    private final Semaphore permits;
+    private final Map<Object, KeyQueue> queues = new ConcurrentHashMap<>();
+
+    /**
+     * The keyed serial executor constructor, without any limit on the
+     * number of pending tasks.
+     *
+     * @param delegate the executor to run the tasks on
+     */
+    public KeyedSerialExecutor(Executor delegate) {
+        this(delegate, Integer.MAX_VALUE);
+    }
+
+    /**
+     * The keyed serial executor constructor.
+     *
+     * @param delegate the executor to run the tasks on
+     * @param maxPending the maximum number of pending tasks
+     */
+    public KeyedSerialExecutor(Executor delegate, int maxPending) {
+        this(delegate, new Semaphore(Math.max(1, maxPending)));
+    }
+
+    /**
+     * The keyed serial executor constructor, with a pending task limit that
+     * may be shared with other keyed serial executors.
+     *
+     * @param delegate the executor to run the tasks on
+     * @param permits the pending task permits
+     */
+    public KeyedSerialExecutor(Executor delegate, Semaphore permits) {
+        this.delegate = delegate;
+        this.permits = permits;
+    }
+
+    /**
+     * Runs the provided task without any ordering guarantees. If the
+     * delegate executor rejects it, the task is run on the current thread.
+     *
+     * @param task the task to be run
+     */
+    @Override
+    public void execute(Runnable task) {
+        this.acquire();
+        final Runnable released = () -> {
+            try {
+                task.run();
+            } finally {
+                this.permits.release();
+            }
+        };
+        try {
+            this.delegate.execute(released);
+        } catch (RejectedExecutionException ex) {
+            released.run();
+        }
+    }
+
+    /**
+     * Runs the provided task once all the tasks previously submitted for the
+     * same key have completed. If no key is provided, the task is run
+     * without any ordering guarantees.
+     *
+     * @param key the ordering key
+     * @param task the task to be run
+     */
+    public void execute(Object key, Runnable task) {
+        if(key == null) {
+            this.execute(task);
+            return;
+        }
+
+        // Place the task at the tail of its key queue
+        this.acquire();
+        while (true) {
+            final KeyQueue queue = this.queues.computeIfAbsent(key, k -> new KeyQueue());
+            synchronized (queue) {
+                if(queue.closed) {
+                    continue;
+                }
+                queue.tasks.add(task);
+                if(queue.draining) {
+                    return;
+                }
+                queue.draining = true;
+            }
+
+            // And start draining the queue if not already doing so
+            try {
+                this.delegate.execute(() -> this.drain(key, queue));
+            } catch (RejectedExecutionException ex) {
+                this.drain(key, queue);
+            }
+            return;
+        }
+    }
+
+    /**
+     * Returns the number of keys with tasks still pending or running.
+     *
+     * @return the number of active keys
+     */
+    public int getActiveKeyCount() {
+        return this.queues.size();
+    }
+
+    /**
+     * Drains the provided key queue, running its tasks one after the other.
+     * After each task, the draining hops back onto the delegate executor,
+     * or continues on the current thread if the hop is rejected. Any errors
+     * raised by the tasks are only propagated once the draining has been
+     * handed over, so that the remaining tasks of the key are not stranded.
+     *
+     * @param key the ordering key
+     * @param queue the key queue
+     */
+    private void drain(Object key, KeyQueue queue) {
+        Error failure = null;
+        while (true) {
+            final Runnable task;
+            synchronized (queue) {
+                task = queue.tasks.poll();
+            }
+            try {
+                task.run();
+            } catch (RuntimeException ex) {
+                log.warn("Task failed for ordering key {}: {}", key, ex.getMessage());
+            } catch (Error error) {
+                if(failure == null) {
+                    failure = error;
+                } else {
+                    failure.addSuppressed(error);
+                }
+            } finally {
+                this.permits.release();
+            }
+
+            // Stop if there is nothing more to run
+            if(this.close(key, queue)) {
+                break;
+            }
+
+            // Otherwise give the other keys a chance to run
+            try {
+                this.delegate.execute(() -> this.drain(key, queue));
+                break;
+            } catch (RejectedExecutionException ex) {
+                log.trace("Continuing to drain ordering key {} on the current thread", key);
+            }
+        }
+
+        // Propagate any errors once the draining is handed over
+        if(failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Closes and removes the provided key queue if there are no more tasks
+     * pending in it.
+     *
+     * @param key the ordering key
+     * @param queue the key queue
+     * @return whether the key queue was closed
+     */
+    private boolean close(Object key, KeyQueue queue) {
+        synchronized (queue) {
+            if(queue.tasks.isEmpty()) {
+                queue.closed = true;
+                this.queues.remove(key, queue);
+            }
+            return queue.closed;
+        }
+    }
+
+    /**
+     * Acquires a pending task permit, waiting for one to become available
+     * if the maximum number of pending tasks has been reached.
+     */
+    private void acquire() {
+        try {
+            this.permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting to submit a task", ex);
+        }
+    }
+
+    /**
+     * The pending tasks of a single key.
+     */
+    private static final class KeyQueue {
+
+        // Class Variables
+        private final Deque<Runnable> tasks = new ArrayDeque<>();
+        private boolean draining = false;
+        private boolean closed = false;
+
+    }
+
+}
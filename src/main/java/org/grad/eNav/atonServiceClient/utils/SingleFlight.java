@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.utils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A single-flight request coalescing utility.
+ * <p/>
+ * Makes sure that only one operation for each key is in progress at any
+ * time. Any concurrent callers requesting the same key while the operation
+ * is running will not perform it again, but will wait for and share its
+ * result (or failure) instead. Once the operation completes, the next
+ * request for the same key will perform it anew.
+ *
+ * @param <K> the type of the operation keys
+ * @param <V> the type of the operation results
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SingleFlight<K, V> {
+
+    // Class Variables
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Performs the provided operation for the provided key, unless the same
+     * operation is already in progress, in which case its result will be
+     * shared.
+     *
+     * @param key the operation key
+     * @param operation the operation to be performed
+     * @return the operation result
+     */
+    public V execute(K key, Supplier<V> operation) {
+        final CompletableFuture<V> created = new CompletableFuture<>();
+        final CompletableFuture<V> existing = this.inFlight.putIfAbsent(key, created);
+
+        // If the operation is already in progress, wait for it
+        if(existing != null) {
+            this.coalesced.increment();
+            try {
+                return existing.join();
+            } catch (CompletionException ex) {
+                if(ex.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+
+        // Otherwise perform it and share the outcome, whatever it might be
+        try {
+            final V result = operation.get();
+            created.complete(result);
+            return result;
+        } catch (Throwable ex) {
+            created.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            this.inFlight.remove(key, created);
+        }
+    }
+
+    /**
+     * Returns the number of operations currently in progress.
+     *
+     * @return the number of operations currently in progress
+     */
+    public int getInFlightCount() {
+        return this.inFlight.size();
+    }
+
+    /**
+     * Returns the total number of requests that were coalesced onto an
+     * operation already in progress.
+     *
+     * @return the total number of coalesced requests
+     */
+    public long getCoalescedCount() {
+        return this.coalesced.sum();
+    }
+
+}
@@ -157,7 +157,7 @@ function connect() {
                 if(msg.headers["dataProductType"]=="S124") {
                     loadNavWarnGeometry(msg.headers, msg.body);
                 } else if(msg.headers["dataProductType"]=="S125") {
-                    loadAtoNGeometry(msg.headers, JSON.parse(msg.body));
+                    loadAtoNUpdates(msg.headers, JSON.parse(msg.body));
                 }
             });
         });
@@ -174,7 +174,7 @@ function connect() {
             if(msg.headers["dataProductType"]=="S124") {
                 loadNavWarnGeometry(msg.headers, msg.body);
             } else if(msg.headers["dataProductType"]=="S125") {
-                loadAtoNGeometry(msg.headers, JSON.parse(msg.body));
+                loadAtoNUpdates(msg.headers, JSON.parse(msg.body));
             }
         });
     }
@@ -479,6 +479,24 @@ function createMarker(center, icon, signedBy, issuedBy, xmlString, isWholeNAVARE
     return newMarker;
 }
 
+/**
+ * This function will load the AtoN updates received through the web-socket.
+ * These can either arrive as a batch, where each entry includes its own AtoN
+ * type, or as a single AtoN with its type included in the headers.
+ *
+ * @param {Object}        headers       The headers of the received message
+ * @param {Object}        body          The parsed body of the received message
+ */
+function loadAtoNUpdates(headers, body) {
+    if(headers["batch"]=="true") {
+        body.forEach(update => {
+            loadAtoNGeometry(Object.assign({}, headers, {"aton-type": update.atonType}), update.aton);
+        });
+    } else {
+        loadAtoNGeometry(headers, body);
+    }
+}
+
 /**
  * This function will load the AtoN geometry onto the drawnItems variable
  * so that it is shown in the maps layers.
@@ -487,6 +505,12 @@ function createMarker(center, icon, signedBy, issuedBy, xmlString, isWholeNAVARE
  * @param {Object}        aton          The AtoN objects to be drawn on the map
  */
 function loadAtoNGeometry(headers, aton) {
+    // Compact GeoJSON features are handled separately
+    if(aton && aton.type == "Feature") {
+        loadAtoNFeature(headers, aton);
+        return;
+    }
+
     // Get the display type and name for the AtoN
     var type = headers["aton-type"];
     var displayName = aton.featureNames.find(f => f.displayName);
@@ -528,6 +552,82 @@ function loadAtoNGeometry(headers, aton) {
     atonMarkers.push(atonMarker);
 }
 
+/**
+ * This function will load a compact AtoN GeoJSON feature, as generated by
+ * the server, onto the map. The feature geometry coordinates follow the
+ * GeoJSON axis order, i.e. longitude first and latitude second, while the
+ * feature properties carry the same symbology and information attributes
+ * as the complete S-125 AtoN objects.
+ *
+ * @param {Object}        headers       The headers of the received message
+ * @param {Object}        feature       The AtoN GeoJSON feature to be drawn on the map
+ */
+function loadAtoNFeature(headers, feature) {
+    // Get the display type and position for the AtoN
+    var type = feature.properties.seamarkType || headers["aton-type"];
+    var position = firstFeatureCoordinate(feature.geometry);
+    if(!position) {
+        return;
+    }
+
+    // Rebuild the AtoN attributes from the feature properties
+    var aton = Object.assign({}, feature.properties, {
+        id: feature.id,
+        featureNames: [{name: feature.properties.name || ""}],
+        informations: feature.properties.informations || [],
+        statuses: feature.properties.statuses || [],
+        seasonalActionRequireds: feature.properties.seasonalActionRequireds || []
+    });
+
+    // Get the signature information
+    var signedBy = feature.properties.signedBy || 'none';
+    var issuedBy = feature.properties.issuedBy || 'none';
+
+    // Get an icon through Niord
+    var atonIcon = L.icon({
+        iconUrl: computeAtonIconUrl(type, aton),
+        iconSize: [64, 64]
+    });
+
+    // Generate the map marker
+    var atonMarker = L.marker([position[1], position[0]], {icon: atonIcon})
+            .addTo(subscriptionMap);
+
+    // Show the AtoN information on click
+    atonMarker.on('click', () => {
+        // Update the signature information
+        $('#signed-by').text(signedBy);
+        $('#issued-by').text(issuedBy);
+
+        // And show the AtoN information
+        showInfoTable([atonParser.parseDataToTable(type, aton)]);
+    });
+
+    // And add the new marker in the satellite position markers
+    atonMarkers.push(atonMarker);
+}
+
+/**
+ * Returns the first coordinate of the provided GeoJSON geometry, diving into
+ * any nested coordinate arrays or geometry collections.
+ *
+ * @param {Object}        geometry      The GeoJSON geometry
+ * @return {Array} the first coordinate of the geometry, if any
+ */
+function firstFeatureCoordinate(geometry) {
+    if(!geometry) {
+        return undefined;
+    }
+    if(geometry.geometries) {
+        return geometry.geometries.map(firstFeatureCoordinate).find(c => c);
+    }
+    var coordinates = geometry.coordinates;
+    while(Array.isArray(coordinates) && Array.isArray(coordinates[0])) {
+        coordinates = coordinates[0];
+    }
+    return Array.isArray(coordinates) && coordinates.length >= 2 ? coordinates : undefined;
+}
+
 /**
  * Clears all the AtoN markers from the GUI map.
  */
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The Embedded STOMP Broker.
+ * <p/>
+ * A minimal local stand-in for the external STOMP broker used by the
+ * web-socket broker relay mode, so that the relay can be tested without a
+ * RabbitMQ or ActiveMQ instance. It only supports what the relay needs: it
+ * accepts every connection without heart-beats, keeps track of the
+ * subscriptions, records all the frames sent to it and forwards them to the
+ * subscribers of the same destination.
+ */
+public class EmbeddedStompBroker implements AutoCloseable {
+
+    // Class Variables
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Connection> connections = new CopyOnWriteArrayList<>();
+    private final List<Frame> sentFrames = new CopyOnWriteArrayList<>();
+    private final AtomicLong messageIds = new AtomicLong();
+
+    /**
+     * Starts the embedded STOMP broker on a free local port.
+     *
+     * @throws IOException if the broker socket cannot be opened
+     */
+    public EmbeddedStompBroker() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.executor.execute(this::accept);
+    }
+
+    /**
+     * Returns the local port the broker is listening on.
+     *
+     * @return the broker port
+     */
+    public int getPort() {
+        return this.serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns all the SEND frames received by the broker.
+     *
+     * @return the received SEND frames
+     */
+    public List<Frame> getSentFrames() {
+        return List.copyOf(this.sentFrames);
+    }
+
+    /**
+     * Returns the number of currently connected STOMP sessions.
+     *
+     * @return the number of connected STOMP sessions
+     */
+    public long getConnectedCount() {
+        return this.connections.stream().filter(connection -> connection.connected).count();
+    }
+
+    /**
+     * Stops the broker and closes all its connections.
+     *
+     * @throws IOException if the broker socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.serverSocket.close();
+        for(Connection connection : this.connections) {
+            connection.close();
+        }
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Accepts the incoming connections until the broker is closed.
+     */
+    private void accept() {
+        while(!this.serverSocket.isClosed()) {
+            try {
+                final Connection connection = new Connection(this.serverSocket.accept());
+                this.connections.add(connection);
+                this.executor.execute(connection::serve);
+            } catch (IOException ex) {
+                // The broker socket was closed
+            }
+        }
+    }
+
+    /**
+     * A STOMP frame.
+     *
+     * @param command the frame command
+     * @param headers the frame headers
+     * @param body the frame body
+     */
+    public record Frame(String command, Map<String, String> headers, byte[] body) {
+
+        /**
+         * Returns the frame body as a UTF-8 string.
+         *
+         * @return the frame body string
+         */
+        public String bodyAsString() {
+            return new String(this.body, StandardCharsets.UTF_8);
+        }
+
+    }
+
+    /**
+     * A client connection of the broker.
+     */
+    private class Connection {
+
+        // Class Variables
+        private final Socket socket;
+        private final Map<String, String> subscriptions = new ConcurrentHashMap<>();
+        private volatile boolean connected;
+
+        /**
+         * The connection constructor.
+         *
+         * @param socket the connection socket
+         */
+        Connection(Socket socket) {
+            this.socket = socket;
+        }
+
+        /**
+         * Reads and handles the incoming frames until the connection closes.
+         */
+        void serve() {
+            try (InputStream in = new BufferedInputStream(this.socket.getInputStream())) {
+                Frame frame;
+                while((frame = this.read(in)) != null) {
+                    this.handle(frame);
+                }
+            } catch (IOException ex) {
+                // The connection was closed
+            } finally {
+                this.close();
+            }
+        }
+
+        /**
+         * Handles the provided incoming frame.
+         *
+         * @param frame the incoming frame
+         * @throws IOException if a response frame cannot be written
+         */
+        void handle(Frame frame) throws IOException {
+            switch (frame.command()) {
+                case "CONNECT", "STOMP" -> {
+                    this.connected = true;
+                    this.write("CONNECTED", Map.of("version", "1.2", "heart-beat", "0,0"), new byte[0]);
+                }
+                case "SUBSCRIBE" -> this.subscriptions.put(frame.headers().get("id"), frame.headers().get("destination"));
+                case "UNSUBSCRIBE" -> this.subscriptions.remove(frame.headers().get("id"));
+                case "SEND" -> {
+                    sentFrames.add(frame);
+                    for(Connection connection : connections) {
+                        connection.deliver(frame);
+                    }
+                }
+                case "DISCONNECT" -> this.connected = false;
+                default -> { }
+            }
+
+            // Acknowledge any requested receipts
+            if(frame.headers().containsKey("receipt")) {
+                this.write("RECEIPT", Map.of("receipt-id", frame.headers().get("receipt")), new byte[0]);
+            }
+        }
+
+        /**
+         * Delivers the provided SEND frame to all the matching subscriptions.
+         *
+         * @param frame the SEND frame
+         * @throws IOException if the frame cannot be written
+         */
+        void deliver(Frame frame) throws IOException {
+            final String destination = frame.headers().get("destination");
+            for(Map.Entry<String, String> subscription : this.subscriptions.entrySet()) {
+                if(Objects.equals(subscription.getValue(), destination)) {
+                    final Map<String, String> headers = new LinkedHashMap<>(frame.headers());
+                    headers.remove("content-length");
+                    headers.put("subscription", subscription.getKey());
+                    headers.put("message-id", String.valueOf(messageIds.incrementAndGet()));
+                    this.write("MESSAGE", headers, frame.body());
+                }
+            }
+        }
+
+        /**
+         * Reads the next frame, skipping any heart-beats.
+         *
+         * @param in the connection input stream
+         * @return the frame read, or null if the connection closed
+         * @throws IOException if the frame cannot be read
+         */
+        Frame read(InputStream in) throws IOException {
+            // Read the command, skipping any heart-beat end-of-lines
+            String command;
+            do {
+                command = this.readLine(in);
+                if(command == null) {
+                    return null;
+                }
+            } while(command.isEmpty());
+
+            // Read the headers, keeping the first occurrence of each one
+            final Map<String, String> headers = new LinkedHashMap<>();
+            for(String line = this.readLine(in); line != null && !line.isEmpty(); line = this.readLine(in)) {
+                final int separator = line.indexOf(':');
+                if(separator > 0) {
+                    headers.putIfAbsent(line.substring(0, separator), line.substring(separator + 1));
+                }
+            }
+
+            // Read the body, either by its length or up to the terminating NUL
+            final ByteArrayOutputStream body = new ByteArrayOutputStream();
+            if(headers.containsKey("content-length")) {
+                body.write(in.readNBytes(Integer.parseInt(headers.get("content-length"))));
+                in.read();
+            } else {
+                for(int b = in.read(); b > 0; b = in.read()) {
+                    body.write(b);
+                }
+            }
+            return new Frame(command, headers, body.toByteArray());
+        }
+
+        /**
+         * Reads a single line, without its end-of-line characters.
+         *
+         * @param in the connection input stream
+         * @return the line read, or null if the connection closed
+         * @throws IOException if the line cannot be read
+         */
+        String readLine(InputStream in) throws IOException {
+            final ByteArrayOutputStream line = new ByteArrayOutputStream();
+            for(int b = in.read(); b != '\n'; b = in.read()) {
+                if(b < 0) {
+                    return null;
+                } else if(b != '\r') {
+                    line.write(b);
+                }
+            }
+            return line.toString(StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Writes a frame to the connection.
+         *
+         * @param command the frame command
+         * @param headers the frame headers
+         * @param body the frame body
+         * @throws IOException if the frame cannot be written
+         */
+        synchronized void write(String command, Map<String, String> headers, byte[] body) throws IOException {
+            final StringBuilder frame = new StringBuilder(command).append('\n');
+            headers.forEach((key, value) -> frame.append(key).append(':').append(value).append('\n'));
+            frame.append("content-length:").append(body.length).append("\n\n");
+            final OutputStream out = this.socket.getOutputStream();
+            out.write(frame.toString().getBytes(StandardCharsets.UTF_8));
+            out.write(body);
+            out.write(0);
+            out.flush();
+        }
+
+        /**
+         * Closes the connection.
+         */
+        void close() {
+            this.connected = false;
+            connections.remove(this);
+            try {
+                this.socket.close();
+            } catch (IOException ex) {
+                // Already closed
+            }
+        }
+
+    }
+
+}
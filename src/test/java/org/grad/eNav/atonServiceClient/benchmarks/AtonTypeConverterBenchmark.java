@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.benchmarks;
+
+import _int.iho.s_125.gml.cs0._1.*;
+import _int.iho.s_125.gml.cs0._1.impl.*;
+import org.grad.eNav.atonServiceClient.utils.AtonTypeConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The AtoN Type Converter Benchmark.
+ * <p/>
+ * Compares the seamark type resolution of a mixed S-125 dataset, the way
+ * it used to be done by picking the last implemented interface of every
+ * AtoN and running it through an if/else chain, against the memoised
+ * per-class lookup. The dataset is dominated by buoys and beacons, as in
+ * the usual national AtoN datasets, with a smaller share of lights and AIS
+ * AtoNs. To run it, use the main function from the test classpath.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AtonTypeConverterBenchmark {
+
+    /**
+     * The number of AtoNs in the dataset.
+     */
+    @Param({"1000", "10000"})
+    public int atonNo;
+
+    // Benchmark Variables
+    private AidsToNavigationType[] atons;
+
+    /**
+     * Generates the mixed AtoN dataset.
+     */
+    @Setup
+    public void setup() {
+        final Supplier<?>[] suppliers = new Supplier<?>[]{
+                LateralBuoyImpl::new, LateralBuoyImpl::new, LateralBuoyImpl::new, LateralBuoyImpl::new,
+                CardinalBuoyImpl::new, CardinalBuoyImpl::new, SpecialPurposeGeneralBuoyImpl::new,
+                SafeWaterBuoyImpl::new, IsolatedDangerBuoyImpl::new, LateralBeaconImpl::new,
+                LateralBeaconImpl::new, CardinalBeaconImpl::new, SpecialPurposeGeneralBeaconImpl::new,
+                LighthouseImpl::new, LightVesselImpl::new, VirtualAISAidToNavigationImpl::new
+        };
+        final Random random = new Random(42);
+        this.atons = new AidsToNavigationType[this.atonNo];
+        for(int i=0; i<this.atonNo; i++) {
+            this.atons[i] = (AidsToNavigationType) suppliers[random.nextInt(suppliers.length)].get();
+        }
+    }
+
+    /**
+     * The original resolution, through the last implemented interface and
+     * the if/else chain.
+     */
+    @Benchmark
+    public void convertWithInterfaceChain(Blackhole blackhole) {
+        for(AidsToNavigationType aton : this.atons) {
+            blackhole.consume(legacyConvertToSeamarkType(Arrays.asList(aton.getClass().getInterfaces()).getLast()));
+        }
+    }
+
+    /**
+     * The memoised per-class resolution.
+     */
+    @Benchmark
+    public void convertWithClassValue(Blackhole blackhole) {
+        for(AidsToNavigationType aton : this.atons) {
+            blackhole.consume(AtonTypeConverter.convertToSeamarkType(aton.getClass()));
+        }
+    }
+
+    /**
+     * The original if/else chain conversion, kept here as the baseline.
+     *
+     * @param s125Class the S-125 AtoN types
+     * @return the Open-SeaMarks types
+     */
+    private static String legacyConvertToSeamarkType(Class<?> s125Class) {
+        if(Objects.equals(s125Class, CardinalBeacon.class)) {
+            return "beacon_cardinal";
+        }
+        else if(Objects.equals(s125Class, LateralBeacon.class)) {
+            return "beacon_lateral";
+        }
+        else if(Objects.equals(s125Class, IsolatedDangerBeacon.class)) {
+            return "beacon_isolated_danger";
+        }
+        else if(Objects.equals(s125Class, SafeWaterBeacon.class)) {
+            return "beacon_safe_water";
+        }
+        else if(Objects.equals(s125Class, SpecialPurposeGeneralBeacon.class)) {
+            return "beacon_special_purpose";
+        }
+        else if(Objects.equals(s125Class, CardinalBuoy.class)) {
+            return "buoy_cardinal";
+        }
+        else if(Objects.equals(s125Class, LateralBuoy.class)) {
+            return "buoy_lateral";
+        }
+        else if(Objects.equals(s125Class, InstallationBuoy.class)) {
+            return "buoy_installation";
+        }
+        else if(Objects.equals(s125Class, IsolatedDangerBuoy.class)) {
+            return "buoy_isolated_danger";
+        }
+        else if(Objects.equals(s125Class, SafeWaterBuoy.class)) {
+            return "buoy_safe_water";
+        }
+        else if(Objects.equals(s125Class, SpecialPurposeGeneralBuoy.class)) {
+            return "buoy_special_purpose";
+        }
+        else if(Objects.equals(s125Class, Lighthouse.class)) {
+            return "light_major";
+        }
+        else if(Objects.equals(s125Class, LandmarkType.class)) {
+            return "landmark";
+        }
+        else if(Objects.equals(s125Class, LightVessel.class)) {
+            return "light_vessel";
+        }
+        else if(Objects.equals(s125Class, VirtualAISAidToNavigation.class)) {
+            return "virtual_aton";
+        } else {
+            return "";
+        }
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the benchmark arguments
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(AtonTypeConverterBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+}
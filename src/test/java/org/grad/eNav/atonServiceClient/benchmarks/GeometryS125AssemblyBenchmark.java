@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.benchmarks;
+
+import org.grad.eNav.atonServiceClient.utils.GeometryS125Converter;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Geometry S-125 Assembly Benchmark.
+ * <p/>
+ * Compares the original pairwise union reduction of the AtoN geometry parts
+ * against the single pass cascaded union and geometry collection assembly
+ * modes of the geometry S-125 converter, for AtoN features with 1, 10 and
+ * 1000 line parts. To run it, use the main function from the test classpath.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeometryS125AssemblyBenchmark {
+
+    /**
+     * The number of parts of the assembled AtoN features.
+     */
+    @Param({"1", "10", "1000"})
+    public int parts;
+
+    // Benchmark Variables
+    private GeometryFactory geometryFactory;
+    private List<Geometry> geometries;
+    private BenchmarkedConverter unionConverter;
+    private BenchmarkedConverter collectionConverter;
+
+    /**
+     * Generates the disjoint line parts to be assembled.
+     */
+    @Setup
+    public void setup() {
+        this.geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+        this.geometries = new ArrayList<>();
+        for(int i=0; i<this.parts; i++) {
+            this.geometries.add(this.geometryFactory.createGeometryCollection(new Geometry[]{
+                    this.geometryFactory.createLineString(new Coordinate[]{
+                            new Coordinate(51.0 + i * 1e-3, 1.0),
+                            new Coordinate(51.0 + i * 1e-3, 1.0005)
+                    })
+            }));
+        }
+        this.unionConverter = new BenchmarkedConverter(GeometryS125Converter.AssemblyMode.UNION);
+        this.collectionConverter = new BenchmarkedConverter(GeometryS125Converter.AssemblyMode.COLLECTION);
+    }
+
+    /**
+     * The original pairwise union reduction.
+     */
+    @Benchmark
+    public void assemblePairwiseUnion(Blackhole blackhole) {
+        blackhole.consume(this.geometries.stream()
+                .reduce(this.geometryFactory.createEmpty(-1), (un, el) -> un == null || un.isEmpty() ? el : un.union(el)));
+    }
+
+    /**
+     * The single pass cascaded union assembly.
+     */
+    @Benchmark
+    public void assembleCascadedUnion(Blackhole blackhole) {
+        blackhole.consume(this.unionConverter.assemble(this.geometries));
+    }
+
+    /**
+     * The single pass geometry collection assembly.
+     */
+    @Benchmark
+    public void assembleCollection(Blackhole blackhole) {
+        blackhole.consume(this.collectionConverter.assemble(this.geometries));
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the benchmark arguments
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(GeometryS125AssemblyBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * Exposes the geometry parts assembly of the geometry S-125 converter to
+     * the benchmark.
+     */
+    class BenchmarkedConverter extends GeometryS125Converter {
+
+        /**
+         * The constructor with the geometry parts assembly mode.
+         *
+         * @param assemblyMode the geometry parts assembly mode
+         */
+        BenchmarkedConverter(AssemblyMode assemblyMode) {
+            super(assemblyMode);
+        }
+
+        /**
+         * Assembles the provided geometry parts.
+         *
+         * @param parts the geometry parts
+         * @return the assembled geometry
+         */
+        Geometry assemble(List<Geometry> parts) {
+            return this.assemble(parts, geometryFactory);
+        }
+    }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.benchmarks;
+
+import _int.iho.s_125.s_100.gml.base._5_2.*;
+import _int.iho.s_125.s_100.gml.base._5_2.impl.*;
+import _int.iho.s_125.s_100.gml.profiles._5_2.*;
+import _int.iho.s_125.s_100.gml.profiles._5_2.impl.*;
+import org.grad.eNav.atonServiceClient.utils.GeometryS125Converter;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Geometry S-125 Converter Benchmark.
+ * <p/>
+ * Compares the original S-125 position list translation, which goes through
+ * boxed coordinate lists and a new geometry factory per call, against the
+ * primitive fast path of the geometry S-125 converter, backed by packed
+ * coordinate sequences and shared factories, for line strings of various
+ * sizes. Run it with the GC profiler (-prof gc) to compare the allocation
+ * rates per vertex. To run it, use the main function from the test
+ * classpath.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeometryS125ConverterBenchmark {
+
+    /**
+     * The number of vertices of the converted line strings.
+     */
+    @Param({"10", "1000", "100000"})
+    public int vertices;
+
+    // Benchmark Variables
+    private PosList posList;
+    private LineString lineString;
+    private BenchmarkedConverter converter;
+
+    /**
+     * Generates the position list and line string to be converted.
+     */
+    @Setup
+    public void setup() {
+        final Double[] values = new Double[this.vertices * 2];
+        for(int i=0; i<this.vertices; i++) {
+            values[2*i] = 51.0 + i * 1e-5;
+            values[2*i+1] = 1.0 + i * 1e-5;
+        }
+        this.posList = new PosListImpl();
+        this.posList.setValue(values);
+        this.converter = new BenchmarkedConverter();
+        this.lineString = this.converter.toLineString(this.posList);
+    }
+
+    /**
+     * The original position list to geometry translation.
+     */
+    @Benchmark
+    public void posListToGeometryOriginal(Blackhole blackhole) {
+        final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+        final List<Coordinate> result = new ArrayList<>();
+        for(int i=0; i<this.posList.getValue().length; i=i+2) {
+            result.add(new Coordinate(this.posList.getValue()[i], this.posList.getValue()[i+1]));
+        }
+        blackhole.consume(geometryFactory.createLineString(result.toArray(new Coordinate[]{})));
+    }
+
+    /**
+     * The primitive fast path position list to geometry translation.
+     */
+    @Benchmark
+    public void posListToGeometryPacked(Blackhole blackhole) {
+        blackhole.consume(this.converter.toLineString(this.posList));
+    }
+
+    /**
+     * The original geometry to position list translation.
+     */
+    @Benchmark
+    public void geometryToPosListOriginal(Blackhole blackhole) {
+        final List<Double> coords = Arrays.asList(this.lineString.getCoordinates())
+                .stream()
+                .map(c -> Arrays.asList(c.getX(), c.getY()))
+                .flatMap(List::stream).toList();
+        final PosList result = new PosListImpl();
+        result.setValue(coords.toArray(Double[]::new));
+        blackhole.consume(result);
+    }
+
+    /**
+     * The primitive fast path geometry to position list translation.
+     */
+    @Benchmark
+    public void geometryToPosListPacked(Blackhole blackhole) {
+        blackhole.consume(this.converter.toPosList(this.lineString));
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the benchmark arguments
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(GeometryS125ConverterBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * Exposes the fast path translations of the geometry S-125 converter to
+     * the benchmark.
+     */
+    static class BenchmarkedConverter extends GeometryS125Converter {
+
+        /**
+         * The shared geometry factory of the benchmark.
+         */
+        private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), 4326,
+                PackedCoordinateSequenceFactory.DOUBLE_FACTORY);
+
+        /**
+         * Translates the provided position list into a line string.
+         *
+         * @param posList the position list
+         * @return the line string
+         */
+        LineString toLineString(PosList posList) {
+            return GEOMETRY_FACTORY.createLineString(this.gmlPosListToCoordinateSequence(posList));
+        }
+
+        /**
+         * Translates the provided line string into a position list.
+         *
+         * @param lineString the line string
+         * @return the position list
+         */
+        PosList toPosList(LineString lineString) {
+            return this.coordinateSequenceToGmlPosList(this.coordinateSequenceOf(lineString));
+        }
+    }
+
+}
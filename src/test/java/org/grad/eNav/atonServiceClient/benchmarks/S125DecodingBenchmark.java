@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.benchmarks;
+
+import _int.iho.s_125.gml.cs0._1.AidsToNavigationType;
+import org.grad.eNav.atonServiceClient.components.S125DatasetReader;
+import org.grad.eNav.atonServiceClient.components.S125JAXBProvider;
+import org.grad.eNav.s125.utils.S125Utils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The S-125 Decoding Benchmark.
+ * <p/>
+ * Compares the per-dataset decoding cost of the S-125 utilities, which
+ * unmarshal the whole dataset tree from a string, against the streaming
+ * dataset reader backed by the shared S-125 JAXB context and unmarshaller
+ * pool. To run it, use the main function from the test classpath.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class S125DecodingBenchmark {
+
+    // Benchmark Variables
+    private byte[] data;
+    private S125DatasetReader s125DatasetReader;
+
+    /**
+     * Loads the S-125 dataset and initialises the streaming dataset reader.
+     */
+    @Setup
+    public void setup() throws Exception {
+        try (InputStream in = ClassLoader.getSystemResourceAsStream("s125-msg.xml")) {
+            assert in != null;
+            this.data = in.readAllBytes();
+        }
+
+        final S125JAXBProvider s125JAXBProvider = new S125JAXBProvider();
+        s125JAXBProvider.init();
+        this.s125DatasetReader = new S125DatasetReader();
+        ReflectionTestUtils.setField(this.s125DatasetReader, "s125JAXBProvider", s125JAXBProvider);
+        this.s125DatasetReader.init();
+    }
+
+    /**
+     * The original decoding, building the JAXB machinery for every dataset.
+     */
+    @Benchmark
+    public void decodeWithS125Utils(Blackhole blackhole) throws Exception {
+        S125Utils.getDatasetMembers(new String(this.data, StandardCharsets.UTF_8))
+                .stream()
+                .filter(AidsToNavigationType.class::isInstance)
+                .forEach(blackhole::consume);
+    }
+
+    /**
+     * The streaming decoding, using the shared JAXB context and pool.
+     */
+    @Benchmark
+    public void decodeWithPooledReader(Blackhole blackhole) throws Exception {
+        this.s125DatasetReader.readAidsToNavigation(this.data, blackhole::consume);
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the benchmark arguments
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(S125DecodingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+}
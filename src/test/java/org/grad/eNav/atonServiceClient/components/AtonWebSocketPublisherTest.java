@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.components;
+
+import _int.iho.s_125.gml.cs0._1.AidsToNavigationType;
+import _int.iho.s_125.gml.cs0._1.impl.AidsToNavigationTypeImpl;
+import _int.iho.s_125.gml.cs0._1.impl.VirtualAISAidToNavigationImpl;
+import org.grad.eNav.atonServiceClient.models.dtos.AtonFeatureDto;
+import org.grad.eNav.atonServiceClient.utils.GeometryS125Converter;
+import org.grad.eNav.atonServiceClient.utils.KeyOrderedPublishSubscribeChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.locationtech.jts.geom.Coordinate;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AtonWebSocketPublisherTest {
+
+    /**
+     * The Tested Component.
+     */
+    @InjectMocks
+    @Spy
+    AtonWebSocketPublisher atonWebSocketPublisher;
+
+    /**
+     * The Web-Socket mock.
+     */
+    @Mock
+    SimpMessagingTemplate webSocket;
+
+    /**
+     * The Web-Socket Backlog Interceptor mock.
+     */
+    @Mock
+    WebSocketBacklogInterceptor webSocketBacklogInterceptor;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.atonWebSocketPublisher.batchEnabled = true;
+        this.atonWebSocketPublisher.batchMaxSize = 2;
+        this.atonWebSocketPublisher.batchMaxLinger = Duration.ofMillis(100);
+        this.atonWebSocketPublisher.deliveryMode = AtonWebSocketPublisher.DeliveryMode.FULL;
+        this.atonWebSocketPublisher.geometryAssemblyMode = GeometryS125Converter.AssemblyMode.UNION;
+        this.atonWebSocketPublisher.init();
+    }
+
+    /**
+     * Common tear down for all the tests.
+     */
+    @AfterEach
+    void tearDown() {
+        this.atonWebSocketPublisher.destroy();
+    }
+
+    /**
+     * Test that a batch will be sent as a single frame as soon as it reaches
+     * its maximum size, with the AtoN types included in the payload.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBatchMaxSize() {
+        // Open a batch and add two AtoN updates
+        final AtonWebSocketPublisher.Batch batch = this.atonWebSocketPublisher.openBatch("/topic/test", Map.of("dataProductType", "S125"));
+        batch.add("virtual_aton", "aton1");
+        batch.add("light", "aton2");
+
+        // Make sure a single frame was sent
+        final ArgumentCaptor<Object> payloadCaptor = ArgumentCaptor.forClass(Object.class);
+        final ArgumentCaptor<Map<String, Object>> headersCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(this.webSocket, times(1)).convertAndSend(eq("/topic/test"), payloadCaptor.capture(), headersCaptor.capture());
+
+        // Make sure the frame contains both updates
+        final List<AtonWebSocketPublisher.AtonUpdate> payload = (List<AtonWebSocketPublisher.AtonUpdate>) payloadCaptor.getValue();
+        assertEquals(2, payload.size());
+        assertEquals(new AtonWebSocketPublisher.AtonUpdate("virtual_aton", "aton1"), payload.get(0));
+        assertEquals(new AtonWebSocketPublisher.AtonUpdate("light", "aton2"), payload.get(1));
+        assertEquals("S125", headersCaptor.getValue().get("dataProductType"));
+        assertEquals(true, headersCaptor.getValue().get("batch"));
+        assertEquals(2, headersCaptor.getValue().get("batch-size"));
+    }
+
+    /**
+     * Test that a batch that has not reached its maximum size will still be
+     * sent once its maximum linger time expires.
+     */
+    @Test
+    void testBatchMaxLinger() {
+        // Open a batch and add a single AtoN update
+        final AtonWebSocketPublisher.Batch batch = this.atonWebSocketPublisher.openBatch("/topic/test", Map.of());
+        batch.add("virtual_aton", "aton1");
+
+        // Make sure the frame was eventually sent
+        verify(this.webSocket, timeout(5000).times(1)).convertAndSend(eq("/topic/test"), any(List.class), anyMap());
+    }
+
+    /**
+     * Test that the batch frames are sent outside the batch lock, so that
+     * new AtoN updates can be appended while a frame is being sent.
+     */
+    @Test
+    void testBatchSendOutsideLock() throws Exception {
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            sending.countDown();
+            release.await();
+            return null;
+        }).when(this.webSocket).convertAndSend(eq("/topic/test"), any(Object.class), anyMap());
+
+        // Fill up a batch from another thread, blocking while it is sent
+        final AtonWebSocketPublisher.Batch batch = this.atonWebSocketPublisher.openBatch("/topic/test", Map.of());
+        final Thread sender = Thread.ofVirtual().start(() -> {
+            batch.add("virtual_aton", "aton1");
+            batch.add("light", "aton2");
+        });
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+        // Make sure a new update can still be appended
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> batch.add("light", "aton3"));
+
+        // Release the sender
+        release.countDown();
+        sender.join();
+    }
+
+    /**
+     * Test that closing a batch will send any pending AtoN updates, and that
+     * nothing is sent if the batch is empty.
+     */
+    @Test
+    void testBatchClose() {
+        // Closing an empty batch should not send anything
+        this.atonWebSocketPublisher.openBatch("/topic/test", Map.of()).close();
+        verify(this.webSocket, never()).convertAndSend(any(String.class), any(Object.class), anyMap());
+
+        // Closing a batch with pending updates should send them
+        try (AtonWebSocketPublisher.Batch batch = this.atonWebSocketPublisher.openBatch("/topic/test", Map.of())) {
+            batch.add("virtual_aton", "aton1");
+        }
+        verify(this.webSocket, times(1)).convertAndSend(eq("/topic/test"), any(List.class), anyMap());
+    }
+
+    /**
+     * Test that while the web-socket backlog interceptor reports consumers
+     * falling behind, a newer update of an AtoN pending in a batch will
+     * replace the older one, while otherwise both updates will be sent.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBatchConflate() {
+        this.atonWebSocketPublisher.batchMaxSize = 10;
+        final AidsToNavigationTypeImpl aton1 = new VirtualAISAidToNavigationImpl();
+        aton1.setIDCode("idCode1");
+        final AidsToNavigationTypeImpl aton2 = new VirtualAISAidToNavigationImpl();
+        aton2.setIDCode("idCode2");
+        final AidsToNavigationTypeImpl aton1Updated = new VirtualAISAidToNavigationImpl();
+        aton1Updated.setIDCode("idCode1");
+
+        // Publish two updates of the same AtoN with and without a backlog
+        for(boolean conflating : new boolean[]{false, true}) {
+            doReturn(conflating).when(this.webSocketBacklogInterceptor).isConflating();
+            try (AtonWebSocketPublisher.Batch batch = this.atonWebSocketPublisher.openBatch("/topic/" + conflating, Map.of())) {
+                batch.add("virtual_aton", aton1);
+                batch.add("virtual_aton", aton2);
+                batch.add("virtual_aton", aton1Updated);
+            }
+        }
+
+        // Make sure all the updates were sent while the consumers kept up
+        final ArgumentCaptor<Object> payloadCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(this.webSocket, times(1)).convertAndSend(eq("/topic/false"), payloadCaptor.capture(), anyMap());
+        assertEquals(3, ((List<AtonWebSocketPublisher.AtonUpdate>) payloadCaptor.getValue()).size());
+
+        // And only the latest update of each AtoN, in its original position, while they fell behind
+        verify(this.webSocket, times(1)).convertAndSend(eq("/topic/true"), payloadCaptor.capture(), anyMap());
+        final List<AtonWebSocketPublisher.AtonUpdate> payload = (List<AtonWebSocketPublisher.AtonUpdate>) payloadCaptor.getValue();
+        assertEquals(2, payload.size());
+        assertSame(aton1Updated, payload.get(0).aton());
+        assertSame(aton2, payload.get(1).aton());
+    }
+
+    /**
+     * Test that with batching disabled, every AtoN update will be sent in its
+     * own frame with the AtoN type included in the headers.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBatchDisabled() {
+        this.atonWebSocketPublisher.batchEnabled = false;
+
+        // Open a batch and add two AtoN updates
+        try (AtonWebSocketPublisher.Batch batch = this.atonWebSocketPublisher.openBatch("/topic/test", Map.of())) {
+            batch.add("virtual_aton", "aton1");
+            batch.add("light", "aton2");
+        }
+
+        // Make sure every update was sent separately
+        final ArgumentCaptor<Map<String, Object>> headersCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(this.webSocket, times(1)).convertAndSend(eq("/topic/test"), eq("aton1"), headersCaptor.capture());
+        assertEquals("virtual_aton", headersCaptor.getValue().get("aton-type"));
+        verify(this.webSocket, times(1)).convertAndSend(eq("/topic/test"), eq("aton2"), anyMap());
+    }
+
+    /**
+     * Test that in the feature delivery mode, the AtoN updates will be
+     * delivered as compact GeoJSON features including the geometry, seamark
+     * type, identifiers and signature information of each AtoN.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBatchFeatureMode() throws Exception {
+        this.atonWebSocketPublisher.deliveryMode = AtonWebSocketPublisher.DeliveryMode.FEATURE;
+
+        // Read the AtoN from the S-125 dataset file
+        final S125DatasetReader s125DatasetReader = new S125DatasetReader();
+        s125DatasetReader.s125JAXBProvider = new S125JAXBProvider();
+        s125DatasetReader.s125JAXBProvider.init();
+        s125DatasetReader.init();
+        final List<AidsToNavigationType> atons = new ArrayList<>();
+        try (InputStream in = ClassLoader.getSystemResourceAsStream("s125-msg.xml")) {
+            s125DatasetReader.readAidsToNavigation(in, atons::add);
+        }
+
+        // Publish the AtoN, alongside an entry without any geometry
+        try (AtonWebSocketPublisher.Batch batch = this.atonWebSocketPublisher.openBatch("/topic/test", Map.of("signed-by", "signer", "issued-by", "issuer"))) {
+            batch.add("virtual_aton", atons.getFirst());
+            batch.add("light", "not an S-125 AtoN");
+        }
+
+        // Make sure only the AtoN feature was sent
+        final ArgumentCaptor<Object> payloadCaptor = ArgumentCaptor.forClass(Object.class);
+        final ArgumentCaptor<Map<String, Object>> headersCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(this.webSocket, times(1)).convertAndSend(eq("/topic/test"), payloadCaptor.capture(), headersCaptor.capture());
+        final List<AtonWebSocketPublisher.AtonUpdate> payload = (List<AtonWebSocketPublisher.AtonUpdate>) payloadCaptor.getValue();
+        assertEquals(1, payload.size());
+        assertEquals("feature", headersCaptor.getValue().get("aton-format"));
+
+        // And that the feature is populated correctly
+        final AtonFeatureDto feature = assertInstanceOf(AtonFeatureDto.class, payload.getFirst().aton());
+        assertEquals("Feature", feature.getType());
+        assertEquals("ID001", feature.getId());
+        assertNotNull(feature.getGeometry());
+        assertFalse(feature.getGeometry().isEmpty());
+        assertEquals("virtual_aton", feature.getProperties().get("seamarkType"));
+        assertEquals("urn:mrn:grad:aton:test:corkhole", feature.getProperties().get("idCode"));
+        assertEquals("signer", feature.getProperties().get("signedBy"));
+        assertEquals("issuer", feature.getProperties().get("issuedBy"));
+
+        // Make sure the symbology and information attributes are included
+        assertNotNull(feature.getProperties().get("virtualAISAidToNavigationType"));
+        assertNotNull(feature.getProperties().get("statuses"));
+
+        // And that the positions follow the GeoJSON longitude/latitude order
+        final Coordinate s125Position = this.atonWebSocketPublisher.geometryS125Converter.convertToGeometry(atons.getFirst()).getCoordinate();
+        assertEquals(s125Position.getY(), feature.getGeometry().getCoordinate().getX());
+        assertEquals(s125Position.getX(), feature.getGeometry().getCoordinate().getY());
+    }
+
+    /**
+     * Test that the AtoN updates received through the publish-subscribe
+     * channel are batched per destination, while any other payloads are sent
+     * straight away and messages without a destination are ignored.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testHandleMessage() {
+        // Handle two AtoN updates, a notification and a message without a destination
+        this.atonWebSocketPublisher.handleMessage(MessageBuilder.withPayload(new AtonWebSocketPublisher.AtonUpdate("virtual_aton", "aton1"))
+                .setHeader(AtonWebSocketPublisher.DESTINATION_HEADER, "/topic/test")
+                .setHeader(KeyOrderedPublishSubscribeChannel.ORDERING_KEY_HEADER, "aton1")
+                .setHeader("signed-by", "signer")
+                .build());
+        this.atonWebSocketPublisher.handleMessage(MessageBuilder.withPayload(new AtonWebSocketPublisher.AtonUpdate("light", "aton2"))
+                .setHeader(AtonWebSocketPublisher.DESTINATION_HEADER, "/topic/test")
+                .setHeader(KeyOrderedPublishSubscribeChannel.ORDERING_KEY_HEADER, "aton2")
+                .setHeader("signed-by", "signer")
+                .build());
+        this.atonWebSocketPublisher.handleMessage(MessageBuilder.withPayload("subscription")
+                .setHeader(AtonWebSocketPublisher.DESTINATION_HEADER, "/topic/created")
+                .build());
+        this.atonWebSocketPublisher.handleMessage(MessageBuilder.withPayload("ignored").build());
+
+        // Make sure both AtoN updates were sent in a single batch
+        final ArgumentCaptor<Object> payloadCaptor = ArgumentCaptor.forClass(Object.class);
+        final ArgumentCaptor<Map<String, Object>> headersCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(this.webSocket, times(1)).convertAndSend(eq("/topic/test"), payloadCaptor.capture(), headersCaptor.capture());
+        assertEquals(2, ((List<AtonWebSocketPublisher.AtonUpdate>) payloadCaptor.getValue()).size());
+        assertEquals("signer", headersCaptor.getValue().get("signed-by"));
+        assertFalse(headersCaptor.getValue().containsKey(AtonWebSocketPublisher.DESTINATION_HEADER));
+        assertFalse(headersCaptor.getValue().containsKey(KeyOrderedPublishSubscribeChannel.ORDERING_KEY_HEADER));
+
+        // And that the notification was sent straight away
+        verify(this.webSocket, times(1)).convertAndSend(eq("/topic/created"), eq((Object) "subscription"), anyMap());
+        verify(this.webSocket, times(2)).convertAndSend(any(String.class), any(Object.class), anyMap());
+    }
+
+}
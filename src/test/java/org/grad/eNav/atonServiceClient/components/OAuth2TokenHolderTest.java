@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.components;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OAuth2TokenHolderTest {
+
+    /**
+     * The Tested Component.
+     */
+    @InjectMocks
+    OAuth2TokenHolder oAuth2TokenHolder;
+
+    /**
+     * The OAuth2 Authorized Client Manager mock.
+     */
+    @Mock
+    OAuth2AuthorizedClientManager authorizedClientManager;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.oAuth2TokenHolder.refreshBeforeExpiry = Duration.ofSeconds(60);
+        this.oAuth2TokenHolder.meterRegistry = new SimpleMeterRegistry();
+        this.oAuth2TokenHolder.init();
+    }
+
+    /**
+     * Common tear down for all the tests.
+     */
+    @AfterEach
+    void tearDown() {
+        this.oAuth2TokenHolder.destroy();
+    }
+
+    /**
+     * Test that the access token will only be requested once while it is
+     * still valid, and that the refresh latency is recorded.
+     */
+    @Test
+    void testGetAccessToken() {
+        doReturn(this.authorizedClient("token", Duration.ofMinutes(5))).when(this.authorizedClientManager).authorize(any());
+
+        // Perform the component call twice
+        assertEquals("token", this.oAuth2TokenHolder.getAccessToken());
+        assertEquals("token", this.oAuth2TokenHolder.getAccessToken());
+
+        // Make sure the token was only requested once
+        verify(this.authorizedClientManager, times(1)).authorize(any());
+        assertEquals(1, this.oAuth2TokenHolder.meterRegistry.find("oauth2.token.refresh").timer().count());
+    }
+
+    /**
+     * Test that a token that is due for a refresh will still be returned,
+     * while a new one is retrieved in the background.
+     */
+    @Test
+    void testGetAccessTokenRefresh() {
+        doReturn(this.authorizedClient("token1", Duration.ofSeconds(30)), this.authorizedClient("token2", Duration.ofMinutes(5)))
+                .when(this.authorizedClientManager).authorize(any());
+
+        // Perform the component call twice
+        assertEquals("token1", this.oAuth2TokenHolder.getAccessToken());
+        assertEquals("token1", this.oAuth2TokenHolder.getAccessToken());
+
+        // Make sure the new token was retrieved in the background
+        verify(this.authorizedClientManager, timeout(5000).times(2)).authorize(any());
+        final long deadline = System.currentTimeMillis() + 5000;
+        while(!"token2".equals(this.oAuth2TokenHolder.getAccessToken()) && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals("token2", this.oAuth2TokenHolder.getAccessToken());
+    }
+
+    /**
+     * Test that concurrent callers without a valid token will all wait on the
+     * same in-flight refresh.
+     */
+    @Test
+    void testGetAccessTokenCoalesced() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            latch.await();
+            return this.authorizedClient("token", Duration.ofMinutes(5));
+        }).when(this.authorizedClientManager).authorize(any());
+
+        // Perform concurrent component calls
+        final List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(5)) {
+            for(int i=0; i<5; i++) {
+                results.add(executor.submit(this.oAuth2TokenHolder::getAccessToken));
+            }
+            Thread.sleep(200);
+            latch.countDown();
+            for(Future<String> result : results) {
+                assertEquals("token", result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        // Make sure the token was only requested once
+        verify(this.authorizedClientManager, times(1)).authorize(any());
+    }
+
+    /**
+     * Test that a failed refresh will be propagated to the callers and
+     * counted in the failure metrics.
+     */
+    @Test
+    void testGetAccessTokenFailure() {
+        doThrow(new IllegalStateException("Authorization server unavailable")).when(this.authorizedClientManager).authorize(any());
+
+        // Perform the component call
+        assertThrows(IllegalStateException.class, () -> this.oAuth2TokenHolder.getAccessToken());
+
+        // Make sure the failure was counted
+        assertEquals(1.0, this.oAuth2TokenHolder.meterRegistry.find("oauth2.token.refresh.failures").counter().count());
+    }
+
+    /**
+     * Creates a mock OAuth2 authorized client with the provided access token
+     * value and validity.
+     *
+     * @param value the access token value
+     * @param validity the access token validity
+     * @return the mock OAuth2 authorized client
+     */
+    private OAuth2AuthorizedClient authorizedClient(String value, Duration validity) {
+        final OAuth2AuthorizedClient authorizedClient = mock(OAuth2AuthorizedClient.class);
+        doReturn(new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, value, Instant.now(), Instant.now().plus(validity)))
+                .when(authorizedClient).getAccessToken();
+        return authorizedClient;
+    }
+
+}
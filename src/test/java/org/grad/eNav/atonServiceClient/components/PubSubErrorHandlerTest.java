@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.components;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PubSubErrorHandlerTest {
+
+    // Test Variables
+    private PubSubErrorHandler pubSubErrorHandler;
+    private SimpleMeterRegistry meterRegistry;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.pubSubErrorHandler = new PubSubErrorHandler();
+        this.pubSubErrorHandler.errorsCapacity = 3;
+        this.pubSubErrorHandler.init();
+        this.pubSubErrorHandler.bindTo(this.meterRegistry);
+    }
+
+    /**
+     * Test that the handled errors are retained in the ring buffer, which
+     * will only keep the most recent ones, and counted per exception type.
+     */
+    @Test
+    void testHandleError() {
+        this.pubSubErrorHandler.handleError(new IllegalStateException("error 1"));
+        this.pubSubErrorHandler.handleError(new IllegalArgumentException("error 2"));
+        this.pubSubErrorHandler.handleError(new IllegalStateException("error 3"));
+        this.pubSubErrorHandler.handleError(new IllegalStateException("error 4"));
+
+        // Make sure only the most recent errors are retained
+        final List<PubSubErrorHandler.HandledError> recentErrors = this.pubSubErrorHandler.getRecentErrors();
+        assertEquals(3, recentErrors.size());
+        assertEquals("error 2", recentErrors.get(0).message());
+        assertEquals("error 3", recentErrors.get(1).message());
+        assertEquals("error 4", recentErrors.get(2).message());
+
+        // Make sure all the errors were counted
+        assertEquals(4, this.pubSubErrorHandler.getTotalErrors());
+        assertEquals(3L, this.pubSubErrorHandler.getErrorCounts().get(IllegalStateException.class.getName()));
+        assertEquals(1L, this.pubSubErrorHandler.getErrorCounts().get(IllegalArgumentException.class.getName()));
+        assertEquals(3.0, this.meterRegistry.find("pubsub.errors")
+                .tag("exception", IllegalStateException.class.getName())
+                .functionCounter()
+                .count());
+        assertEquals(3.0, this.meterRegistry.find("pubsub.errors.buffered").gauge().value());
+    }
+
+    /**
+     * Test that clearing the recent errors will not affect the error
+     * counters.
+     */
+    @Test
+    void testClearRecentErrors() {
+        this.pubSubErrorHandler.handleError(new IllegalStateException("error"));
+
+        // Clear the recent errors
+        this.pubSubErrorHandler.clearRecentErrors();
+
+        // Make sure only the ring buffer was cleared
+        assertTrue(this.pubSubErrorHandler.getRecentErrors().isEmpty());
+        assertEquals(1, this.pubSubErrorHandler.getTotalErrors());
+    }
+
+    /**
+     * Test that errors handled concurrently are all counted, while the ring
+     * buffer never grows beyond its capacity.
+     */
+    @Test
+    void testHandleErrorConcurrently() {
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for(int i=0; i<1000; i++) {
+                executor.execute(() -> this.pubSubErrorHandler.handleError(new IllegalStateException("error")));
+            }
+        }
+
+        // Make sure all the errors were counted but only a few retained
+        assertEquals(1000, this.pubSubErrorHandler.getTotalErrors());
+        assertEquals(1000L, this.pubSubErrorHandler.getErrorCounts().get(IllegalStateException.class.getName()));
+        assertTrue(this.pubSubErrorHandler.getRecentErrors().size() <= 3);
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.components;
+
+import _int.iho.s_125.gml.cs0._1.AidsToNavigationType;
+import _int.iho.s_125.gml.cs0._1.VirtualAISAidToNavigation;
+import jakarta.xml.bind.JAXBException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S125DatasetReaderTest {
+
+    // Test Variables
+    private S125DatasetReader s125DatasetReader;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() throws JAXBException {
+        this.s125DatasetReader = new S125DatasetReader();
+        this.s125DatasetReader.s125JAXBProvider = new S125JAXBProvider();
+        this.s125DatasetReader.s125JAXBProvider.init();
+        this.s125DatasetReader.init();
+    }
+
+    /**
+     * Test that the S-125 dataset reader will stream through the provided
+     * dataset and only pass the AtoN members to the consumer, skipping any
+     * other feature types such as the AtoN status information.
+     */
+    @Test
+    void testReadAidsToNavigation() throws Exception {
+        // Load the S-125 dataset file
+        final InputStream in = ClassLoader.getSystemResourceAsStream("s125-msg.xml");
+        assert in != null;
+
+        // Read the dataset members
+        final List<AidsToNavigationType> result = new ArrayList<>();
+        this.s125DatasetReader.readAidsToNavigation(in, result::add);
+
+        // Make sure only the AtoN was decoded
+        assertEquals(1, result.size());
+        assertInstanceOf(VirtualAISAidToNavigation.class, result.getFirst());
+        assertEquals("ID001", result.getFirst().getId());
+        assertEquals("urn:mrn:grad:aton:test:corkhole", result.getFirst().getIdCode());
+    }
+
+    /**
+     * Test that the S-125 dataset reader will throw a JAXB exception if the
+     * provided data is not a valid XML document.
+     */
+    @Test
+    void testReadAidsToNavigationInvalid() {
+        assertThrows(JAXBException.class, () -> this.s125DatasetReader.readAidsToNavigation(
+                "not an S-125 dataset".getBytes(StandardCharsets.UTF_8),
+                aton -> fail("No AtoN should have been decoded")));
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.components;
+
+import org.grad.eNav.atonServiceClient.feign.CKeeperClient;
+import org.grad.eNav.atonServiceClient.models.domain.ServiceInformationConfig;
+import org.grad.eNav.atonServiceClient.models.dtos.SignatureCertificateDto;
+import org.grad.eNav.atonServiceClient.utils.X509Utils;
+import org.grad.secomv2.core.base.DigitalSignatureCertificate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigInteger;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SecomCertificateProviderImplTest {
+
+    /**
+     * The Tested Component.
+     */
+    @InjectMocks
+    @Spy
+    SecomCertificateProviderImpl secomCertificateProvider;
+
+    /**
+     * The Service Information Config mock.
+     */
+    @Mock
+    ServiceInformationConfig serviceInformationConfig;
+
+    /**
+     * The cKeeper Feign Client mock.
+     */
+    @Mock
+    CKeeperClient cKeeperClient;
+
+    // Test Variables
+    private X509Certificate certificate;
+    private SignatureCertificateDto signatureCertificateDto;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        // Initialise the provider
+        this.secomCertificateProvider.refreshBeforeExpiry = Duration.ofHours(1);
+        this.secomCertificateProvider.maxAge = Duration.ofHours(1);
+        this.secomCertificateProvider.minRefreshInterval = Duration.ZERO;
+        this.secomCertificateProvider.init();
+
+        // Generate a certificate valid for a day
+        final Date validityBeginDate = new Date(System.currentTimeMillis() - 24 * 60 * 60 * 1000);
+        final Date validityEndDate = new Date(System.currentTimeMillis() + 24 * 60 * 60 * 1000);
+        this.certificate = X509Utils.generateX509Certificate(X509Utils.generateKeyPair(null), "UID=Test", validityBeginDate, validityEndDate, "SHA256WITHECDSA");
+
+        // And the cKeeper response
+        this.signatureCertificateDto = new SignatureCertificateDto();
+        this.signatureCertificateDto.setCertificateId(BigInteger.ONE);
+        this.signatureCertificateDto.setCertificate(X509Utils.formatCertificate(this.certificate));
+        this.signatureCertificateDto.setRootCertificate(X509Utils.formatCertificate(this.certificate));
+    }
+
+    /**
+     * Common tear down for all the tests.
+     */
+    @AfterEach
+    void tearDown() {
+        this.secomCertificateProvider.destroy();
+    }
+
+    /**
+     * Test that the signature certificate will only be retrieved from
+     * cKeeper once, and then served from the cache.
+     */
+    @Test
+    void testGetDigitalSignatureCertificate() {
+        doReturn(this.signatureCertificateDto).when(this.cKeeperClient).getSignatureCertificate(any(), any(), any(), any());
+
+        // Perform the component call twice
+        final DigitalSignatureCertificate result1 = this.secomCertificateProvider.getDigitalSignatureCertificate();
+        final DigitalSignatureCertificate result2 = this.secomCertificateProvider.getDigitalSignatureCertificate();
+
+        // Make sure the certificate is correct and cached
+        assertNotNull(result1);
+        assertEquals("1", result1.getCertificateAlias()[0]);
+        assertEquals(this.certificate, result1.getCertificate()[0]);
+        assertSame(result1, result2);
+        assertEquals(this.certificate.getNotAfter().toInstant(), this.secomCertificateProvider.getCachedCertificate().orElseThrow().notAfter());
+        verify(this.cKeeperClient, times(1)).getSignatureCertificate(any(), any(), any(), any());
+    }
+
+    /**
+     * Test that once the cached certificate is due for a refresh, the stale
+     * value will still be served while the refresh runs in the background.
+     */
+    @Test
+    void testGetDigitalSignatureCertificateRefresh() {
+        doReturn(this.signatureCertificateDto).when(this.cKeeperClient).getSignatureCertificate(any(), any(), any(), any());
+
+        // Make the certificate due for a refresh straight away
+        this.secomCertificateProvider.maxAge = Duration.ZERO;
+
+        // Perform the component call twice
+        final DigitalSignatureCertificate result1 = this.secomCertificateProvider.getDigitalSignatureCertificate();
+        final DigitalSignatureCertificate result2 = this.secomCertificateProvider.getDigitalSignatureCertificate();
+
+        // Make sure the stale value was served and refreshed in the background
+        assertSame(result1, result2);
+        verify(this.cKeeperClient, timeout(5000).times(2)).getSignatureCertificate(any(), any(), any(), any());
+    }
+
+    /**
+     * Test that a certificate with a validity shorter than the refresh
+     * period will not be refreshed sooner than the minimum refresh interval.
+     */
+    @Test
+    void testGetDigitalSignatureCertificateMinRefreshInterval() {
+        doReturn(this.signatureCertificateDto).when(this.cKeeperClient).getSignatureCertificate(any(), any(), any(), any());
+
+        // Make the refresh period longer than the certificate validity
+        this.secomCertificateProvider.refreshBeforeExpiry = Duration.ofDays(2);
+        this.secomCertificateProvider.minRefreshInterval = Duration.ofMinutes(1);
+
+        // Perform the component call a few times
+        this.secomCertificateProvider.getDigitalSignatureCertificate();
+        this.secomCertificateProvider.getDigitalSignatureCertificate();
+        this.secomCertificateProvider.getDigitalSignatureCertificate();
+
+        // Make sure the refresh was postponed and cKeeper only contacted once
+        assertTrue(this.secomCertificateProvider.getCachedCertificate().orElseThrow().refreshAt().isAfter(Instant.now()));
+        verify(this.cKeeperClient, times(1)).getSignatureCertificate(any(), any(), any(), any());
+    }
+
+    /**
+     * Test that invalidating the cached certificate will force it to be
+     * retrieved from cKeeper again.
+     */
+    @Test
+    void testInvalidate() {
+        doReturn(this.signatureCertificateDto).when(this.cKeeperClient).getSignatureCertificate(any(), any(), any(), any());
+
+        // Perform the component calls
+        this.secomCertificateProvider.getDigitalSignatureCertificate();
+        this.secomCertificateProvider.invalidate();
+        assertTrue(this.secomCertificateProvider.getCachedCertificate().isEmpty());
+        this.secomCertificateProvider.getDigitalSignatureCertificate();
+
+        // Make sure cKeeper was contacted twice
+        verify(this.cKeeperClient, times(2)).getSignatureCertificate(any(), any(), any(), any());
+    }
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.components;
+
+import org.grad.eNav.atonServiceClient.utils.X509Utils;
+import org.grad.secomv2.core.base.SecomTrustStoreProvider;
+import org.grad.secomv2.core.models.enums.DigitalSignatureAlgorithmEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.Signature;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SecomSignatureVerifierTest {
+
+    /**
+     * The Tested Component.
+     */
+    @InjectMocks
+    @Spy
+    SecomSignatureVerifier secomSignatureVerifier;
+
+    /**
+     * The SECOM Trust Store Provider mock.
+     */
+    @Mock
+    SecomTrustStoreProvider secomTrustStoreProvider;
+
+    // Test Variables
+    private KeyPair keyPair;
+    private X509Certificate certificate;
+    private KeyStore trustStore;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        // Initialise the verifier
+        this.secomSignatureVerifier.cacheTtl = Duration.ofMinutes(10);
+        this.secomSignatureVerifier.cacheMaxSize = 10;
+        this.secomSignatureVerifier.init();
+
+        // Generate a trusted certificate
+        final Date validityBeginDate = new Date(System.currentTimeMillis() - 24 * 60 * 60 * 1000);
+        final Date validityEndDate = new Date(System.currentTimeMillis() + 24 * 60 * 60 * 1000);
+        this.keyPair = X509Utils.generateKeyPair(null);
+        this.certificate = X509Utils.generateX509Certificate(this.keyPair, "UID=Test", validityBeginDate, validityEndDate, "SHA256WITHECDSA");
+
+        // And place it in the trust store
+        this.trustStore = KeyStore.getInstance(KeyStore.getDefaultType());
+        this.trustStore.load(null, null);
+        this.trustStore.setCertificateEntry("rootCertificate", this.certificate);
+    }
+
+    /**
+     * Test that a certificate chain that can be validated against the trust
+     * store will be trusted, and that the validation result will be cached.
+     */
+    @Test
+    void testIsTrusted() {
+        doReturn(this.trustStore).when(this.secomTrustStoreProvider).getTrustStore();
+
+        // Perform the component call twice
+        assertTrue(this.secomSignatureVerifier.isTrusted(new X509Certificate[]{this.certificate}));
+        assertTrue(this.secomSignatureVerifier.isTrusted(new X509Certificate[]{this.certificate}));
+
+        // Make sure the chain was only validated once
+        verify(this.secomSignatureVerifier, times(1)).validateChain(any(), any());
+    }
+
+    /**
+     * Test that a certificate chain that cannot be validated against the
+     * trust store will not be trusted.
+     */
+    @Test
+    void testIsTrustedUntrusted() throws Exception {
+        doReturn(this.trustStore).when(this.secomTrustStoreProvider).getTrustStore();
+
+        // Generate an untrusted certificate
+        final Date validityBeginDate = new Date(System.currentTimeMillis() - 24 * 60 * 60 * 1000);
+        final Date validityEndDate = new Date(System.currentTimeMillis() + 24 * 60 * 60 * 1000);
+        final X509Certificate untrusted = X509Utils.generateX509Certificate(X509Utils.generateKeyPair(null), "UID=Other", validityBeginDate, validityEndDate, "SHA256WITHECDSA");
+
+        // Perform the component call
+        assertFalse(this.secomSignatureVerifier.isTrusted(new X509Certificate[]{untrusted}));
+    }
+
+    /**
+     * Test that no certificate chain will be trusted if the trust store is
+     * not available, or no certificates are provided.
+     */
+    @Test
+    void testIsTrustedNoTrustStore() {
+        doReturn(null).when(this.secomTrustStoreProvider).getTrustStore();
+
+        // Perform the component calls
+        assertFalse(this.secomSignatureVerifier.isTrusted(new X509Certificate[]{this.certificate}));
+        assertFalse(this.secomSignatureVerifier.isTrusted(new X509Certificate[]{}));
+        assertFalse(this.secomSignatureVerifier.isTrusted(null));
+    }
+
+    /**
+     * Test that invalidating the verifier will force the certificate chains
+     * to be validated again against a freshly loaded trust store.
+     */
+    @Test
+    void testInvalidate() {
+        doReturn(this.trustStore).when(this.secomTrustStoreProvider).getTrustStore();
+
+        // Perform the component calls
+        assertTrue(this.secomSignatureVerifier.isTrusted(new X509Certificate[]{this.certificate}));
+        this.secomSignatureVerifier.invalidate();
+        assertTrue(this.secomSignatureVerifier.isTrusted(new X509Certificate[]{this.certificate}));
+
+        // Make sure the chain was validated twice
+        verify(this.secomSignatureVerifier, times(2)).validateChain(any(), any());
+    }
+
+    /**
+     * Test that a reloaded SECOM trust store will discard the cached chain
+     * validation results.
+     */
+    @Test
+    void testTrustStoreReloaded() throws Exception {
+        // Create an empty trust store to be reloaded
+        final KeyStore emptyTrustStore = KeyStore.getInstance(KeyStore.getDefaultType());
+        emptyTrustStore.load(null, null);
+        when(this.secomTrustStoreProvider.getTrustStore()).thenReturn(this.trustStore, emptyTrustStore);
+
+        // Perform the component calls
+        assertTrue(this.secomSignatureVerifier.isTrusted(new X509Certificate[]{this.certificate}));
+        assertFalse(this.secomSignatureVerifier.isTrusted(new X509Certificate[]{this.certificate}));
+
+        // Make sure the chain was validated twice
+        verify(this.secomSignatureVerifier, times(2)).validateChain(any(), any());
+    }
+
+    /**
+     * Test that the signatures will be verified in-process using the public
+     * key of the signing certificate.
+     */
+    @Test
+    void testVerifySignature() throws Exception {
+        final byte[] content = "SECOM message content".getBytes(StandardCharsets.UTF_8);
+
+        // Sign the content
+        final Signature signer = Signature.getInstance(DigitalSignatureAlgorithmEnum.SHA3_384_WITH_ECDSA.getValue());
+        signer.initSign(this.keyPair.getPrivate());
+        signer.update(content);
+        final byte[] signature = signer.sign();
+
+        // Make sure only the correct content is verified
+        assertTrue(this.secomSignatureVerifier.verifySignature(this.certificate, DigitalSignatureAlgorithmEnum.SHA3_384_WITH_ECDSA, signature, content));
+        assertFalse(this.secomSignatureVerifier.verifySignature(this.certificate, DigitalSignatureAlgorithmEnum.SHA3_384_WITH_ECDSA, signature, "Tampered content".getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.components;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyStore;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SecomTrustStoreProviderImplTest {
+
+    /**
+     * The Tested Component.
+     */
+    @Spy
+    SecomTrustStoreProviderImpl secomTrustStoreProvider;
+
+    /**
+     * The temporary trust store directory.
+     */
+    @TempDir
+    Path tempDir;
+
+    // Test Variables
+    private Path trustStorePath;
+    private KeyStore trustStore1;
+    private KeyStore trustStore2;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        // Create the trust store file
+        this.trustStorePath = Files.write(this.tempDir.resolve("truststore.jks"), new byte[]{1});
+
+        // Create the trust stores to be loaded
+        this.trustStore1 = KeyStore.getInstance(KeyStore.getDefaultType());
+        this.trustStore1.load(null, null);
+        this.trustStore2 = KeyStore.getInstance(KeyStore.getDefaultType());
+        this.trustStore2.load(null, null);
+
+        // Set the component configuration
+        this.secomTrustStoreProvider.watchEnabled = true;
+        this.secomTrustStoreProvider.meterRegistry = new SimpleMeterRegistry();
+        doReturn(this.trustStorePath).when(this.secomTrustStoreProvider).getTrustStorePath();
+    }
+
+    /**
+     * Common tear down for all the tests.
+     */
+    @AfterEach
+    void tearDown() {
+        this.secomTrustStoreProvider.destroy();
+    }
+
+    /**
+     * Test that the trust store will only be loaded once and then served
+     * from memory, while the load metrics are published.
+     */
+    @Test
+    void testGetTrustStore() throws Exception {
+        doReturn(this.trustStore1).when(this.secomTrustStoreProvider).loadTrustStore();
+
+        // Initialise the component
+        this.secomTrustStoreProvider.init();
+
+        // Perform the component call twice
+        assertSame(this.trustStore1, this.secomTrustStoreProvider.getTrustStore());
+        assertSame(this.trustStore1, this.secomTrustStoreProvider.getTrustStore());
+
+        // Make sure the trust store was only loaded once
+        verify(this.secomTrustStoreProvider, times(1)).loadTrustStore();
+        assertTrue(this.secomTrustStoreProvider.getLastReload().isPresent());
+        assertEquals(1, this.secomTrustStoreProvider.meterRegistry.find("secom.truststore.load").timer().count());
+        assertTrue(this.secomTrustStoreProvider.meterRegistry.find("secom.truststore.last.reload").gauge().value() > 0);
+    }
+
+    /**
+     * Test that the trust store will be reloaded when its file changes.
+     */
+    @Test
+    void testGetTrustStoreReloaded() throws Exception {
+        doReturn(this.trustStore1, this.trustStore2).when(this.secomTrustStoreProvider).loadTrustStore();
+
+        // Initialise the component
+        this.secomTrustStoreProvider.init();
+        assertSame(this.trustStore1, this.secomTrustStoreProvider.getTrustStore());
+
+        // Rotate the trust store file
+        this.rotateTrustStore();
+
+        // Make sure the new trust store was picked up
+        verify(this.secomTrustStoreProvider, timeout(10000).atLeast(2)).loadTrustStore();
+        final long deadline = System.currentTimeMillis() + 10000;
+        while(this.secomTrustStoreProvider.getTrustStore() != this.trustStore2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertSame(this.trustStore2, this.secomTrustStoreProvider.getTrustStore());
+    }
+
+    /**
+     * Test that if the rotated trust store cannot be loaded, the previous
+     * one will keep being served.
+     */
+    @Test
+    void testGetTrustStoreReloadFailed() throws Exception {
+        doReturn(this.trustStore1).doThrow(new IOException("Broken trust store")).when(this.secomTrustStoreProvider).loadTrustStore();
+
+        // Initialise the component
+        this.secomTrustStoreProvider.init();
+
+        // Rotate the trust store file
+        this.rotateTrustStore();
+
+        // Make sure the previous trust store is still served
+        verify(this.secomTrustStoreProvider, timeout(10000).atLeast(2)).loadTrustStore();
+        assertSame(this.trustStore1, this.secomTrustStoreProvider.getTrustStore());
+    }
+
+    /**
+     * Rewrites the trust store file with a new modification time.
+     *
+     * @throws IOException if the trust store file cannot be written
+     */
+    private void rotateTrustStore() throws IOException {
+        Files.write(this.trustStorePath, new byte[]{2});
+        Files.setLastModifiedTime(this.trustStorePath, FileTime.from(Instant.now().plusSeconds(60)));
+    }
+
+}
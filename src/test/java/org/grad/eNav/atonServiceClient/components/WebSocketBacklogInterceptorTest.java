@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.components;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebSocketBacklogInterceptorTest {
+
+    /**
+     * The Tested Component.
+     */
+    @InjectMocks
+    WebSocketBacklogInterceptor webSocketBacklogInterceptor;
+
+    /**
+     * The Client Outbound Channel mock.
+     */
+    @Mock
+    MessageChannel clientOutboundChannel;
+
+    /**
+     * The Outbound Message Handler mock.
+     */
+    @Mock
+    MessageHandler messageHandler;
+
+    /**
+     * The Web-Socket Handler mock.
+     */
+    @Mock
+    WebSocketHandler webSocketHandler;
+
+    /**
+     * The Web-Socket Session mock.
+     */
+    @Mock
+    WebSocketSession webSocketSession;
+
+    // Test Variables
+    private WebSocketHandler decoratedHandler;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        this.webSocketBacklogInterceptor.slowConsumerPolicy = WebSocketBacklogInterceptor.SlowConsumerPolicy.TERMINATE;
+        this.webSocketBacklogInterceptor.backlogThreshold = 1;
+        this.webSocketBacklogInterceptor.meterRegistry = new SimpleMeterRegistry();
+        this.webSocketBacklogInterceptor.init();
+
+        // Establish the web-socket session connection
+        doReturn("session1").when(this.webSocketSession).getId();
+        this.decoratedHandler = this.webSocketBacklogInterceptor.decorate(this.webSocketHandler);
+        this.decoratedHandler.afterConnectionEstablished(this.webSocketSession);
+    }
+
+    /**
+     * Test that the outbound frames are counted in the backlog of their
+     * session until they are sent, and that the backlog is published.
+     */
+    @Test
+    void testSessionBacklog() {
+        final Message<?> message1 = this.frame("session1", "aton1");
+        final Message<?> message2 = this.frame("session1", "aton2");
+
+        // Queue the outbound frames
+        this.webSocketBacklogInterceptor.preSend(message1, this.clientOutboundChannel);
+        this.webSocketBacklogInterceptor.preSend(message2, this.clientOutboundChannel);
+        assertEquals(2, this.webSocketBacklogInterceptor.getSessionBacklogs().get("session1"));
+        assertEquals(2.0, this.webSocketBacklogInterceptor.meterRegistry.find("websocket.session.backlog").tag("session", "session1").gauge().value());
+
+        // Send the first outbound frame
+        assertSame(message1, this.webSocketBacklogInterceptor.beforeHandle(message1, this.clientOutboundChannel, this.messageHandler));
+        this.webSocketBacklogInterceptor.afterMessageHandled(message1, this.clientOutboundChannel, this.messageHandler, null);
+
+        // Make sure the backlog was reduced
+        assertEquals(1, this.webSocketBacklogInterceptor.getSessionBacklogs().get("session1"));
+    }
+
+    /**
+     * Test that the outbound frames handed over to a session are counted in
+     * its send buffer until they are written, and that the send buffer is
+     * published.
+     */
+    @Test
+    void testSessionSendBuffer() throws Exception {
+        final Message<?> message = this.frame("session1", "aton1");
+
+        // Hand the outbound frame over to the session
+        this.webSocketBacklogInterceptor.preSend(message, this.clientOutboundChannel);
+        this.webSocketBacklogInterceptor.beforeHandle(message, this.clientOutboundChannel, this.messageHandler);
+        this.webSocketBacklogInterceptor.afterMessageHandled(message, this.clientOutboundChannel, this.messageHandler, null);
+        assertEquals(0, this.webSocketBacklogInterceptor.getSessionBacklogs().get("session1"));
+        assertEquals(1, this.webSocketBacklogInterceptor.getSessionSendBuffers().get("session1"));
+        assertEquals(1.0, this.webSocketBacklogInterceptor.meterRegistry.find("websocket.session.send-buffer").tag("session", "session1").gauge().value());
+
+        // Write the frame through the session handed over to the handler
+        final ArgumentCaptor<WebSocketSession> sessionCaptor = ArgumentCaptor.forClass(WebSocketSession.class);
+        verify(this.webSocketHandler).afterConnectionEstablished(sessionCaptor.capture());
+        final TextMessage textMessage = new TextMessage("MESSAGE");
+        sessionCaptor.getValue().sendMessage(textMessage);
+
+        // Make sure the frame was written and the send buffer cleared
+        verify(this.webSocketSession).sendMessage(textMessage);
+        assertEquals(0, this.webSocketBacklogInterceptor.getSessionSendBuffers().get("session1"));
+    }
+
+    /**
+     * Test that the backlog tracking and metrics of a session will be removed
+     * once its connection is closed.
+     */
+    @Test
+    void testAfterConnectionClosed() throws Exception {
+        this.decoratedHandler.afterConnectionClosed(this.webSocketSession, CloseStatus.NORMAL);
+
+        // Make sure the handler was notified and the session no longer tracked
+        verify(this.webSocketHandler).afterConnectionClosed(this.webSocketSession, CloseStatus.NORMAL);
+        assertTrue(this.webSocketBacklogInterceptor.getSessionBacklogs().isEmpty());
+        assertNull(this.webSocketBacklogInterceptor.meterRegistry.find("websocket.session.backlog").gauge());
+        assertNull(this.webSocketBacklogInterceptor.meterRegistry.find("websocket.session.send-buffer").gauge());
+    }
+
+    /**
+     * Test that in the conflation mode, the outdated updates of the same AtoN
+     * will be dropped once the session falls behind.
+     */
+    @Test
+    void testConflate() {
+        this.webSocketBacklogInterceptor.slowConsumerPolicy = WebSocketBacklogInterceptor.SlowConsumerPolicy.CONFLATE;
+        final Message<?> message1 = this.frame("session1", "aton1");
+        final Message<?> message2 = this.frame("session1", "aton1");
+
+        // Queue two updates of the same AtoN
+        this.webSocketBacklogInterceptor.preSend(message1, this.clientOutboundChannel);
+        assertFalse(this.webSocketBacklogInterceptor.isConflating());
+        this.webSocketBacklogInterceptor.preSend(message2, this.clientOutboundChannel);
+        assertTrue(this.webSocketBacklogInterceptor.isConflating());
+
+        // Make sure only the latest update is sent
+        assertNull(this.webSocketBacklogInterceptor.beforeHandle(message1, this.clientOutboundChannel, this.messageHandler));
+        assertSame(message2, this.webSocketBacklogInterceptor.beforeHandle(message2, this.clientOutboundChannel, this.messageHandler));
+        this.webSocketBacklogInterceptor.afterMessageHandled(message2, this.clientOutboundChannel, this.messageHandler, null);
+
+        // Make sure the conflation was counted and the backlog cleared
+        assertEquals(0, this.webSocketBacklogInterceptor.getSessionBacklogs().get("session1"));
+        assertFalse(this.webSocketBacklogInterceptor.isConflating());
+        assertEquals(1.0, this.webSocketBacklogInterceptor.meterRegistry.find("websocket.outbound.conflated").counter().count());
+    }
+
+    /**
+     * Test that in the termination mode, the outdated updates will still be
+     * sent and left to the transport limits.
+     */
+    @Test
+    void testTerminate() {
+        final Message<?> message1 = this.frame("session1", "aton1");
+        final Message<?> message2 = this.frame("session1", "aton1");
+
+        // Queue two updates of the same AtoN
+        this.webSocketBacklogInterceptor.preSend(message1, this.clientOutboundChannel);
+        this.webSocketBacklogInterceptor.preSend(message2, this.clientOutboundChannel);
+
+        // Make sure both updates are sent
+        assertFalse(this.webSocketBacklogInterceptor.isConflating());
+        assertSame(message1, this.webSocketBacklogInterceptor.beforeHandle(message1, this.clientOutboundChannel, this.messageHandler));
+        assertSame(message2, this.webSocketBacklogInterceptor.beforeHandle(message2, this.clientOutboundChannel, this.messageHandler));
+        assertEquals(0.0, this.webSocketBacklogInterceptor.meterRegistry.find("websocket.outbound.conflated").counter().count());
+    }
+
+    /**
+     * Test that the backlog tracking and metrics of a disconnected session
+     * will be removed.
+     */
+    @Test
+    void testOnSessionDisconnect() {
+        this.webSocketBacklogInterceptor.preSend(this.frame("session1", "aton1"), this.clientOutboundChannel);
+
+        // Disconnect the session
+        this.webSocketBacklogInterceptor.onSessionDisconnect(new SessionDisconnectEvent(this, this.control(SimpMessageType.DISCONNECT, "session1"), "session1", CloseStatus.SESSION_NOT_RELIABLE));
+
+        // Make sure the session is no longer tracked
+        assertTrue(this.webSocketBacklogInterceptor.getSessionBacklogs().isEmpty());
+        assertTrue(this.webSocketBacklogInterceptor.latestPending.isEmpty());
+        assertNull(this.webSocketBacklogInterceptor.meterRegistry.find("websocket.session.backlog").gauge());
+        assertNull(this.webSocketBacklogInterceptor.meterRegistry.find("websocket.session.send-buffer").gauge());
+    }
+
+    /**
+     * Test that the frames still sent to a session after its disconnect
+     * event, e.g. the DISCONNECT_ACK, will not register it again.
+     */
+    @Test
+    void testDisconnectAckAfterSessionDisconnect() {
+        this.webSocketBacklogInterceptor.onSessionDisconnect(new SessionDisconnectEvent(this, this.control(SimpMessageType.DISCONNECT, "session1"), "session1", CloseStatus.NORMAL));
+
+        // Send the DISCONNECT_ACK and a late update to the closed session
+        final Message<byte[]> disconnectAck = this.control(SimpMessageType.DISCONNECT_ACK, "session1");
+        this.webSocketBacklogInterceptor.preSend(disconnectAck, this.clientOutboundChannel);
+        this.webSocketBacklogInterceptor.afterMessageHandled(disconnectAck, this.clientOutboundChannel, this.messageHandler, null);
+        this.webSocketBacklogInterceptor.preSend(this.frame("session1", "aton1"), this.clientOutboundChannel);
+
+        // Make sure the session is not tracked again
+        assertTrue(this.webSocketBacklogInterceptor.getSessionBacklogs().isEmpty());
+        assertTrue(this.webSocketBacklogInterceptor.latestPending.isEmpty());
+        assertNull(this.webSocketBacklogInterceptor.meterRegistry.find("websocket.session.backlog").gauge());
+    }
+
+    /**
+     * Test that the control frames are not counted in the session backlog.
+     */
+    @Test
+    void testControlFramesNotCounted() {
+        this.webSocketBacklogInterceptor.preSend(this.control(SimpMessageType.HEARTBEAT, "session1"), this.clientOutboundChannel);
+
+        // Make sure the backlog is not affected
+        assertEquals(0, this.webSocketBacklogInterceptor.getSessionBacklogs().get("session1"));
+    }
+
+    /**
+     * Creates an outbound control frame of the provided type for the
+     * provided session.
+     *
+     * @param messageType the message type
+     * @param sessionId the session identifier
+     * @return the outbound frame
+     */
+    private Message<byte[]> control(SimpMessageType messageType, String sessionId) {
+        final SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(messageType);
+        accessor.setSessionId(sessionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    /**
+     * Creates an outbound AtoN update frame for the provided session.
+     *
+     * @param sessionId the session identifier
+     * @param atonId the AtoN identifier
+     * @return the outbound frame
+     */
+    private Message<?> frame(String sessionId, String atonId) {
+        final SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setNativeHeader(WebSocketBacklogInterceptor.ATON_ID_HEADER, atonId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+}
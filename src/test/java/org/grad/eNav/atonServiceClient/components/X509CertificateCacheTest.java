@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.components;
+
+import org.grad.eNav.atonServiceClient.utils.X509Utils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.security.cert.X509Certificate;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class X509CertificateCacheTest {
+
+    /**
+     * The Tested Component.
+     */
+    @Spy
+    X509CertificateCache x509CertificateCache;
+
+    // Test Variables
+    private X509Certificate certificate;
+    private String certificatePem;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        // Initialise the cache
+        this.x509CertificateCache.cacheMaxSize = 10;
+        this.x509CertificateCache.init();
+
+        // Generate a certificate
+        final Date validityBeginDate = new Date(System.currentTimeMillis() - 24 * 60 * 60 * 1000);
+        final Date validityEndDate = new Date(System.currentTimeMillis() + 24 * 60 * 60 * 1000);
+        this.certificate = X509Utils.generateX509Certificate(X509Utils.generateKeyPair(null), "UID=Test", validityBeginDate, validityEndDate, null);
+        this.certificatePem = X509Utils.formatCertificate(this.certificate);
+    }
+
+    /**
+     * Test that the certificate information will be extracted from the
+     * provided PEM encoded certificate, and that the certificate will only
+     * be parsed once for repeated requests.
+     */
+    @Test
+    void testGetCertificateInfo() {
+        // Perform the component call twice
+        final Optional<X509CertificateCache.CertificateInfo> result1 = this.x509CertificateCache.getCertificateInfo(this.certificatePem);
+        final Optional<X509CertificateCache.CertificateInfo> result2 = this.x509CertificateCache.getCertificateInfo(this.certificatePem);
+
+        // Make sure the certificate information is correct
+        assertTrue(result1.isPresent());
+        assertEquals(this.certificate, result1.get().certificate());
+        assertEquals("Test", result1.get().signedBy());
+        assertEquals("Test", result1.get().issuedBy());
+
+        // Make sure the second request was served by the cache
+        assertTrue(result2.isPresent());
+        assertSame(result1.get(), result2.get());
+        verify(this.x509CertificateCache, times(1)).parse(any());
+        assertEquals(1, this.x509CertificateCache.cache.estimatedSize());
+    }
+
+    /**
+     * Test that an empty result will be returned, and nothing will be cached,
+     * if the provided PEM encoded certificate is not valid.
+     */
+    @Test
+    void testGetCertificateInfoInvalid() {
+        assertTrue(this.x509CertificateCache.getCertificateInfo("-----BEGIN CERTIFICATE-----\nYnJva2Vu\n-----END CERTIFICATE-----").isEmpty());
+        assertTrue(this.x509CertificateCache.getCertificateInfo("not base64!").isEmpty());
+        assertEquals(0, this.x509CertificateCache.cache.estimatedSize());
+    }
+
+    /**
+     * Test that destroying the component will clear the certificate cache.
+     */
+    @Test
+    void testDestroy() {
+        this.x509CertificateCache.getCertificateInfo(this.certificatePem);
+
+        // Perform the component call
+        this.x509CertificateCache.destroy();
+
+        // Make sure the cache was cleared
+        assertEquals(0, this.x509CertificateCache.cache.estimatedSize());
+    }
+
+}
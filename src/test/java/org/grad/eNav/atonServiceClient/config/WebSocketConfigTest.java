@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.config;
+
+import org.grad.eNav.atonServiceClient.EmbeddedStompBroker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebSocketConfigTest {
+
+    // Test Variables
+    private EmbeddedStompBroker embeddedStompBroker;
+    private WebSocketConfig webSocketConfig;
+    private ExecutorSubscribableChannel brokerChannel;
+    private TestMessageBrokerRegistry registry;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        // Start the embedded stand-in for the external STOMP broker
+        this.embeddedStompBroker = new EmbeddedStompBroker();
+
+        // Set the web-socket configuration
+        this.webSocketConfig = new WebSocketConfig();
+        ReflectionTestUtils.setField(this.webSocketConfig, "prefix", "topic");
+        ReflectionTestUtils.setField(this.webSocketConfig, "relayHost", "127.0.0.1");
+        ReflectionTestUtils.setField(this.webSocketConfig, "relayPort", this.embeddedStompBroker.getPort());
+        ReflectionTestUtils.setField(this.webSocketConfig, "relayVirtualHost", "");
+        ReflectionTestUtils.setField(this.webSocketConfig, "relayClientLogin", "guest");
+        ReflectionTestUtils.setField(this.webSocketConfig, "relayClientPasscode", "guest");
+        ReflectionTestUtils.setField(this.webSocketConfig, "relaySystemLogin", "guest");
+        ReflectionTestUtils.setField(this.webSocketConfig, "relaySystemPasscode", "guest");
+        ReflectionTestUtils.setField(this.webSocketConfig, "relaySystemHeartbeat", 10000L);
+
+        // Create the message broker registry
+        this.brokerChannel = new ExecutorSubscribableChannel();
+        this.registry = new TestMessageBrokerRegistry(new ExecutorSubscribableChannel(), new ExecutorSubscribableChannel());
+    }
+
+    /**
+     * Common tear down for all the tests.
+     */
+    @AfterEach
+    void tearDown() throws Exception {
+        this.embeddedStompBroker.close();
+    }
+
+    /**
+     * Test that by default the destinations are served by the simple in-JVM
+     * broker.
+     */
+    @Test
+    void testConfigureSimpleBroker() {
+        ReflectionTestUtils.setField(this.webSocketConfig, "brokerMode", WebSocketConfig.BrokerMode.SIMPLE);
+
+        // Configure the message broker
+        this.webSocketConfig.configureMessageBroker(this.registry);
+
+        // Make sure only the simple broker was registered
+        final SimpleBrokerMessageHandler simpleBroker = this.registry.getSimpleBroker(this.brokerChannel);
+        assertNotNull(simpleBroker);
+        assertEquals(List.of("/topic"), List.copyOf(simpleBroker.getDestinationPrefixes()));
+        assertNull(this.registry.getStompBrokerRelay(this.brokerChannel));
+    }
+
+    /**
+     * Test that in the broker relay mode, the destinations are relayed to
+     * the external STOMP broker, so that the updates published by any
+     * instance reach all the connected browsers.
+     */
+    @Test
+    void testConfigureBrokerRelay() throws Exception {
+        ReflectionTestUtils.setField(this.webSocketConfig, "brokerMode", WebSocketConfig.BrokerMode.RELAY);
+
+        // Configure the message broker
+        this.webSocketConfig.configureMessageBroker(this.registry);
+
+        // Make sure the broker relay was registered
+        assertNull(this.registry.getSimpleBroker(this.brokerChannel));
+        final StompBrokerRelayMessageHandler relay = this.registry.getStompBrokerRelay(this.brokerChannel);
+        assertNotNull(relay);
+        assertEquals("127.0.0.1", relay.getRelayHost());
+        assertEquals(this.embeddedStompBroker.getPort(), relay.getRelayPort());
+
+        // Start the relay and wait for its system session to connect
+        relay.start();
+        try {
+            final long deadline = System.currentTimeMillis() + 10000;
+            while(!relay.isBrokerAvailable() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertTrue(relay.isBrokerAvailable());
+
+            // Publish an update through the broker channel
+            new SimpMessagingTemplate(this.brokerChannel).convertAndSend("/topic/secom/subscription/update", "update");
+
+            // Make sure the update reached the external broker
+            while(this.embeddedStompBroker.getSentFrames().isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            final List<EmbeddedStompBroker.Frame> sentFrames = this.embeddedStompBroker.getSentFrames();
+            assertEquals(1, sentFrames.size());
+            assertEquals("/topic/secom/subscription/update", sentFrames.getFirst().headers().get("destination"));
+            assertEquals("update", sentFrames.getFirst().bodyAsString());
+        } finally {
+            relay.stop();
+        }
+    }
+
+    /**
+     * A message broker registry exposing the configured broker handlers.
+     */
+    static class TestMessageBrokerRegistry extends MessageBrokerRegistry {
+
+        /**
+         * The test message broker registry constructor.
+         *
+         * @param clientInboundChannel the client inbound channel
+         * @param clientOutboundChannel the client outbound channel
+         */
+        TestMessageBrokerRegistry(SubscribableChannel clientInboundChannel, MessageChannel clientOutboundChannel) {
+            super(clientInboundChannel, clientOutboundChannel);
+        }
+
+        @Override
+        public SimpleBrokerMessageHandler getSimpleBroker(SubscribableChannel brokerChannel) {
+            return super.getSimpleBroker(brokerChannel);
+        }
+
+        @Override
+        public StompBrokerRelayMessageHandler getStompBrokerRelay(SubscribableChannel brokerChannel) {
+            return super.getStompBrokerRelay(brokerChannel);
+        }
+
+    }
+
+}
@@ -20,6 +20,9 @@ import _int.iho.s_125.gml.cs0._1.impl.AidsToNavigationTypeImpl;
 import _int.iho.s_125.gml.cs0._1.impl.VirtualAISAidToNavigationImpl;
 import org.grad.eNav.atonServiceClient.TestFeignSecurityConfig;
 import org.grad.eNav.atonServiceClient.TestingConfiguration;
+import org.grad.eNav.atonServiceClient.components.AtonWebSocketPublisher;
+import org.grad.eNav.atonServiceClient.components.S125DatasetReader;
+import org.grad.eNav.atonServiceClient.components.S125JAXBProvider;
 import org.springframework.context.annotation.Import;
 import tools.jackson.databind.ObjectMapper;
 import org.grad.eNav.atonServiceClient.models.domain.SignedDatasetContent;
@@ -48,9 +51,10 @@ import org.springframework.test.web.servlet.MvcResult;
 
 import java.io.InputStream;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -62,7 +66,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @ActiveProfiles("test")
 @WebMvcTest(controllers = SecomServiceController.class, excludeAutoConfiguration = {SecurityAutoConfiguration.class})
-@Import({TestingConfiguration.class, TestFeignSecurityConfig.class})
+@Import({TestingConfiguration.class, TestFeignSecurityConfig.class, S125DatasetReader.class, S125JAXBProvider.class, AtonWebSocketPublisher.class})
 class SecomServiceControllerTest {
 
     /**
@@ -201,13 +205,17 @@ class SecomServiceControllerTest {
         final InputStream in = ClassLoader.getSystemResourceAsStream("s125-msg.xml");
         final SignedDatasetContent signedDatasetContent = new SignedDatasetContent();
         signedDatasetContent.setContent(in.readAllBytes());
-        doReturn(Collections.singletonList(signedDatasetContent)).when(this.secomService).getServiceDatasetContent(eq("mrn"), eq(uuid.toString()), any(), any(), any(), any(), any(), any(), any());
+        final AtomicBoolean closed = new AtomicBoolean();
+        doReturn(Stream.of(signedDatasetContent).onClose(() -> closed.set(true))).when(this.secomService).streamServiceDatasetContent(eq("mrn"), eq(uuid.toString()), any(), any(), any(), any(), any(), any(), any());
 
         // Perform the MVC request
         MvcResult mvcResult = this.mockMvc.perform(get("/api/secom_service/mrn/content?dataReference=" + uuid)
                         .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().isOk())
                 .andReturn();
+
+        // Make sure the content stream was closed
+        assertTrue(closed.get());
     }
 
     /**
@@ -224,13 +232,17 @@ class SecomServiceControllerTest {
         final InputStream in = ClassLoader.getSystemResourceAsStream("s125-msg.xml");
         final SignedDatasetContent signedDatasetContent = new SignedDatasetContent();
         signedDatasetContent.setContent(in.readAllBytes());
-        doReturn(Collections.singletonList(signedDatasetContent)).when(this.secomService).getServiceDatasetContent(eq("mrn"), eq(uuid.toString()), eq(SECOM_DataProductType.S125), any(), any(), any(), any(), any(), any());
+        final AtomicBoolean closed = new AtomicBoolean();
+        doReturn(Stream.of(signedDatasetContent).onClose(() -> closed.set(true))).when(this.secomService).streamServiceDatasetContent(eq("mrn"), eq(uuid.toString()), eq(SECOM_DataProductType.S125), any(), any(), any(), any(), any(), any());
 
         // Perform the MVC request
         MvcResult mvcResult = this.mockMvc.perform(get("/api/secom_service/mrn/content?dataProductType=S125&dataReference=" + uuid)
                         .contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(status().isOk())
                 .andReturn();
+
+        // Make sure the content stream was closed
+        assertTrue(closed.get());
     }
 
-}
\ No newline at end of file
+}
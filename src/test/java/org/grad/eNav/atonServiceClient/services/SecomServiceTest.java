@@ -15,7 +15,11 @@
 
 package org.grad.eNav.atonServiceClient.services;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.grad.eNav.atonServiceClient.components.SecomClientFactory;
+import org.grad.eNav.atonServiceClient.components.X509CertificateCache;
 import org.grad.eNav.atonServiceClient.models.domain.SignedDatasetContent;
+import org.grad.eNav.atonServiceClient.utils.X509Utils;
 import org.grad.secomv2.core.exceptions.SecomValidationException;
 import org.grad.secomv2.core.models.*;
 import org.grad.secomv2.core.models.enums.ContainerTypeEnum;
@@ -30,16 +34,26 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class SecomServiceTest {
@@ -57,6 +71,18 @@ class SecomServiceTest {
     @Mock
     SecomClient discoveryService;
 
+    /**
+     * The SECOM Client Factory spy.
+     */
+    @Spy
+    SecomClientFactory secomClientFactory = new SecomClientFactory();
+
+    /**
+     * The X.509 Certificate Cache spy.
+     */
+    @Spy
+    X509CertificateCache x509CertificateCache = new X509CertificateCache();
+
     // Test Variables
     List<ServiceInstanceObject> instances;
     SearchResult searchResult;
@@ -72,6 +98,25 @@ class SecomServiceTest {
     void setUp() throws IOException {
         // Set the discovery service URL variable
         this.secomService.discoveryServiceUrl = "http://localhost:8444/v1/searchService";
+        this.secomService.clientCacheTtl = Duration.ofMinutes(5);
+        this.secomService.clientCacheMaxSize = 100;
+        this.secomService.datasetCache = Caffeine.newBuilder().build();
+        this.secomService.datasetMetadata = Caffeine.newBuilder().build();
+        this.secomService.paginationPageSize = 100;
+        this.secomService.paginationParallelism = 4;
+        this.secomService.paginationMaxResults = 10000;
+        this.secomService.paginationExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.secomService.discoveryCache = Caffeine.newBuilder().build();
+        this.secomService.discoveryCacheKeywords = new String[]{"s-125"};
+
+        // Initialise the SECOM client factory
+        this.secomClientFactory.maxSize = 100;
+        this.secomClientFactory.idleTimeout = Duration.ofMinutes(30);
+        this.secomClientFactory.init();
+
+        // Initialise the X.509 certificate cache
+        ReflectionTestUtils.setField(this.x509CertificateCache, "cacheMaxSize", 100L);
+        this.x509CertificateCache.init();
 
         // Create a list of retrieved instances
         ServiceInstanceObject searchObjectResult1 = new ServiceInstanceObject();
@@ -144,6 +189,7 @@ class SecomServiceTest {
 
         // Make sure the discovery service was destroyed properly
         assertNull(this.secomService.discoveryService);
+        assertEquals(0, this.secomService.clientCache.estimatedSize());
     }
 
     /**
@@ -178,16 +224,51 @@ class SecomServiceTest {
         doReturn(Optional.of(this.searchResult)).when(this.discoveryService).searchService(any());
 
         // Perform the service call
-        List<ServiceInstanceObject> result = this.secomService.getRegisteredServices("test",PageRequest.of(10,1));
+        List<ServiceInstanceObject> result = this.secomService.getRegisteredServices("test",PageRequest.of(1,1));
 
         // Make sure the client seems OK
         assertNotNull(result);
-        assertEquals(this.instances.size(), result.size());
-        // Check all returned instances
-        for(int i=0; i<result.size(); i++) {
-            assertNotNull(result.get(i));
-            assertEquals(this.instances.get(i).getName(), result.get(i).getName());
-        }
+        assertEquals(1, result.size());
+        assertEquals(this.instances.get(1).getName(), result.getFirst().getName());
+    }
+
+    /**
+     * Test that the discovered registered services will be cached, so that
+     * consecutive searches for the same keyword are served from memory.
+     */
+    @Test
+    void testGetRegisteredServicesCached() {
+        // Mock the search service response
+        doReturn(Optional.of(this.searchResult)).when(this.discoveryService).searchService(any());
+
+        // Perform the service call twice
+        List<ServiceInstanceObject> result1 = this.secomService.getRegisteredServices("test", Pageable.unpaged());
+        List<ServiceInstanceObject> result2 = this.secomService.getRegisteredServices("test", PageRequest.of(0,1));
+
+        // Make sure the discovery service was only contacted once
+        assertEquals(this.instances.size(), result1.size());
+        assertEquals(1, result2.size());
+        verify(this.discoveryService, times(1)).searchService(any());
+    }
+
+    /**
+     * Test that the background refresh of the discovered registered services
+     * will update both the configured and the previously searched keywords,
+     * and that failed refreshes will keep the previous results.
+     */
+    @Test
+    void testRefreshRegisteredServices() {
+        // Cache a previous search and then fail all new ones
+        this.secomService.discoveryCache.put("test", this.instances);
+        doThrow(new IllegalStateException("MSR unavailable")).when(this.discoveryService).searchService(any());
+
+        // Perform the refresh
+        this.secomService.refreshRegisteredServices();
+
+        // Make sure both keywords were searched but the previous results kept
+        verify(this.discoveryService, times(2)).searchService(any());
+        assertEquals(this.instances, this.secomService.getRegisteredServices("test", Pageable.unpaged()));
+        assertNull(this.secomService.discoveryCache.getIfPresent("s-125"));
     }
 
     /**
@@ -292,12 +373,341 @@ class SecomServiceTest {
         }
     }
 
+    /**
+     * Test that concurrent identical requests for the content of the
+     * available datasets will be coalesced into a single upstream call,
+     * the result of which will be shared by all callers.
+     */
+    @Test
+    void testGetServiceDatasetContentCoalesced() throws Exception {
+        // First select a UUID
+        UUID uuid = UUID.randomUUID();
+
+        // Mock a slow S-125 AtoN service response
+        final CountDownLatch latch = new CountDownLatch(1);
+        SecomClient secomClient = mock(SecomClient.class);
+        doAnswer(invocation -> {
+            latch.await();
+            return Optional.of(this.getResponseObject);
+        }).when(secomClient).get(eq(uuid), any(), any(), any(), any(), any(), any(), any(), any(), any());
+        doReturn(secomClient).when(this.secomService).getClient(eq("mrn"));
+
+        // Perform concurrent identical service calls
+        final List<Future<List<SignedDatasetContent>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(5)) {
+            for(int i=0; i<5; i++) {
+                results.add(executor.submit(() -> this.secomService.getServiceDatasetContent("mrn", uuid.toString(), SECOM_DataProductType.S125, null, null, null, null, null, PageRequest.of(0,10))));
+            }
+            Thread.sleep(200);
+            latch.countDown();
+            for(Future<List<SignedDatasetContent>> result : results) {
+                assertSame(results.getFirst().get(5, TimeUnit.SECONDS), result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        // Make sure only one upstream request was performed
+        verify(secomClient, times(1)).get(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+        assertEquals(4, this.secomService.contentRequests.getCoalescedCount());
+
+        // And that subsequent (uncached) or different requests are not coalesced
+        this.secomService.datasetCache.invalidateAll();
+        this.secomService.getServiceDatasetContent("mrn", uuid.toString(), SECOM_DataProductType.S125, null, null, null, null, null, PageRequest.of(0,10));
+        this.secomService.getServiceDatasetContent("mrn", uuid.toString(), SECOM_DataProductType.S125, null, null, null, null, null, PageRequest.of(1,10));
+        verify(secomClient, times(3)).get(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    /**
+     * Test that the content of an individually referenced dataset will be
+     * cached, and served locally for as long as the SECOM summary interface
+     * reports the same last-updated time and version for it.
+     */
+    @Test
+    void testGetServiceDatasetContentCached() {
+        // Use the data reference of the first summary object
+        final SummaryObject summaryObject = this.summaryObjects.getFirst();
+        summaryObject.setInfo_lastModifiedDate(LocalDateTime.now());
+        summaryObject.setInfo_productVersion("1.0");
+        final String dataReference = summaryObject.getDataReference().toString();
+
+        // Mock the S-125 AtoN service responses
+        SecomClient secomClient = mock(SecomClient.class);
+        doReturn(Optional.of(this.summaryResponseObject)).when(secomClient).getSummary(any(), any(), any(), any(), any(), any(), any(), any(), any());
+        doReturn(Optional.of(this.getResponseObject)).when(secomClient).get(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+        doReturn(secomClient).when(this.secomService).getClient(eq("mrn"));
+
+        // Perform two consecutive map loads
+        this.secomService.getServiceDatasets("mrn", Pageable.unpaged());
+        List<SignedDatasetContent> result1 = this.secomService.getServiceDatasetContent("mrn", dataReference, SECOM_DataProductType.S125, null, null, null, null, null, Pageable.unpaged());
+        this.secomService.getServiceDatasets("mrn", Pageable.unpaged());
+        List<SignedDatasetContent> result2 = this.secomService.getServiceDatasetContent("mrn", dataReference, SECOM_DataProductType.S125, null, null, null, null, null, Pageable.unpaged());
+
+        // Make sure the content was only transferred once
+        assertSame(result1, result2);
+        verify(secomClient, times(2)).getSummary(any(), any(), any(), any(), any(), any(), any(), any(), any());
+        verify(secomClient, times(1)).get(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    /**
+     * Test that the content of an individually referenced dataset will be
+     * cached once for all its pages, with the requested pages sliced out of
+     * the cached content.
+     */
+    @Test
+    void testGetServiceDatasetContentCachedPages() {
+        // Use the data reference of the first summary object
+        final SummaryObject summaryObject = this.summaryObjects.getFirst();
+        summaryObject.setInfo_lastModifiedDate(LocalDateTime.now());
+        summaryObject.setInfo_productVersion("1.0");
+        final String dataReference = summaryObject.getDataReference().toString();
+
+        // Mock the S-125 AtoN service responses
+        SecomClient secomClient = mock(SecomClient.class);
+        doReturn(Optional.of(this.summaryResponseObject)).when(secomClient).getSummary(any(), any(), any(), any(), any(), any(), any(), any(), any());
+        doReturn(Optional.of(this.getResponseObject)).when(secomClient).get(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+        doReturn(secomClient).when(this.secomService).getClient(eq("mrn"));
+
+        // Request different pages of the same dataset
+        this.secomService.getServiceDatasets("mrn", Pageable.unpaged());
+        List<SignedDatasetContent> page1 = this.secomService.getServiceDatasetContent("mrn", dataReference, SECOM_DataProductType.S125, null, null, null, null, null, PageRequest.of(0, 1));
+        List<SignedDatasetContent> page2 = this.secomService.getServiceDatasetContent("mrn", dataReference, SECOM_DataProductType.S125, null, null, null, null, null, PageRequest.of(1, 1));
+        List<SignedDatasetContent> all = this.secomService.getServiceDatasetContent("mrn", dataReference, SECOM_DataProductType.S125, null, null, null, null, null, Pageable.unpaged());
+
+        // Make sure the pages were sliced out of a single content transfer
+        assertEquals(1, page1.size());
+        assertTrue(page2.isEmpty());
+        assertSame(all.getFirst(), page1.getFirst());
+        assertEquals(1, this.secomService.datasetCache.estimatedSize());
+        verify(secomClient, times(1)).get(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    /**
+     * Test that the content of an individually referenced dataset will not
+     * be cached if no metadata has been reported for it by the SECOM summary
+     * interface, since there is nothing to validate the cached copy against.
+     */
+    @Test
+    void testGetServiceDatasetContentNotCachedWithoutSummary() {
+        // Use the data reference of the first summary object
+        final String dataReference = this.summaryObjects.getFirst().getDataReference().toString();
+
+        // Mock the S-125 AtoN service responses
+        SecomClient secomClient = mock(SecomClient.class);
+        doReturn(Optional.of(this.getResponseObject)).when(secomClient).get(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+        doReturn(secomClient).when(this.secomService).getClient(eq("mrn"));
+
+        // Perform two consecutive requests without any summary
+        this.secomService.getServiceDatasetContent("mrn", dataReference, SECOM_DataProductType.S125, null, null, null, null, null, Pageable.unpaged());
+        this.secomService.getServiceDatasetContent("mrn", dataReference, SECOM_DataProductType.S125, null, null, null, null, null, Pageable.unpaged());
+
+        // Make sure the content was transferred both times
+        verify(secomClient, times(2)).get(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+        assertEquals(0, this.secomService.datasetCache.estimatedSize());
+    }
+
+    /**
+     * Test that the cached content of an individually referenced dataset will
+     * be invalidated when the SECOM summary interface reports a new version
+     * for it.
+     */
+    @Test
+    void testGetServiceDatasetContentCacheInvalidated() {
+        // Use the data reference of the first summary object
+        final SummaryObject summaryObject = this.summaryObjects.getFirst();
+        summaryObject.setInfo_lastModifiedDate(LocalDateTime.now());
+        summaryObject.setInfo_productVersion("1.0");
+        final String dataReference = summaryObject.getDataReference().toString();
+
+        // Mock the S-125 AtoN service responses
+        SecomClient secomClient = mock(SecomClient.class);
+        doReturn(Optional.of(this.summaryResponseObject)).when(secomClient).getSummary(any(), any(), any(), any(), any(), any(), any(), any(), any());
+        doReturn(Optional.of(this.getResponseObject)).when(secomClient).get(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+        doReturn(secomClient).when(this.secomService).getClient(eq("mrn"));
+
+        // Perform a map load
+        this.secomService.getServiceDatasets("mrn", Pageable.unpaged());
+        this.secomService.getServiceDatasetContent("mrn", dataReference, SECOM_DataProductType.S125, null, null, null, null, null, Pageable.unpaged());
+
+        // Update the dataset and perform another map load
+        summaryObject.setInfo_lastModifiedDate(LocalDateTime.now().plusMinutes(1));
+        summaryObject.setInfo_productVersion("2.0");
+        this.secomService.getServiceDatasets("mrn", Pageable.unpaged());
+        this.secomService.getServiceDatasetContent("mrn", dataReference, SECOM_DataProductType.S125, null, null, null, null, null, Pageable.unpaged());
+
+        // Make sure the content was transferred again
+        verify(secomClient, times(2)).get(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    /**
+     * Test that unpaged dataset content requests will be automatically
+     * paginated, with the remaining pages fetched concurrently based on the
+     * total reported by the first page, without exceeding the configured
+     * parallelism, and with the results merged in page order.
+     */
+    @Test
+    void testGetServiceDatasetContentAutoPaginated() {
+        this.secomService.paginationPageSize = 1;
+        this.secomService.paginationParallelism = 2;
+
+        // Mock an S-125 AtoN service with five pages of content
+        final AtomicInteger concurrent = new AtomicInteger();
+        final AtomicInteger maxConcurrent = new AtomicInteger();
+        SecomClient secomClient = mock(SecomClient.class);
+        doAnswer(invocation -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+                final DataResponseObject dataResponseObject = new DataResponseObject();
+                dataResponseObject.setData(String.valueOf(invocation.<Integer>getArgument(8)).getBytes());
+                final PaginationObject paginationObject = new PaginationObject();
+                paginationObject.setTotalItems(5);
+                paginationObject.setMaxItemsPerPage(1);
+                final GetResponseObject getResponseObject = new GetResponseObject();
+                getResponseObject.setDataResponseObject(Collections.singletonList(dataResponseObject));
+                getResponseObject.setPagination(paginationObject);
+                return Optional.of(getResponseObject);
+            } finally {
+                concurrent.decrementAndGet();
+            }
+        }).when(secomClient).get(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+        doReturn(secomClient).when(this.secomService).getClient(eq("mrn"));
+
+        // Perform the service call
+        List<SignedDatasetContent> result = this.secomService.getServiceDatasetContent("mrn", null, SECOM_DataProductType.S125, null, null, null, null, null, Pageable.unpaged());
+
+        // Make sure all pages were fetched and merged in order
+        assertEquals(5, result.size());
+        for(int i=0; i<result.size(); i++) {
+            assertEquals(String.valueOf(i), result.get(i).getContentAsString());
+        }
+        verify(secomClient, times(5)).get(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+        assertTrue(maxConcurrent.get() <= 2);
+    }
+
+    /**
+     * Test that unpaged dataset content requests can be streamed, with the
+     * remote pages being walked lazily until a partial page is received.
+     */
+    @Test
+    void testStreamServiceDatasetContent() {
+        this.secomService.paginationPageSize = 1;
+        this.secomService.paginationParallelism = 1;
+
+        // Mock an S-125 AtoN service with two pages of content
+        SecomClient secomClient = mock(SecomClient.class);
+        doAnswer(invocation -> invocation.<Integer>getArgument(8) < 2 ? Optional.of(this.getResponseObject) : Optional.empty())
+                .when(secomClient).get(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+        doReturn(secomClient).when(this.secomService).getClient(eq("mrn"));
+
+        // Perform the service call but only consume the first dataset
+        Optional<SignedDatasetContent> first = this.secomService.streamServiceDatasetContent("mrn", null, SECOM_DataProductType.S125, null, null, null, null, null, Pageable.unpaged())
+                .findFirst();
+
+        // Make sure only the first page was requested
+        assertTrue(first.isPresent());
+        verify(secomClient, times(1)).get(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+
+        // Now consume the whole stream
+        List<SignedDatasetContent> result = this.secomService.streamServiceDatasetContent("mrn", null, SECOM_DataProductType.S125, null, null, null, null, null, Pageable.unpaged())
+                .toList();
+
+        // Make sure all pages were requested until the empty one
+        assertEquals(2, result.size());
+        verify(secomClient, times(4)).get(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    /**
+     * Test that streamed unpaged dataset content requests will prefetch the
+     * next pages concurrently, without exceeding the configured parallelism,
+     * while still delivering the datasets in page order.
+     */
+    @Test
+    void testStreamServiceDatasetContentPrefetched() {
+        this.secomService.paginationPageSize = 1;
+        this.secomService.paginationParallelism = 2;
+
+        // Mock an S-125 AtoN service with five pages of content
+        final AtomicInteger concurrent = new AtomicInteger();
+        final AtomicInteger maxConcurrent = new AtomicInteger();
+        SecomClient secomClient = mock(SecomClient.class);
+        doAnswer(invocation -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+                final int page = invocation.<Integer>getArgument(8);
+                final DataResponseObject dataResponseObject = new DataResponseObject();
+                dataResponseObject.setData(String.valueOf(page).getBytes());
+                final GetResponseObject getResponseObject = new GetResponseObject();
+                getResponseObject.setDataResponseObject(page < 5 ? Collections.singletonList(dataResponseObject) : Collections.emptyList());
+                return Optional.of(getResponseObject);
+            } finally {
+                concurrent.decrementAndGet();
+            }
+        }).when(secomClient).get(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+        doReturn(secomClient).when(this.secomService).getClient(eq("mrn"));
+
+        // Perform the service call
+        List<SignedDatasetContent> result = this.secomService.streamServiceDatasetContent("mrn", null, SECOM_DataProductType.S125, null, null, null, null, null, Pageable.unpaged())
+                .toList();
+
+        // Make sure all pages were streamed in order, with the pages prefetched
+        assertEquals(5, result.size());
+        for(int i=0; i<result.size(); i++) {
+            assertEquals(String.valueOf(i), result.get(i).getContentAsString());
+        }
+        assertEquals(2, maxConcurrent.get());
+    }
+
+    /**
+     * Test that when retrieving the content of the available datasets, the
+     * signed-by and issued-by information will be extracted from the public
+     * certificates included in the exchange metadata through the X.509
+     * certificate cache.
+     */
+    @Test
+    void testGetServiceDatasetContentSigned() throws Exception {
+        // First select a UUID
+        UUID uuid = UUID.randomUUID();
+
+        // Generate a certificate and attach it to the data response object
+        final Date validityBeginDate = new Date(System.currentTimeMillis() - 24 * 60 * 60 * 1000);
+        final Date validityEndDate = new Date(System.currentTimeMillis() + 24 * 60 * 60 * 1000);
+        final X509Certificate certificate = X509Utils.generateX509Certificate(X509Utils.generateKeyPair(null), "UID=Test", validityBeginDate, validityEndDate, null);
+        final DigitalSignatureValueObject digitalSignatureValueObject = new DigitalSignatureValueObject();
+        digitalSignatureValueObject.setPublicCertificate(new String[]{X509Utils.formatCertificate(certificate)});
+        final ExchangeMetadata exchangeMetadata = new ExchangeMetadata();
+        exchangeMetadata.setDigitalSignatureValue(digitalSignatureValueObject);
+        this.dataResponseObject.setExchangeMetadata(exchangeMetadata);
+        this.getResponseObject.setDataResponseObject(Arrays.asList(this.dataResponseObject, this.dataResponseObject));
+
+        // Mock the S-125 AtoN service response
+        SecomClient secomClient = mock(SecomClient.class);
+        doReturn(Optional.of(this.getResponseObject)).when(secomClient).get(eq(uuid), any(), any(), any(), any(), any(), any(), any(), any(), any());
+        doReturn(secomClient).when(this.secomService).getClient(eq("mrn"));
+
+        // Perform the service call
+        List<SignedDatasetContent> result = this.secomService.getServiceDatasetContent("mrn", uuid.toString(), SECOM_DataProductType.S125, null, null, null, null, null, Pageable.unpaged());
+
+        // Make sure the signature information was extracted
+        assertNotNull(result);
+        assertEquals(2, result.size());
+        for(SignedDatasetContent signedDatasetContent : result) {
+            assertEquals("Test", signedDatasetContent.getSignedBy());
+            assertEquals("Test", signedDatasetContent.getIssuedBy());
+        }
+
+        // And that the certificate was only looked up for each response
+        verify(this.x509CertificateCache, times(2)).getCertificateInfo(any());
+    }
+
     /**
      * Test that the SECOM service will contact the SECOM discovery service
      * allocated to it, to discover the requested clients based on their MRNs.
      */
     @Test
     void testGetClient() {
+        // Initialise the service
+        this.secomService.init();
+
         // And mock a SECOM discovery service client
         this.secomService.discoveryService = mock(SecomClient.class);
         doReturn(Optional.of(this.searchResult)).when(this.secomService.discoveryService).searchService(any());
@@ -317,6 +727,9 @@ class SecomServiceTest {
      */
     @Test
     void testGetClientBrokenUrl() {
+        // Initialise the service
+        this.secomService.init();
+
         // Break the URL of the latest instance
         this.searchResult.getEnvelope().getServiceInstance().get(1).setEndpointUri("a broken URL");
 
@@ -328,4 +741,80 @@ class SecomServiceTest {
         assertThrows(SecomValidationException.class, () -> this.secomService.getClient("urn:mrn:org:test"));
     }
 
-}
\ No newline at end of file
+
+    /**
+     * Test that the SECOM service will cache the discovered clients based on
+     * their MRNs, so that consecutive requests for the same MRN do not perform
+     * a new discovery lookup.
+     */
+    @Test
+    void testGetClientCached() {
+        // Initialise the service
+        this.secomService.init();
+
+        // And mock a SECOM discovery service client
+        this.secomService.discoveryService = mock(SecomClient.class);
+        doReturn(Optional.of(this.searchResult)).when(this.secomService.discoveryService).searchService(any());
+
+        // Perform the service call twice
+        SecomClient result1 = this.secomService.getClient("urn:mrn:org:test");
+        SecomClient result2 = this.secomService.getClient("urn:mrn:org:test");
+
+        // Make sure the same client was returned with a single lookup
+        assertNotNull(result1);
+        assertSame(result1, result2);
+        verify(this.secomService.discoveryService, times(1)).searchService(any());
+    }
+
+    /**
+     * Test that when a cached SECOM client gets evicted, the SECOM service
+     * will perform a new discovery lookup on the next request.
+     */
+    @Test
+    void testEvictClient() {
+        // Initialise the service
+        this.secomService.init();
+
+        // And mock a SECOM discovery service client
+        this.secomService.discoveryService = mock(SecomClient.class);
+        doReturn(Optional.of(this.searchResult)).when(this.secomService.discoveryService).searchService(any());
+
+        // Perform the service call, evict and then call again
+        this.secomService.getClient("urn:mrn:org:test");
+        this.secomService.evictClient("urn:mrn:org:test");
+        this.secomService.getClient("urn:mrn:org:test");
+
+        // Make sure the discovery lookup was performed twice
+        verify(this.secomService.discoveryService, times(2)).searchService(any());
+    }
+
+    /**
+     * Test that when a SECOM client is re-discovered with the same endpoint
+     * URI and version, the previously constructed client is reused, while
+     * a change in the registered endpoint will generate a new client.
+     */
+    @Test
+    void testDiscoverClientReuse() {
+        // Initialise the service
+        this.secomService.init();
+
+        // And mock a SECOM discovery service client
+        this.secomService.discoveryService = mock(SecomClient.class);
+        doReturn(Optional.of(this.searchResult)).when(this.secomService.discoveryService).searchService(any());
+
+        // Perform the initial discovery and the rediscovery
+        SecomService.DiscoveredSecomClient previous = this.secomService.discoverClient("urn:mrn:org:test", null);
+        SecomService.DiscoveredSecomClient reused = this.secomService.discoverClient("urn:mrn:org:test", previous);
+
+        // Now change the endpoint and rediscover
+        this.searchResult.getEnvelope().getServiceInstance().get(1).setEndpointUri("http://localhost:8080/");
+        SecomService.DiscoveredSecomClient changed = this.secomService.discoverClient("urn:mrn:org:test", previous);
+
+        // Make sure the clients were reused only when nothing changed
+        assertSame(previous, reused);
+        assertNotSame(previous, changed);
+        assertEquals("http://localhost:8080/", changed.endpointUri());
+        assertNotSame(previous.client(), changed.client());
+    }
+
+}
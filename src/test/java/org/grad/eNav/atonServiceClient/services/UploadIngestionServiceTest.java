@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.grad.eNav.atonServiceClient.components.AtonWebSocketPublisher;
+import org.grad.eNav.atonServiceClient.components.S125DatasetReader;
+import org.grad.eNav.atonServiceClient.components.S125JAXBProvider;
+import org.grad.eNav.atonServiceClient.components.SecomClientFactory;
+import org.grad.eNav.atonServiceClient.components.X509CertificateCache;
+import org.grad.secomv2.core.models.EnvelopeUploadObject;
+import org.grad.secomv2.core.models.UploadObject;
+import org.grad.secomv2.core.models.enums.AckRequestEnum;
+import org.grad.secomv2.core.models.enums.AckTypeEnum;
+import org.grad.secomv2.core.models.enums.NackTypeEnum;
+import org.grad.secomv2.core.models.enums.SECOM_DataProductType;
+import org.grad.secomv2.springboot4.components.SecomClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.integration.channel.PublishSubscribeChannel;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UploadIngestionServiceTest {
+
+    /**
+     * The Tested Service.
+     */
+    @InjectMocks
+    UploadIngestionService uploadIngestionService;
+
+    /**
+     * The Web-Socket mock.
+     */
+    @Mock
+    SimpMessagingTemplate webSocket;
+
+    /**
+     * The SECOM Client Factory mock.
+     */
+    @Mock
+    SecomClientFactory secomClientFactory;
+
+    /**
+     * The S-125 Dataset Reader spy.
+     */
+    @Spy
+    S125DatasetReader s125DatasetReader = new S125DatasetReader();
+
+    /**
+     * The AtoN Web-Socket Publisher spy.
+     */
+    @Spy
+    AtonWebSocketPublisher atonWebSocketPublisher = new AtonWebSocketPublisher();
+
+    /**
+     * The X.509 Certificate Cache spy.
+     */
+    @Spy
+    X509CertificateCache x509CertificateCache = new X509CertificateCache();
+
+    // Test Variables
+    private UploadObject uploadObject;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        // Initialise the S-125 dataset reader
+        final S125JAXBProvider s125JAXBProvider = new S125JAXBProvider();
+        s125JAXBProvider.init();
+        ReflectionTestUtils.setField(this.s125DatasetReader, "s125JAXBProvider", s125JAXBProvider);
+        this.s125DatasetReader.init();
+
+        // Initialise the AtoN web-socket publisher on a synchronous channel
+        final PublishSubscribeChannel publishSubscribeChannel = new PublishSubscribeChannel();
+        ReflectionTestUtils.setField(this.atonWebSocketPublisher, "webSocket", this.webSocket);
+        ReflectionTestUtils.setField(this.atonWebSocketPublisher, "publishSubscribeChannel", publishSubscribeChannel);
+        ReflectionTestUtils.setField(this.atonWebSocketPublisher, "batchEnabled", true);
+        ReflectionTestUtils.setField(this.atonWebSocketPublisher, "batchMaxSize", 100);
+        ReflectionTestUtils.setField(this.atonWebSocketPublisher, "batchMaxLinger", Duration.ofMillis(250));
+        ReflectionTestUtils.setField(this.atonWebSocketPublisher, "deliveryMode", AtonWebSocketPublisher.DeliveryMode.FULL);
+        this.atonWebSocketPublisher.init();
+
+        // Initialise the X.509 certificate cache
+        ReflectionTestUtils.setField(this.x509CertificateCache, "cacheMaxSize", 100L);
+        this.x509CertificateCache.init();
+
+        // Set the pipeline configuration
+        this.uploadIngestionService.publishSubscribeChannel = publishSubscribeChannel;
+        this.uploadIngestionService.pipelineThreads = 1;
+        this.uploadIngestionService.pipelineQueueCapacity = 10;
+        this.uploadIngestionService.meterRegistry = new SimpleMeterRegistry();
+        this.uploadIngestionService.init();
+
+        // Load the S-125 dataset file
+        final InputStream in = ClassLoader.getSystemResourceAsStream("s125-msg.xml");
+        assert in != null;
+
+        // Create the upload object
+        final EnvelopeUploadObject envelopeUploadObject = new EnvelopeUploadObject();
+        envelopeUploadObject.setData(in.readAllBytes());
+        envelopeUploadObject.setDataProductType(SECOM_DataProductType.S125);
+        envelopeUploadObject.setTransactionIdentifier(UUID.randomUUID());
+        this.uploadObject = new UploadObject();
+        this.uploadObject.setEnvelope(envelopeUploadObject);
+    }
+
+    /**
+     * Common tear down for all the tests.
+     */
+    @AfterEach
+    void tearDown() {
+        this.uploadIngestionService.destroy();
+        this.atonWebSocketPublisher.destroy();
+    }
+
+    /**
+     * Test that the ingestion pipeline will parse the uploaded S-125 dataset
+     * and publish the included AtoNs through the channel, to be pushed down
+     * the web-socket in a single batch.
+     */
+    @Test
+    void testProcess() {
+        // Perform the service call
+        this.uploadIngestionService.process(this.uploadObject);
+
+        // Make sure the AtoN information was published in a single batch
+        verify(this.webSocket, timeout(5000).times(1)).convertAndSend(eq("/topic/secom/subscription/update"), any(List.class), argThat((Map<String, Object> headers) ->
+                Boolean.TRUE.equals(headers.get("batch")) && Integer.valueOf(1).equals(headers.get("batch-size"))));
+    }
+
+    /**
+     * Test that the ingestion pipeline will not publish anything down the
+     * web-socket if the uploaded S-125 dataset cannot be parsed.
+     */
+    @Test
+    void testProcessInvalidData() {
+        // Break the uploaded data
+        this.uploadObject.getEnvelope().setData("not an S-125 dataset".getBytes(StandardCharsets.UTF_8));
+
+        // Perform the service call
+        this.uploadIngestionService.process(this.uploadObject);
+
+        // Make sure nothing was published
+        verify(this.webSocket, never()).convertAndSend(any(String.class), any(Object.class), anyMap());
+    }
+
+    /**
+     * Test that the ingestion pipeline will send back a negative
+     * acknowledgement if the uploaded S-125 dataset cannot be parsed.
+     */
+    @Test
+    void testProcessInvalidDataAcknowledgement() {
+        // Request an acknowledgement and break the uploaded data
+        this.uploadIngestionService.secomClient = mock(SecomClient.class);
+        this.uploadObject.getEnvelope().setAckRequest(AckRequestEnum.DELIVERED_ACK_REQUESTED);
+        this.uploadObject.getEnvelope().setData("not an S-125 dataset".getBytes(StandardCharsets.UTF_8));
+
+        // Perform the service call
+        this.uploadIngestionService.process(this.uploadObject);
+
+        // Make sure a negative acknowledgement was sent back
+        verify(this.uploadIngestionService.secomClient, times(1)).acknowledgement(argThat(acknowledgementObject ->
+                acknowledgementObject.getEnvelope().getAckType() == AckTypeEnum.NAK_ACK
+                        && acknowledgementObject.getEnvelope().getNackType() == NackTypeEnum.XML_SCHEMA_VALIDATION_ERROR));
+    }
+
+    /**
+     * Test that the ingestion pipeline will count the publication failures
+     * and send back a negative acknowledgement instead of letting the
+     * exception escape the pipeline thread.
+     */
+    @Test
+    void testProcessPublishFailure() {
+        // Request an acknowledgement and break the channel
+        this.uploadIngestionService.secomClient = mock(SecomClient.class);
+        this.uploadObject.getEnvelope().setAckRequest(AckRequestEnum.DELIVERED_ACK_REQUESTED);
+        this.uploadIngestionService.publishSubscribeChannel.subscribe(message -> {
+            throw new IllegalStateException("channel failure");
+        });
+
+        // Perform the service call
+        assertDoesNotThrow(() -> this.uploadIngestionService.process(this.uploadObject));
+
+        // Make sure the failure was counted and negatively acknowledged
+        assertEquals(1.0, this.uploadIngestionService.meterRegistry.find("aton.upload.pipeline.failures").tag("stage", "publish").counter().count());
+        verify(this.uploadIngestionService.secomClient, times(1)).acknowledgement(argThat(acknowledgementObject ->
+                acknowledgementObject.getEnvelope().getAckType() == AckTypeEnum.NAK_ACK
+                        && acknowledgementObject.getEnvelope().getNackType() == NackTypeEnum.BAD_DATA));
+    }
+
+    /**
+     * Test that the ingestion pipeline will count the acknowledgement
+     * failures instead of letting the exception escape the pipeline thread.
+     */
+    @Test
+    void testProcessAcknowledgementFailure() {
+        // Request an acknowledgement that cannot be delivered
+        this.uploadIngestionService.secomClient = mock(SecomClient.class);
+        this.uploadObject.getEnvelope().setAckRequest(AckRequestEnum.DELIVERED_ACK_REQUESTED);
+        doThrow(new IllegalStateException("acknowledgement failure")).when(this.uploadIngestionService.secomClient).acknowledgement(any());
+
+        // Perform the service call
+        assertDoesNotThrow(() -> this.uploadIngestionService.process(this.uploadObject));
+
+        // Make sure the failure was counted
+        assertEquals(1.0, this.uploadIngestionService.meterRegistry.find("aton.upload.pipeline.failures").tag("stage", "acknowledge").counter().count());
+    }
+
+    /**
+     * Test that the ingestion pipeline will process the submitted uploads in
+     * the background and record the respective stage latencies.
+     */
+    @Test
+    void testIngest() {
+        // Perform the service call
+        this.uploadIngestionService.ingest(this.uploadObject);
+
+        // Make sure the AtoN information was eventually published
+        verify(this.webSocket, timeout(5000).atLeastOnce()).convertAndSend(eq("/topic/secom/subscription/update"), any(Object.class), anyMap());
+        assertNotNull(this.uploadIngestionService.meterRegistry.find("aton.upload.pipeline.stage").tag("stage", "queued").timer());
+        assertNotNull(this.uploadIngestionService.meterRegistry.find("aton.upload.pipeline.stage").tag("stage", "parse").timer());
+        assertNotNull(this.uploadIngestionService.meterRegistry.find("aton.upload.pipeline.stage").tag("stage", "publish").timer());
+        assertNotNull(this.uploadIngestionService.meterRegistry.find("aton.upload.pipeline.queue").gauge());
+    }
+
+}
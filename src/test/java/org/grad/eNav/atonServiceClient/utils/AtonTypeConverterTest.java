@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.utils;
+
+import _int.iho.s_125.gml.cs0._1.*;
+import _int.iho.s_125.gml.cs0._1.impl.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AtonTypeConverterTest {
+
+    /**
+     * Test that the S-125 AtoN types are translated into their seamark
+     * types.
+     */
+    @Test
+    void testConvertToSeamarkType() {
+        assertEquals("beacon_cardinal", AtonTypeConverter.convertToSeamarkType(CardinalBeacon.class));
+        assertEquals("buoy_lateral", AtonTypeConverter.convertToSeamarkType(LateralBuoy.class));
+        assertEquals("light_major", AtonTypeConverter.convertToSeamarkType(Lighthouse.class));
+        assertEquals("daymark", AtonTypeConverter.convertToSeamarkType(Daymark.class));
+        assertEquals("virtual_aton", AtonTypeConverter.convertToSeamarkType(VirtualAISAidToNavigation.class));
+    }
+
+    /**
+     * Test that the S-125 AtoN implementation classes are resolved to the
+     * seamark types of the AtoN types they implement.
+     */
+    @Test
+    void testConvertToSeamarkTypeImplementation() {
+        assertEquals("beacon_cardinal", AtonTypeConverter.convertToSeamarkType(CardinalBeaconImpl.class));
+        assertEquals("buoy_lateral", AtonTypeConverter.convertToSeamarkType(LateralBuoyImpl.class));
+        assertEquals("virtual_aton", AtonTypeConverter.convertToSeamarkType(VirtualAISAidToNavigationImpl.class));
+    }
+
+    /**
+     * Test that unsupported or missing types are translated into empty
+     * seamark types.
+     */
+    @Test
+    void testConvertToSeamarkTypeUnsupported() {
+        assertEquals("", AtonTypeConverter.convertToSeamarkType(AidsToNavigationTypeImpl.class));
+        assertEquals("", AtonTypeConverter.convertToSeamarkType(String.class));
+        assertEquals("", AtonTypeConverter.convertToSeamarkType(null));
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.WKTReader;
+import org.locationtech.jts.io.geojson.GeoJsonReader;
+import org.locationtech.jts.io.geojson.GeoJsonWriter;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.module.SimpleModule;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeometryJSONConverterTest {
+
+    // Test Variables
+    private ObjectMapper objectMapper;
+    private WKTReader wktReader;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.objectMapper = JsonMapper.builder()
+                .addModule(new SimpleModule()
+                        .addSerializer(Geometry.class, new GeometryJSONSerializer())
+                        .addDeserializer(Geometry.class, new GeometryJSONDeserializer()))
+                .build();
+        this.wktReader = new WKTReader(new GeometryFactory(new PrecisionModel(), 4326));
+    }
+
+    /**
+     * Test that all the supported geometry types can be written and read
+     * back through the streaming serializer and deserializer.
+     */
+    @Test
+    void testStreamingRoundTrip() throws Exception {
+        for(String wkt : new String[]{
+                "POINT (1.5 51.5)",
+                "POINT Z (1.5 51.5 10)",
+                "LINESTRING (1 51, 2 52, 3 53)",
+                "POLYGON ((0 50, 2 50, 2 52, 0 52, 0 50), (0.5 50.5, 1 50.5, 1 51, 0.5 50.5))",
+                "MULTIPOINT ((1 51), (2 52))",
+                "MULTILINESTRING ((1 51, 2 52), (3 53, 4 54))",
+                "MULTIPOLYGON (((0 50, 1 50, 1 51, 0 50)), ((2 52, 3 52, 3 53, 2 52)))",
+                "GEOMETRYCOLLECTION (POINT (1 51), LINESTRING (1 51, 2 52))"}) {
+            final Geometry geometry = this.wktReader.read(wkt);
+
+            // Perform the streaming round trip
+            final String json = this.objectMapper.writeValueAsString(geometry);
+            final Geometry result = this.objectMapper.readValue(json, Geometry.class);
+
+            // Make sure the geometry and its SRID were preserved
+            assertTrue(geometry.equalsExact(result), wkt);
+            assertEquals(4326, result.getSRID());
+        }
+    }
+
+    /**
+     * Test that the streaming output can be read by the JTS GeoJSON reader,
+     * and that the JTS GeoJSON writer output can be read by the streaming
+     * deserializer.
+     */
+    @Test
+    void testJtsCompatibility() throws Exception {
+        final Geometry geometry = this.wktReader.read("POLYGON ((0 50, 2 50, 2 52, 0 52, 0 50))");
+
+        // Make sure the outputs are compatible in both directions
+        assertTrue(geometry.equalsExact(new GeoJsonReader().read(this.objectMapper.writeValueAsString(geometry))));
+        assertTrue(geometry.equalsExact(this.objectMapper.readValue(new GeoJsonWriter().write(geometry), Geometry.class)));
+    }
+
+    /**
+     * Test that the written ordinates are rounded to 8 decimal places, in
+     * line with the JTS GeoJSON writer.
+     */
+    @Test
+    void testOrdinatePrecision() throws Exception {
+        final Geometry geometry = this.wktReader.read("POINT (1.123456789012 51.987654321098)");
+
+        // Make sure the output matches the JTS GeoJSON writer coordinates
+        final JsonNode jsonNode = GeometryJSONConverter.convertFromGeometry(geometry);
+        assertEquals(1.12345679, jsonNode.get("coordinates").get(0).asDouble());
+        assertEquals(51.98765432, jsonNode.get("coordinates").get(1).asDouble());
+        assertTrue(this.objectMapper.readValue(new GeoJsonWriter().write(geometry), Geometry.class)
+                .equalsExact(GeometryJSONConverter.convertToGeometry(jsonNode)));
+    }
+
+    /**
+     * Test that invalid GeoJSON positions are rejected instead of being
+     * translated into partial coordinates, while empty points are still
+     * supported.
+     */
+    @Test
+    void testInvalidPositions() throws Exception {
+        for(String json : new String[]{
+                "{\"type\":\"Point\",\"coordinates\":[1.5]}",
+                "{\"type\":\"Point\",\"coordinates\":[[1.5,51.5]]}",
+                "{\"type\":\"LineString\",\"coordinates\":[[1,51],[]]}",
+                "{\"type\":\"LineString\",\"coordinates\":[[1,51],[2]]}"}) {
+            assertNull(GeometryJSONConverter.convertToGeometry(this.objectMapper.readTree(json)), json);
+        }
+
+        // Make sure empty points are still read
+        assertTrue(GeometryJSONConverter.convertToGeometry(this.objectMapper.readTree("{\"type\":\"Point\",\"coordinates\":[]}")).isEmpty());
+    }
+
+    /**
+     * Test that the geometries can be translated from and to JSON nodes.
+     */
+    @Test
+    void testConvertGeometry() throws Exception {
+        final Geometry geometry = this.wktReader.read("LINESTRING (1 51, 2 52, 3 53)");
+
+        // Perform the conversions
+        final JsonNode jsonNode = GeometryJSONConverter.convertFromGeometry(geometry);
+        final Geometry result = GeometryJSONConverter.convertToGeometry(jsonNode);
+
+        // Make sure the geometry was preserved
+        assertEquals("LineString", jsonNode.get("type").asString());
+        assertEquals(3, jsonNode.get("coordinates").size());
+        assertTrue(geometry.equalsExact(result));
+        assertNull(GeometryJSONConverter.convertFromGeometry(null));
+        assertNull(GeometryJSONConverter.convertToGeometry(null));
+    }
+
+}
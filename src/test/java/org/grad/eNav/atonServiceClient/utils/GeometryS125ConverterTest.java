@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.utils;
+
+import _int.iho.s_125.s_100.gml.base._5_2.*;
+import _int.iho.s_125.s_100.gml.base._5_2.impl.*;
+import _int.iho.s_125.s_100.gml.profiles._5_2.*;
+import _int.iho.s_125.s_100.gml.profiles._5_2.impl.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeometryS125ConverterTest {
+
+    // Test Variables
+    private GeometryS125Converter geometryS125Converter;
+    private GeometryFactory geometryFactory;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.geometryS125Converter = new GeometryS125Converter();
+        this.geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    }
+
+    /**
+     * Test that the primitive fast path will translate the position lists
+     * into coordinate sequences and back without losing any information.
+     */
+    @Test
+    void testPosListCoordinateSequenceRoundTrip() {
+        final PosList posList = new PosListImpl();
+        posList.setValue(new Double[]{51.0, 1.0, 51.1, 1.1, 51.2, 1.2});
+
+        // Translate to a coordinate sequence
+        final CoordinateSequence coordinateSequence = this.geometryS125Converter.gmlPosListToCoordinateSequence(posList);
+        assertEquals(3, coordinateSequence.size());
+        assertEquals(51.1, coordinateSequence.getX(1));
+        assertEquals(1.1, coordinateSequence.getY(1));
+
+        // And back to a position list
+        assertArrayEquals(posList.getValue(), this.geometryS125Converter.coordinateSequenceToGmlPosList(coordinateSequence).getValue());
+
+        // Make sure the coordinate based translations still match
+        assertArrayEquals(coordinateSequence.toCoordinateArray(), this.geometryS125Converter.gmlPosListToCoordinates(posList));
+        assertArrayEquals(posList.getValue(), this.geometryS125Converter.coordinatesToGmlPosList(coordinateSequence.toCoordinateArray()).getValue());
+    }
+
+    /**
+     * Test that line and polygon geometries can be translated into S-125
+     * curves and surfaces and back.
+     */
+    @Test
+    void testGeometryRoundTrip() {
+        final Geometry line = this.geometryFactory.createLineString(new Coordinate[]{
+                new Coordinate(51.0, 1.0), new Coordinate(51.1, 1.1), new Coordinate(51.2, 1.0)});
+        final Geometry polygon = this.geometryFactory.createPolygon(new Coordinate[]{
+                new Coordinate(52.0, 1.0), new Coordinate(52.1, 1.0), new Coordinate(52.1, 1.1), new Coordinate(52.0, 1.0)});
+
+        // Translate the line
+        final List<S100SpatialAttributeType> lineProperties = this.geometryS125Converter.geometryToS125PointCurveSurfaceGeometry(line);
+        assertEquals(1, lineProperties.size());
+        assertTrue(line.equalsExact(this.geometryS125Converter.s125PointCurveSurfaceToGeometry(lineProperties).getGeometryN(0)));
+
+        // Translate the polygon
+        final List<S100SpatialAttributeType> polygonProperties = this.geometryS125Converter.geometryToS125PointCurveSurfaceGeometry(polygon);
+        assertEquals(1, polygonProperties.size());
+        assertTrue(polygon.equalsExact(this.geometryS125Converter.s125PointCurveSurfaceToGeometry(polygonProperties).getGeometryN(0)));
+    }
+
+    /**
+     * Test that multiple point parts will be assembled to the same geometry
+     * as the original pairwise union, while in the collection mode they will
+     * just be collected.
+     */
+    @Test
+    void testAssemblePoints() {
+        final Geometry points = this.geometryFactory.createMultiPointFromCoords(new Coordinate[]{
+                new Coordinate(51.0, 1.0), new Coordinate(51.1, 1.1), new Coordinate(51.2, 1.2)});
+        final List<S100SpatialAttributeType> properties = this.geometryS125Converter.geometryToS125PointCurveSurfaceGeometry(points);
+        assertEquals(3, properties.size());
+
+        // Assemble through the union
+        final Geometry union = this.geometryS125Converter.s125PointCurveSurfaceToGeometry(properties);
+        assertTrue(points.equalsExact(union));
+        assertTrue(points.getGeometryN(0).union(points.getGeometryN(1)).union(points.getGeometryN(2)).equalsExact(union));
+
+        // And through the collection
+        final Geometry collection = new GeometryS125Converter(GeometryS125Converter.AssemblyMode.COLLECTION).s125PointCurveSurfaceToGeometry(properties);
+        assertEquals(3, collection.getNumGeometries());
+        assertTrue(points.equalsTopo(collection.union()));
+    }
+
+    /**
+     * Test that no parts will be assembled into an empty geometry.
+     */
+    @Test
+    void testAssembleEmpty() {
+        assertTrue(this.geometryS125Converter.s125PointCurveSurfaceToGeometry(List.of()).isEmpty());
+    }
+
+}
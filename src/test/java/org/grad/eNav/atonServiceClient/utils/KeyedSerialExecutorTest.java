@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyedSerialExecutorTest {
+
+    // Test Variables
+    private ExecutorService delegate;
+    private KeyedSerialExecutor keyedSerialExecutor;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.delegate = Executors.newVirtualThreadPerTaskExecutor();
+        this.keyedSerialExecutor = new KeyedSerialExecutor(this.delegate);
+    }
+
+    /**
+     * Common tear down for all the tests.
+     */
+    @AfterEach
+    void tearDown() {
+        this.delegate.shutdownNow();
+    }
+
+    /**
+     * Test that the tasks of the same key are run in the order they were
+     * submitted, even when they take different amounts of time.
+     */
+    @Test
+    void testExecuteOrdered() throws Exception {
+        final List<Integer> results = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(50);
+
+        // Submit the tasks, with the earlier ones taking longer
+        for(int i=0; i<50; i++) {
+            final int index = i;
+            this.keyedSerialExecutor.execute("aton", () -> {
+                try {
+                    Thread.sleep((50 - index) % 5);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                results.add(index);
+                done.countDown();
+            });
+        }
+
+        // Make sure they were run in order
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for(int i=0; i<50; i++) {
+            assertEquals(i, results.get(i));
+        }
+        assertEquals(0, this.keyedSerialExecutor.getActiveKeyCount());
+    }
+
+    /**
+     * Test that a blocked key does not hold up the tasks of other keys.
+     */
+    @Test
+    void testExecuteParallelKeys() throws Exception {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+
+        // Block the first key and run a task on the second one
+        this.keyedSerialExecutor.execute("aton1", () -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        this.keyedSerialExecutor.execute("aton2", done::countDown);
+
+        // Make sure the second key was not held up
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        blocked.countDown();
+    }
+
+    /**
+     * Test that a failing task does not stop the following tasks of the same
+     * key from running.
+     */
+    @Test
+    void testExecuteAfterFailure() throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+
+        // Submit a failing task followed by a normal one
+        this.keyedSerialExecutor.execute("aton", () -> {
+            throw new IllegalStateException("Task failed");
+        });
+        this.keyedSerialExecutor.execute("aton", done::countDown);
+
+        // Make sure the second task still ran
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test that a saturated delegate executor will not break the ordering
+     * of the tasks, with the key queue drained on the current thread
+     * instead, without any recursion.
+     */
+    @Test
+    void testExecuteSaturated() throws Exception {
+        final ThreadPoolExecutor saturated = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        final KeyedSerialExecutor saturatedExecutor = new KeyedSerialExecutor(saturated);
+        final List<Integer> results = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(10000);
+
+        // Submit a large number of tasks for the same key
+        try {
+            for(int i=0; i<10000; i++) {
+                final int index = i;
+                saturatedExecutor.execute("aton", () -> {
+                    results.add(index);
+                    done.countDown();
+                });
+            }
+
+            // Make sure they were all run in order
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            for(int i=0; i<10000; i++) {
+                assertEquals(i, results.get(i));
+            }
+        } finally {
+            saturated.shutdownNow();
+        }
+    }
+
+    /**
+     * Test that once the maximum number of pending tasks has been reached,
+     * the submitters will wait for some of them to complete.
+     */
+    @Test
+    void testExecuteBounded() throws Exception {
+        final KeyedSerialExecutor boundedExecutor = new KeyedSerialExecutor(this.delegate, 2);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(3);
+
+        // Block the key and fill up the pending tasks
+        boundedExecutor.execute("aton", () -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        });
+        boundedExecutor.execute("aton", done::countDown);
+
+        // Make sure the next submission waits
+        final Future<?> submission = this.delegate.submit(() -> boundedExecutor.execute("aton", done::countDown));
+        assertThrows(TimeoutException.class, () -> submission.get(200, TimeUnit.MILLISECONDS));
+
+        // Until the key is unblocked
+        blocked.countDown();
+        submission.get(5, TimeUnit.SECONDS);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test that the pending task permits can be shared between multiple
+     * keyed serial executors, bounding their pending tasks together.
+     */
+    @Test
+    void testExecuteSharedPermits() throws Exception {
+        final Semaphore permits = new Semaphore(2);
+        final KeyedSerialExecutor executor1 = new KeyedSerialExecutor(this.delegate, permits);
+        final KeyedSerialExecutor executor2 = new KeyedSerialExecutor(this.delegate, permits);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final Runnable blocking = () -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        // Fill up the shared permits through both executors
+        executor1.execute("aton", blocking);
+        executor2.execute("aton", blocking);
+
+        // Make sure the next submission waits on either executor
+        final Future<?> submission = this.delegate.submit(() -> executor1.execute("aton", () -> {}));
+        assertThrows(TimeoutException.class, () -> submission.get(200, TimeUnit.MILLISECONDS));
+
+        // Until the tasks are unblocked
+        blocked.countDown();
+        submission.get(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Test that an error raised by a task is only propagated once the
+     * remaining tasks of its key have been handed over, even when the
+     * delegate executor rejects the hop, so that they are not stranded.
+     */
+    @Test
+    void testExecuteErrorWithRejectedHop() {
+        final KeyedSerialExecutor rejectingExecutor = new KeyedSerialExecutor(task -> {
+            throw new RejectedExecutionException("Rejected");
+        });
+        final AtomicBoolean ran = new AtomicBoolean();
+
+        // Queue a second task from within a failing one
+        assertThrows(AssertionError.class, () -> rejectingExecutor.execute("aton", () -> {
+            rejectingExecutor.execute("aton", () -> ran.set(true));
+            throw new AssertionError("Task failed");
+        }));
+
+        // Make sure the second task still ran and the key was released
+        assertTrue(ran.get());
+        assertEquals(0, rejectingExecutor.getActiveKeyCount());
+    }
+
+}
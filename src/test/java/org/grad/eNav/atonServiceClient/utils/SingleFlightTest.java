@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2025 GLA Research and Development Directorate
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.atonServiceClient.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    // Test Variables
+    private SingleFlight<String, Integer> singleFlight;
+    private AtomicInteger invocations;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.singleFlight = new SingleFlight<>();
+        this.invocations = new AtomicInteger();
+    }
+
+    /**
+     * Test that concurrent operations for the same key will only be
+     * performed once and share the same result.
+     */
+    @Test
+    void testExecuteCoalesced() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        // Perform concurrent operations for the same key
+        final List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(5)) {
+            for(int i=0; i<5; i++) {
+                results.add(executor.submit(() -> this.singleFlight.execute("key", () -> {
+                    try {
+                        latch.await();
+                    } catch (InterruptedException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                    return this.invocations.incrementAndGet();
+                })));
+            }
+            Thread.sleep(200);
+            latch.countDown();
+            for(Future<Integer> result : results) {
+                assertEquals(1, result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        // Make sure the operation was only performed once
+        assertEquals(1, this.invocations.get());
+        assertEquals(4, this.singleFlight.getCoalescedCount());
+        assertEquals(0, this.singleFlight.getInFlightCount());
+    }
+
+    /**
+     * Test that sequential operations, or operations for different keys,
+     * will not be coalesced.
+     */
+    @Test
+    void testExecuteNotCoalesced() {
+        assertEquals(1, this.singleFlight.execute("key1", this.invocations::incrementAndGet));
+        assertEquals(2, this.singleFlight.execute("key1", this.invocations::incrementAndGet));
+        assertEquals(3, this.singleFlight.execute("key2", this.invocations::incrementAndGet));
+        assertEquals(0, this.singleFlight.getCoalescedCount());
+    }
+
+    /**
+     * Test that a failed operation will be propagated to the caller, and that
+     * it will not prevent the operation from being performed again.
+     */
+    @Test
+    void testExecuteFailure() {
+        assertThrows(IllegalArgumentException.class, () -> this.singleFlight.execute("key", () -> {
+            throw new IllegalArgumentException("Operation failed");
+        }));
+        assertEquals(0, this.singleFlight.getInFlightCount());
+        assertEquals(1, this.singleFlight.execute("key", this.invocations::incrementAndGet));
+    }
+
+    /**
+     * Test that an operation failing with an error will also be propagated
+     * to the coalesced callers, instead of leaving them waiting forever.
+     */
+    @Test
+    void testExecuteError() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        // Perform a failing operation and a coalesced one for the same key
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            final Future<Integer> result1 = executor.submit(() -> this.singleFlight.execute("key", () -> {
+                started.countDown();
+                try {
+                    latch.await();
+                } catch (InterruptedException ex) {
+                    throw new IllegalStateException(ex);
+                }
+                throw new AssertionError("Operation failed");
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            final Future<Integer> result2 = executor.submit(() -> this.singleFlight.execute("key", this.invocations::incrementAndGet));
+            Thread.sleep(200);
+            latch.countDown();
+
+            // Make sure both callers received the error
+            assertInstanceOf(AssertionError.class, assertThrows(ExecutionException.class, () -> result1.get(5, TimeUnit.SECONDS)).getCause());
+            assertInstanceOf(AssertionError.class, assertThrows(ExecutionException.class, () -> result2.get(5, TimeUnit.SECONDS)).getCause());
+        }
+
+        // Make sure the key is no longer in progress
+        assertEquals(0, this.invocations.get());
+        assertEquals(0, this.singleFlight.getInFlightCount());
+    }
+
+}